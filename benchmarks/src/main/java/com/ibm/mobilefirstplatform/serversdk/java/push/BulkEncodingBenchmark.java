@@ -0,0 +1,120 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cost of building and writing the body of a bulk request, as the
+ * transport would send it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkEncodingBenchmark {
+
+	@Param({ "SMALL_ALERT", "RICH_SETTINGS", "LARGE_PAYLOAD" })
+	public NotificationShape shape;
+
+	@Param({ "100", "10000" })
+	public int size;
+
+	private Notification[] notifications;
+	private List<PushMessageModel> models;
+	private PushClient client;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		notifications = new Notification[size];
+		models = new ArrayList<PushMessageModel>(size);
+		for (int i = 0; i < size; i++) {
+			notifications[i] = shape.build(i);
+			models.add(PushClient.toModel(notifications[i]));
+		}
+
+		client = new PushClient.Builder().tenantId("benchmarkTenantId").pushSecret("benchmarkAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).build();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		client.close();
+	}
+
+	/**
+	 * Streams the body, encoding each notification as it is written.
+	 */
+	@Benchmark
+	public long writeBulkRequest() throws IOException {
+		CountingOutputStream body = new CountingOutputStream();
+		client.createBulkPushPostRequest(models, null).getEntity().writeTo(body);
+		return body.count;
+	}
+
+	/**
+	 * Builds the body in memory from notifications already encoded, as
+	 * {@code dispatchBulk} does for each chunk.
+	 */
+	@Benchmark
+	public long writeEncodedBulkRequest() throws IOException {
+		CountingOutputStream body = new CountingOutputStream();
+		body.write('[');
+		for (int i = 0; i < notifications.length; i++) {
+			if (i > 0) {
+				body.write(',');
+			}
+			body.write(notifications[i].getEncoded());
+		}
+		body.write(']');
+		return body.count;
+	}
+
+	/**
+	 * Discards what is written, so only the encoding is measured.
+	 */
+	private static final class CountingOutputStream extends OutputStream {
+		private long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+}
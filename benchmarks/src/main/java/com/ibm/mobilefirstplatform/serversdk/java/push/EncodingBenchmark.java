@@ -0,0 +1,113 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.methods.HttpPost;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cost of turning one notification into a request: building the model and
+ * encoding it, reusing the memoized encoding, rendering a template, and
+ * building the POST request itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodingBenchmark {
+
+	@Param({ "SMALL_ALERT", "RICH_SETTINGS", "LARGE_PAYLOAD" })
+	public NotificationShape shape;
+
+	private Notification notification;
+	private byte[] encoded;
+	private NotificationTemplate template;
+	private Map<String, Object> values;
+	private PushClient client;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		notification = shape.build(0);
+		encoded = notification.getEncoded();
+
+		template = NotificationTemplate.compile(new Notification.Builder()
+				.message(new Message.Builder().alert("Hello ${name}, your order has shipped").build())
+				.target(new Target.Builder().deviceIds(new String[] { "${deviceId}" }).build()).build());
+		values = new HashMap<String, Object>();
+		values.put("name", "Jane");
+		values.put("deviceId", "device-0");
+
+		// An app secret avoids any call to IAM.
+		client = new PushClient.Builder().tenantId("benchmarkTenantId").pushSecret("benchmarkAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).build();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		client.close();
+	}
+
+	/**
+	 * A notification sent for the first time.
+	 */
+	@Benchmark
+	public byte[] encode() {
+		return PushJson.toBytes(PushClient.toModel(notification));
+	}
+
+	/**
+	 * The same notification sent again.
+	 */
+	@Benchmark
+	public byte[] encodeMemoized() {
+		return notification.getEncoded();
+	}
+
+	@Benchmark
+	public byte[] renderTemplate() {
+		return template.render(values);
+	}
+
+	@Benchmark
+	public HttpPost createPushPostRequest() {
+		return client.createPushPostRequest(encoded, null);
+	}
+
+	/**
+	 * Everything {@code send} does before the request leaves, for a new
+	 * notification.
+	 */
+	@Benchmark
+	public HttpPost buildAndCreatePushPostRequest() {
+		return client.createPushPostRequest(shape.build(0).getEncoded(), null);
+	}
+}
@@ -0,0 +1,268 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Sends notifications through a {@link PushClient} to a
+ * {@link StubPushService} as fast as the given concurrency allows, then
+ * reports the throughput and the latency distribution of the calls, retries
+ * and waits included.
+ * <p>
+ * Options are given as {@code --name=value}:
+ * <ul>
+ * <li>{@code requests}: number of calls measured (100000)</li>
+ * <li>{@code warmup}: number of calls made before measuring (10000)</li>
+ * <li>{@code concurrency}: maximum number of calls in flight (64)</li>
+ * <li>{@code transport}: {@code blocking} or {@code async} (blocking); the
+ * stub only speaks HTTP/1.1</li>
+ * <li>{@code bulk}: notifications per bulk request, or 0 to send them one by
+ * one (0)</li>
+ * <li>{@code shape}: a {@link NotificationShape} (SMALL_ALERT)</li>
+ * <li>{@code reuse}: whether every call sends the same notifications, whose
+ * JSON is then encoded only once, instead of newly built ones (false)</li>
+ * <li>{@code latency}: latency of the stub in milliseconds (5)</li>
+ * <li>{@code error-rate}: share of 503 responses (0)</li>
+ * <li>{@code throttle-rate}: share of 429 responses (0)</li>
+ * <li>{@code retries}: whether the default retry policy applies (true)</li>
+ * <li>{@code iam}: authenticate with an API key instead of an app secret
+ * (true)</li>
+ * <li>{@code histogram}: also print the full percentile distribution
+ * (false)</li>
+ * <li>{@code keystore} and {@code keystore-password}: serve HTTPS with the key
+ * in this key store; run with {@code -Djavax.net.ssl.trustStore} pointing to a
+ * store that trusts its certificate (none)</li>
+ * </ul>
+ */
+public final class LoadTest {
+
+	private static final Map<String, String> DEFAULTS = new HashMap<String, String>();
+
+	static {
+		DEFAULTS.put("requests", "100000");
+		DEFAULTS.put("warmup", "10000");
+		DEFAULTS.put("concurrency", "64");
+		DEFAULTS.put("transport", "blocking");
+		DEFAULTS.put("bulk", "0");
+		DEFAULTS.put("shape", NotificationShape.SMALL_ALERT.name());
+		DEFAULTS.put("reuse", "false");
+		DEFAULTS.put("latency", "5");
+		DEFAULTS.put("error-rate", "0");
+		DEFAULTS.put("throttle-rate", "0");
+		DEFAULTS.put("retries", "true");
+		DEFAULTS.put("iam", "true");
+		DEFAULTS.put("histogram", "false");
+		DEFAULTS.put("keystore", "");
+		DEFAULTS.put("keystore-password", "");
+	}
+
+	private final Map<String, String> options;
+	private final int concurrency;
+	private final int bulk;
+	private final NotificationShape shape;
+	private final boolean reuse;
+	private final Notification[] notifications;
+
+	private final Histogram latencies = new ConcurrentHistogram(3);
+	private final ConcurrentMap<String, AtomicLong> outcomes = new ConcurrentHashMap<String, AtomicLong>();
+
+	private LoadTest(Map<String, String> options) {
+		this.options = options;
+		this.concurrency = Integer.parseInt(options.get("concurrency"));
+		this.bulk = Integer.parseInt(options.get("bulk"));
+
+		this.shape = NotificationShape.valueOf(options.get("shape"));
+		this.reuse = Boolean.parseBoolean(options.get("reuse"));
+		this.notifications = buildNotifications();
+	}
+
+	private Notification[] buildNotifications() {
+		Notification[] built = new Notification[Math.max(bulk, 1)];
+		for (int i = 0; i < built.length; i++) {
+			built[i] = shape.build(i);
+		}
+		return built;
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = new HashMap<String, String>(DEFAULTS);
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			String name = separator > 0 && arg.startsWith("--") ? arg.substring(2, separator) : null;
+			if (name == null || !DEFAULTS.containsKey(name)) {
+				System.err.println("Unknown option " + arg + ", expected --name=value with a name in " + DEFAULTS.keySet());
+				System.exit(2);
+			}
+			options.put(name, arg.substring(separator + 1));
+		}
+		if (!"blocking".equals(options.get("transport")) && !"async".equals(options.get("transport"))) {
+			// HTTP/2 needs ALPN, which the stub service does not offer.
+			System.err.println("Unknown transport " + options.get("transport") + ", expected blocking or async");
+			System.exit(2);
+		}
+		// Failures are counted in the report instead.
+		Logger.getLogger("com.ibm.mobilefirstplatform.serversdk.java.push").setLevel(Level.OFF);
+
+		new LoadTest(options).run();
+	}
+
+	private void run() throws Exception {
+		StubPushService service = new StubPushService(Long.parseLong(options.get("latency")),
+				Double.parseDouble(options.get("error-rate")), Double.parseDouble(options.get("throttle-rate")),
+				createSslContext());
+		PushClient client = createClient(service.getUrl());
+		try {
+			drive(client, Integer.parseInt(options.get("warmup")));
+			latencies.reset();
+			outcomes.clear();
+
+			long start = System.nanoTime();
+			int requests = Integer.parseInt(options.get("requests"));
+			drive(client, requests);
+			long elapsedNanos = System.nanoTime() - start;
+
+			report(requests, elapsedNanos, service);
+		} finally {
+			client.close();
+			service.close();
+		}
+	}
+
+	private SSLContext createSslContext() throws GeneralSecurityException, IOException {
+		if (options.get("keystore").isEmpty()) {
+			return null;
+		}
+		char[] password = options.get("keystore-password").toCharArray();
+		KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
+		InputStream in = new FileInputStream(options.get("keystore"));
+		try {
+			keyStore.load(in, password);
+		} finally {
+			in.close();
+		}
+		KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+		keyManagers.init(keyStore, password);
+		SSLContext sslContext = SSLContext.getInstance("TLS");
+		sslContext.init(keyManagers.getKeyManagers(), null, null);
+		return sslContext;
+	}
+
+	private PushClient createClient(String url) {
+		String transport = options.get("transport");
+		PushClient.Builder builder = new PushClient.Builder().tenantId("loadTestTenantId").serverHost(url)
+				.iamServerHost(url).maxInFlightRequests(concurrency)
+				.httpClientConfig(new PushHttpClientConfig.Builder().maxTotalConnections(concurrency)
+						.maxConnectionsPerRoute(concurrency).build())
+				.nonBlocking("async".equals(transport));
+		if (Boolean.parseBoolean(options.get("iam"))) {
+			builder.apiKey("loadTestApiKey");
+		} else {
+			builder.pushSecret("loadTestAppSecret");
+		}
+		if (!Boolean.parseBoolean(options.get("retries"))) {
+			builder.retryPolicy(RetryPolicy.noRetries());
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Makes the given number of calls, keeping at most {@code concurrency} of
+	 * them in flight, and waits for all of them.
+	 */
+	private void drive(PushClient client, int calls) throws InterruptedException {
+		final Semaphore slots = new Semaphore(concurrency);
+		for (int i = 0; i < calls; i++) {
+			// Built outside of the measured time, but encoded within it.
+			Notification[] sent = reuse ? notifications : buildNotifications();
+			slots.acquire();
+			final long start = System.nanoTime();
+			CompletableFuture<? extends PushResult> result = bulk > 0 ? client.sendBulkAsync(sent)
+					: client.sendAsync(sent[0]);
+			result.whenComplete(new BiConsumer<PushResult, Throwable>() {
+				@Override
+				public void accept(PushResult result, Throwable failure) {
+					latencies.recordValue(System.nanoTime() - start);
+					count(failure != null ? failure.getClass().getSimpleName()
+							: String.valueOf(result.getStatusCode()));
+					slots.release();
+				}
+			});
+		}
+		slots.acquire(concurrency);
+		slots.release(concurrency);
+	}
+
+	private void count(String outcome) {
+		AtomicLong counter = outcomes.get(outcome);
+		if (counter == null) {
+			AtomicLong created = new AtomicLong();
+			counter = outcomes.putIfAbsent(outcome, created);
+			if (counter == null) {
+				counter = created;
+			}
+		}
+		counter.incrementAndGet();
+	}
+
+	private void report(int requests, long elapsedNanos, StubPushService service) {
+		double seconds = elapsedNanos / 1e9;
+		int perRequest = Math.max(bulk, 1);
+
+		Map<String, String> shown = new TreeMap<String, String>(options);
+		if (!shown.get("keystore-password").isEmpty()) {
+			shown.put("keystore-password", "****");
+		}
+		System.out.println("Options        " + shown);
+		System.out.printf("Elapsed        %.2f s%n", seconds);
+		System.out.printf("Throughput     %.0f calls/s, %.0f notifications/s%n", requests / seconds,
+				requests * perRequest / seconds);
+		System.out.println("Outcomes       " + outcomes);
+		System.out.println("Stub           " + service.getMessages() + " notifications, " + service.getBulkRequests()
+				+ " bulk requests, " + service.getTokenRequests() + " token requests, " + service.getErrors()
+				+ " errors, " + service.getThrottled() + " throttled (warmup included)");
+		System.out.printf("Latency (ms)   p50 %.3f  p90 %.3f  p99 %.3f  p99.9 %.3f  max %.3f%n", millis(50), millis(90),
+				millis(99), millis(99.9), latencies.getMaxValue() / 1e6);
+
+		if (Boolean.parseBoolean(options.get("histogram"))) {
+			latencies.outputPercentileDistribution(System.out, 1e6);
+		}
+	}
+
+	private double millis(double percentile) {
+		return latencies.getValueAtPercentile(percentile) / 1e6;
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import com.ibm.mobilefirstplatform.serversdk.java.push.APNs.Builder.APNSNotificationType;
+import com.ibm.mobilefirstplatform.serversdk.java.push.FCM.Builder.FCMPriority;
+import com.ibm.mobilefirstplatform.serversdk.java.push.FCM.Builder.Visibility;
+import com.ibm.mobilefirstplatform.serversdk.java.push.FCM.FCMLights.Builder.FCMLED;
+import com.ibm.mobilefirstplatform.serversdk.java.push.FCM.FCMStyle.Builder.FCMStyleTypes;
+import com.ibm.mobilefirstplatform.serversdk.java.push.Target.Builder.Platform;
+
+/**
+ * Notifications shaped like the ones sent in production, from a bare alert to
+ * one carrying every platform setting or a large custom payload.
+ */
+public enum NotificationShape {
+
+	SMALL_ALERT {
+		@Override
+		Notification build(int index) {
+			return new Notification.Builder().message(new Message.Builder().alert("Your order has shipped").build())
+					.target(new Target.Builder().deviceIds(new String[] { "device-" + index }).build()).build();
+		}
+	},
+
+	RICH_SETTINGS {
+		@Override
+		Notification build(int index) {
+			APNs apns = new APNs.Builder().badge(1).interactiveCategory("Accept").iosActionKey("PUSH_OFFER")
+					.payload(new JSONObject().put("alert", "20% Off for you")).sound("sound.wav")
+					.type(APNSNotificationType.DEFAULT).titleLocKey("OFFER").locKey("REPLYTO")
+					.launchImage("launchImage1.png").titleLocArgs(new String[] { "Jenna", "Frank" })
+					.locArgs(new String[] { "Jenna", "Frank" }).title("IBM").subtitle("IBM Cloud")
+					.attachmentUrl("https://example.com/images/offer.png").build();
+			FCM.FCMStyle style = new FCM.FCMStyle.Builder().type(FCMStyleTypes.BIGTEXT_NOTIFICATION)
+					.text("BIG TEXT NOTIFICATION").title("Big Text Notification")
+					.url("https://example.com/images/offer.png")
+					.lines(new String[] { "IBM", "IBM Cloud", "Big Text Notification" }).build();
+			FCM.FCMLights lights = new FCM.FCMLights.Builder().ledArgb(FCMLED.GREEN).ledOffMs(1).ledOnMs(1).build();
+			FCM fcm = new FCM.Builder().androidTitle("androidTitle").collapseKey("ping").interactiveCategory("Accept")
+					.delayWhileIdle(true).payload(new JSONObject().put("alert", "20% Off for you"))
+					.priority(FCMPriority.MIN).sound("mysound.wav").timeToLive(3)
+					.icon("https://example.com/images/icon.png").visibility(Visibility.PUBLIC).sync(true).style(style)
+					.lights(lights).build();
+
+			return new Notification.Builder()
+					.message(new Message.Builder().alert("20% Off for you").url("https://example.com/offer").build())
+					.target(new Target.Builder().platforms(new Platform[] { Platform.APPLE, Platform.GOOGLE })
+							.userIds(new String[] { "user-" + index }).build())
+					.settings(new Settings.Builder().apns(apns).fcm(fcm).build()).build();
+		}
+	},
+
+	LARGE_PAYLOAD {
+		@Override
+		Notification build(int index) {
+			return new Notification.Builder().message(new Message.Builder().alert("Sync").build())
+					.target(new Target.Builder().deviceIds(new String[] { "device-" + index }).build())
+					.settings(new Settings.Builder().fcm(new FCM.Builder().payload(largePayload()).build()).build())
+					.build();
+		}
+	};
+
+	/**
+	 * Builds a new notification, which has not been encoded yet.
+	 *
+	 * @param index
+	 *            Makes the target of each notification of a bulk request
+	 *            different.
+	 */
+	abstract Notification build(int index);
+
+	/**
+	 * @return A payload of about 3 KB, as sent by silent data pushes.
+	 */
+	static JSONObject largePayload() {
+		JSONArray items = new JSONArray();
+		for (int i = 0; i < 20; i++) {
+			items.put(new JSONObject().put("id", i).put("name", "Item " + i).put("price", 9.99 + i)
+					.put("inStock", i % 3 != 0).put("description", "A description of item " + i + " in the catalog"));
+		}
+		return new JSONObject().put("type", "catalog-sync").put("version", 42).put("items", items);
+	}
+
+	/**
+	 * @return The same payload as {@link #largePayload()}, as a map.
+	 */
+	@SuppressWarnings("unchecked")
+	static Map<String, Object> largePayloadMap() {
+		try {
+			return PushJson.MAPPER.readValue(largePayload().toString(), Map.class);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+
+/**
+ * The cost of each way of setting a large custom payload, up to the encoded
+ * notification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadBenchmark {
+
+	private JSONObject jsonObject;
+	private Map<String, Object> map;
+	private String json;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		jsonObject = NotificationShape.largePayload();
+		map = NotificationShape.largePayloadMap();
+		json = jsonObject.toString();
+	}
+
+	private static byte[] encode(FCM fcm) {
+		return PushJson.toBytes(PushClient.toModel(new Notification.Builder()
+				.message(new Message.Builder().alert("Sync").build())
+				.settings(new Settings.Builder().fcm(fcm).build()).build()));
+	}
+
+	@Benchmark
+	public byte[] jsonObjectPayload() {
+		return encode(new FCM.Builder().payload(jsonObject).build());
+	}
+
+	@Benchmark
+	public byte[] mapPayload() {
+		return encode(new FCM.Builder().payloadMap(map).build());
+	}
+
+	@Benchmark
+	public byte[] rawPayload() {
+		return encode(new FCM.Builder().rawPayload(new RawValue(json)).build());
+	}
+}
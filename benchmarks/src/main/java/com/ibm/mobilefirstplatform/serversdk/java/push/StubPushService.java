@@ -0,0 +1,268 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.net.ssl.SSLContext;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+/**
+ * An HTTP/1.1 server on the loopback interface that answers like the Push
+ * Notifications service and IAM: {@code /imfpush/v1/apps/{tenant}/messages},
+ * {@code /imfpush/v1/apps/{tenant}/messages/bulk} and
+ * {@code /identity/token}. Push requests are answered after a fixed latency,
+ * and a share of them fails with 503 or is throttled with 429. With an
+ * {@link SSLContext} the server speaks HTTPS; clients must then trust its
+ * certificate, for example through the {@code javax.net.ssl.trustStore} system
+ * property.
+ */
+public final class StubPushService implements Closeable {
+
+	private static final String TOKEN_RESPONSE = "{\"access_token\":\"stub-token\",\"token_type\":\"Bearer\","
+			+ "\"expires_in\":3600,\"expiration\":%d}";
+	private static final byte[] MESSAGE_RESPONSE = "{\"messageId\":\"stub\"}".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] NOT_FOUND_RESPONSE = "{\"message\":\"Not Found\"}".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] THROTTLED_RESPONSE = "{\"message\":\"Too Many Requests\"}"
+			.getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] ERROR_RESPONSE = "{\"message\":\"Service Unavailable\"}"
+			.getBytes(StandardCharsets.US_ASCII);
+
+	static {
+		// Without it, small responses wait for delayed acknowledgements.
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+	}
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final long latencyMillis;
+	private final double errorRate;
+	private final double throttleRate;
+
+	private final AtomicLong messages = new AtomicLong();
+	private final AtomicLong bulkRequests = new AtomicLong();
+	private final AtomicLong tokenRequests = new AtomicLong();
+	private final AtomicLong errors = new AtomicLong();
+	private final AtomicLong throttled = new AtomicLong();
+
+	/**
+	 * Starts the server on a free port.
+	 *
+	 * @param latencyMillis
+	 *            How long each push request takes.
+	 * @param errorRate
+	 *            The share of push requests answered with 503, between 0
+	 *            and 1.
+	 * @param throttleRate
+	 *            The share of push requests answered with 429, between 0
+	 *            and 1.
+	 * @param sslContext
+	 *            The certificate of the server, or null to use plain HTTP.
+	 */
+	public StubPushService(long latencyMillis, double errorRate, double throttleRate, SSLContext sslContext)
+			throws IOException {
+		this.latencyMillis = latencyMillis;
+		this.errorRate = errorRate;
+		this.throttleRate = throttleRate;
+
+		InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+		if (sslContext != null) {
+			HttpsServer httpsServer = HttpsServer.create(address, 1024);
+			httpsServer.setHttpsConfigurator(new HttpsConfigurator(sslContext));
+			this.server = httpsServer;
+		} else {
+			this.server = HttpServer.create(address, 1024);
+		}
+		// Requests wait for their latency on their own thread.
+		this.executor = Executors.newCachedThreadPool();
+		server.setExecutor(executor);
+		server.createContext(PushConstants.IAM_TOKEN_PATH, new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				handleToken(exchange);
+			}
+		});
+		server.createContext(PushConstants.URL, new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				handlePush(exchange);
+			}
+		});
+		server.start();
+	}
+
+	/**
+	 * @return The URL to pass to {@link PushClient.Builder#serverHost(String)}
+	 *         and {@link PushClient.Builder#iamServerHost(String)}.
+	 */
+	public String getUrl() {
+		return (server instanceof HttpsServer ? "https://" : "http://") + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+	}
+
+	private void handleToken(HttpExchange exchange) throws IOException {
+		tokenRequests.incrementAndGet();
+		drain(exchange.getRequestBody());
+		long expiration = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 3600;
+		respond(exchange, 200, String.format(TOKEN_RESPONSE, expiration).getBytes(StandardCharsets.US_ASCII));
+	}
+
+	private void handlePush(HttpExchange exchange) throws IOException {
+		String path = exchange.getRequestURI().getPath();
+		boolean bulk = path.endsWith(PushConstants.BULK_PATH);
+		if (!"POST".equals(exchange.getRequestMethod()) || !(bulk || path.endsWith(PushConstants.API))) {
+			drain(exchange.getRequestBody());
+			respond(exchange, 404, NOT_FOUND_RESPONSE);
+			return;
+		}
+
+		int count = 1;
+		if (bulk) {
+			count = countElements(exchange.getRequestBody());
+		} else {
+			drain(exchange.getRequestBody());
+		}
+		sleep(latencyMillis);
+
+		double outcome = ThreadLocalRandom.current().nextDouble();
+		if (outcome < throttleRate) {
+			throttled.incrementAndGet();
+			exchange.getResponseHeaders().add("Retry-After", "1");
+			respond(exchange, 429, THROTTLED_RESPONSE);
+		} else if (outcome < throttleRate + errorRate) {
+			errors.incrementAndGet();
+			respond(exchange, 503, ERROR_RESPONSE);
+		} else if (bulk) {
+			bulkRequests.incrementAndGet();
+			messages.addAndGet(count);
+			respond(exchange, 202, bulkResponse(count));
+		} else {
+			messages.incrementAndGet();
+			respond(exchange, 202, MESSAGE_RESPONSE);
+		}
+	}
+
+	/**
+	 * @return The number of elements of the JSON array read from the stream.
+	 */
+	private static int countElements(InputStream body) throws IOException {
+		int count = 0;
+		JsonParser parser = PushJson.MAPPER.getFactory().createParser(body);
+		try {
+			if (parser.nextToken() == JsonToken.START_ARRAY) {
+				while (parser.nextToken() != JsonToken.END_ARRAY) {
+					parser.skipChildren();
+					count++;
+				}
+			}
+		} finally {
+			parser.close();
+		}
+		return count;
+	}
+
+	private static byte[] bulkResponse(int count) {
+		ByteArrayOutputStream response = new ByteArrayOutputStream(count * (MESSAGE_RESPONSE.length + 1) + 2);
+		response.write('[');
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				response.write(',');
+			}
+			response.write(MESSAGE_RESPONSE, 0, MESSAGE_RESPONSE.length);
+		}
+		response.write(']');
+		return response.toByteArray();
+	}
+
+	private static void drain(InputStream body) throws IOException {
+		byte[] buffer = new byte[8192];
+		try {
+			while (body.read(buffer) >= 0) {
+				// Discard.
+			}
+		} finally {
+			body.close();
+		}
+	}
+
+	/**
+	 * Responses always have a body: the JDK server closes the connection after
+	 * one without, which clients would only notice when reusing it.
+	 */
+	private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, body.length);
+		OutputStream response = exchange.getResponseBody();
+		try {
+			response.write(body);
+		} finally {
+			response.close();
+		}
+	}
+
+	private static void sleep(long millis) {
+		if (millis <= 0) {
+			return;
+		}
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public long getMessages() {
+		return messages.get();
+	}
+
+	public long getBulkRequests() {
+		return bulkRequests.get();
+	}
+
+	public long getTokenRequests() {
+		return tokenRequests.get();
+	}
+
+	public long getErrors() {
+		return errors.get();
+	}
+
+	public long getThrottled() {
+		return throttled.get();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+}
@@ -0,0 +1,239 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push.micrometer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import com.ibm.mobilefirstplatform.serversdk.java.push.PushClient;
+import com.ibm.mobilefirstplatform.serversdk.java.push.PushMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+
+/**
+ * Records the metrics of a {@link PushClient} in a Micrometer
+ * {@link MeterRegistry}:
+ * <ul>
+ * <li>{@code push.calls}: a timer of the send methods, from the call to the
+ * final outcome, by {@code endpoint} and {@code outcome}, which is the final
+ * status code or the simple class name of the error</li>
+ * <li>{@code push.notifications}: a counter of the notifications sent, by
+ * {@code endpoint} and {@code outcome}</li>
+ * <li>{@code push.requests}: a timer of each HTTP request, retries included,
+ * by {@code endpoint} and {@code outcome}</li>
+ * <li>{@code push.request.size} and {@code push.response.size}: the sizes of
+ * the bodies, in bytes, by {@code endpoint}</li>
+ * <li>{@code push.retries}: a counter of the retries, by
+ * {@code endpoint}</li>
+ * <li>{@code push.encoding} and {@code push.encoding.size}: the time taken to
+ * encode notifications or render templates, and the size of the result</li>
+ * <li>{@code push.token.fetches}: a timer of the IAM token requests, by
+ * {@code outcome}, {@code success} or {@code failure}</li>
+ * <li>{@code push.connections}: gauges of the connection pool, by
+ * {@code state}, {@code leased}, {@code available} or {@code pending}</li>
+ * <li>{@code push.calls.in.flight} and {@code push.calls.queued}: gauges of
+ * the asynchronous calls in flight and of those waiting for a slot</li>
+ * </ul>
+ * The timers publish percentile histograms. Use one instance per push
+ * client, with common tags that tell the clients apart, such as the tenant.
+ */
+public class MicrometerPushMetrics implements PushMetrics {
+
+	private static final String ENDPOINT = "endpoint";
+	private static final String OUTCOME = "outcome";
+
+	private final MeterRegistry registry;
+	private final Tags tags;
+
+	private final ConcurrentMap<String, Timer> calls = new ConcurrentHashMap<String, Timer>();
+	private final ConcurrentMap<String, Counter> notifications = new ConcurrentHashMap<String, Counter>();
+	private final ConcurrentMap<String, Timer> requests = new ConcurrentHashMap<String, Timer>();
+	private final ConcurrentMap<String, DistributionSummary> requestSizes = new ConcurrentHashMap<String, DistributionSummary>();
+	private final ConcurrentMap<String, DistributionSummary> responseSizes = new ConcurrentHashMap<String, DistributionSummary>();
+	private final ConcurrentMap<String, Counter> retries = new ConcurrentHashMap<String, Counter>();
+	private final Timer encoding;
+	private final DistributionSummary encodingSize;
+	private final Timer tokenFetchSuccesses;
+	private final Timer tokenFetchFailures;
+
+	public MicrometerPushMetrics(MeterRegistry registry) {
+		this(registry, Tags.empty());
+	}
+
+	/**
+	 *
+	 * @param registry
+	 *            The registry the meters are added to.
+	 * @param tags
+	 *            Tags added to every meter.
+	 */
+	public MicrometerPushMetrics(MeterRegistry registry, Iterable<Tag> tags) {
+		this.registry = registry;
+		this.tags = Tags.of(tags);
+
+		this.encoding = Timer.builder("push.encoding").description("Time taken to encode a notification")
+				.tags(this.tags).publishPercentileHistogram().register(registry);
+		this.encodingSize = DistributionSummary.builder("push.encoding.size")
+				.description("Size of an encoded notification").baseUnit(BaseUnits.BYTES).tags(this.tags)
+				.register(registry);
+		this.tokenFetchSuccesses = tokenFetches("success");
+		this.tokenFetchFailures = tokenFetches("failure");
+	}
+
+	private Timer tokenFetches(String outcome) {
+		return Timer.builder("push.token.fetches").description("Requests of IAM access tokens").tags(tags)
+				.tag(OUTCOME, outcome).register(registry);
+	}
+
+	@Override
+	public void callCompleted(String endpoint, int notifications, Integer statusCode, Throwable failure,
+			long durationNanos) {
+		String outcome = outcome(statusCode, failure);
+		String key = endpoint + ' ' + outcome;
+
+		Timer timer = calls.get(key);
+		if (timer == null) {
+			// The registry returns the same meter to concurrent registrations.
+			timer = Timer.builder("push.calls").description("Calls of the send methods, retries included")
+					.tags(tags).tag(ENDPOINT, endpoint).tag(OUTCOME, outcome).publishPercentileHistogram()
+					.register(registry);
+			calls.put(key, timer);
+		}
+		timer.record(durationNanos, TimeUnit.NANOSECONDS);
+
+		if (notifications > 0) {
+			Counter counter = this.notifications.get(key);
+			if (counter == null) {
+				counter = Counter.builder("push.notifications").description("Notifications sent").tags(tags)
+						.tag(ENDPOINT, endpoint).tag(OUTCOME, outcome).register(registry);
+				this.notifications.put(key, counter);
+			}
+			counter.increment(notifications);
+		}
+	}
+
+	@Override
+	public void requestCompleted(String endpoint, int statusCode, long requestBytes, long responseBytes,
+			long latencyNanos) {
+		request(endpoint, Integer.toString(statusCode)).record(latencyNanos, TimeUnit.NANOSECONDS);
+		if (requestBytes >= 0) {
+			size(requestSizes, "push.request.size", endpoint).record(requestBytes);
+		}
+		if (responseBytes >= 0) {
+			size(responseSizes, "push.response.size", endpoint).record(responseBytes);
+		}
+	}
+
+	@Override
+	public void requestFailed(String endpoint, Throwable failure, long latencyNanos) {
+		request(endpoint, outcome(null, failure)).record(latencyNanos, TimeUnit.NANOSECONDS);
+	}
+
+	private Timer request(String endpoint, String outcome) {
+		String key = endpoint + ' ' + outcome;
+		Timer timer = requests.get(key);
+		if (timer == null) {
+			timer = Timer.builder("push.requests").description("HTTP requests, one per attempt").tags(tags)
+					.tag(ENDPOINT, endpoint).tag(OUTCOME, outcome).publishPercentileHistogram().register(registry);
+			requests.put(key, timer);
+		}
+		return timer;
+	}
+
+	private DistributionSummary size(ConcurrentMap<String, DistributionSummary> sizes, String name, String endpoint) {
+		DistributionSummary summary = sizes.get(endpoint);
+		if (summary == null) {
+			summary = DistributionSummary.builder(name).description("Size of the HTTP bodies")
+					.baseUnit(BaseUnits.BYTES).tags(tags).tag(ENDPOINT, endpoint).register(registry);
+			sizes.put(endpoint, summary);
+		}
+		return summary;
+	}
+
+	@Override
+	public void retryScheduled(String endpoint, long delayMillis) {
+		Counter counter = retries.get(endpoint);
+		if (counter == null) {
+			counter = Counter.builder("push.retries").description("Failed requests sent again").tags(tags)
+					.tag(ENDPOINT, endpoint).register(registry);
+			retries.put(endpoint, counter);
+		}
+		counter.increment();
+	}
+
+	@Override
+	public void notificationEncoded(int bytes, long durationNanos) {
+		encoding.record(durationNanos, TimeUnit.NANOSECONDS);
+		encodingSize.record(bytes);
+	}
+
+	@Override
+	public void tokenFetched(boolean success, long durationNanos) {
+		(success ? tokenFetchSuccesses : tokenFetchFailures).record(durationNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Registers the gauges, which keep a weak reference to the push client:
+	 * they are no longer sampled once it is garbage collected.
+	 */
+	@Override
+	public void bindGauges(Gauges gauges) {
+		Gauge.builder("push.connections", gauges, new ToDoubleFunction<Gauges>() {
+			@Override
+			public double applyAsDouble(Gauges gauges) {
+				return gauges.getLeasedConnections();
+			}
+		}).description("Connections of the pool").tags(tags).tag("state", "leased").register(registry);
+		Gauge.builder("push.connections", gauges, new ToDoubleFunction<Gauges>() {
+			@Override
+			public double applyAsDouble(Gauges gauges) {
+				return gauges.getAvailableConnections();
+			}
+		}).description("Connections of the pool").tags(tags).tag("state", "available").register(registry);
+		Gauge.builder("push.connections", gauges, new ToDoubleFunction<Gauges>() {
+			@Override
+			public double applyAsDouble(Gauges gauges) {
+				return gauges.getPendingConnections();
+			}
+		}).description("Connections of the pool").tags(tags).tag("state", "pending").register(registry);
+		Gauge.builder("push.calls.in.flight", gauges, new ToDoubleFunction<Gauges>() {
+			@Override
+			public double applyAsDouble(Gauges gauges) {
+				return gauges.getInFlightRequests();
+			}
+		}).description("Asynchronous calls in flight").tags(tags).register(registry);
+		Gauge.builder("push.calls.queued", gauges, new ToDoubleFunction<Gauges>() {
+			@Override
+			public double applyAsDouble(Gauges gauges) {
+				return gauges.getQueuedRequests();
+			}
+		}).description("Calls waiting for a slot").tags(tags).register(registry);
+	}
+
+	private static String outcome(Integer statusCode, Throwable failure) {
+		if (statusCode != null) {
+			return statusCode.toString();
+		}
+		return failure != null ? failure.getClass().getSimpleName() : "unknown";
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push.opentelemetry;
+
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpStatus;
+
+import com.ibm.mobilefirstplatform.serversdk.java.push.PushClient;
+import com.ibm.mobilefirstplatform.serversdk.java.push.PushTracer;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+
+/**
+ * Traces the calls of a {@link PushClient} with OpenTelemetry. The
+ * {@code push.send} and {@code push.token.fetch} spans are children of the
+ * span current on the thread that calls the push client. The rest of that
+ * context, such as baggage, is kept for the later stages, and the context of
+ * each {@code push.request} span is sent with the W3C {@code traceparent} and
+ * {@code tracestate} headers. Failed stages and responses with an error status
+ * are marked as errors.
+ */
+public class OpenTelemetryPushTracer implements PushTracer {
+
+	public static final String INSTRUMENTATION_NAME = "com.ibm.mobilefirstplatform.serversdk.java.push";
+
+	private static final TextMapSetter<HttpRequest> HEADER_SETTER = new TextMapSetter<HttpRequest>() {
+		@Override
+		public void set(HttpRequest request, String key, String value) {
+			if (request != null) {
+				request.setHeader(key, value);
+			}
+		}
+	};
+
+	private final Tracer tracer;
+	private final TextMapPropagator propagator;
+
+	public OpenTelemetryPushTracer(OpenTelemetry openTelemetry) {
+		this(openTelemetry.getTracer(INSTRUMENTATION_NAME), W3CTraceContextPropagator.getInstance());
+	}
+
+	/**
+	 *
+	 * @param tracer
+	 *            The tracer the spans are started with.
+	 * @param propagator
+	 *            Adds the trace context to the requests, such as
+	 *            {@link W3CTraceContextPropagator}.
+	 */
+	public OpenTelemetryPushTracer(Tracer tracer, TextMapPropagator propagator) {
+		this.tracer = tracer;
+		this.propagator = propagator;
+	}
+
+	@Override
+	public Span startSpan(String name) {
+		// Captured now, as the later stages run on other threads.
+		Context parent = Context.current();
+		return new OpenTelemetrySpan(parent,
+				tracer.spanBuilder(name).setParent(parent).setSpanKind(SpanKind.INTERNAL).startSpan());
+	}
+
+	private final class OpenTelemetrySpan implements PushTracer.Span {
+
+		private final io.opentelemetry.api.trace.Span span;
+		// The context of the caller, such as its baggage, with this span.
+		private final Context context;
+
+		OpenTelemetrySpan(Context parent, io.opentelemetry.api.trace.Span span) {
+			this.span = span;
+			this.context = parent.with(span);
+		}
+
+		@Override
+		public Span startChild(String name) {
+			return new OpenTelemetrySpan(context, tracer.spanBuilder(name).setParent(context)
+					.setSpanKind(REQUEST.equals(name) ? SpanKind.CLIENT : SpanKind.INTERNAL).startSpan());
+		}
+
+		@Override
+		public void setAttribute(String key, String value) {
+			span.setAttribute(key, value);
+		}
+
+		@Override
+		public void setAttribute(String key, long value) {
+			span.setAttribute(key, value);
+			if (STATUS_CODE_ATTRIBUTE.equals(key) && value >= HttpStatus.SC_BAD_REQUEST) {
+				span.setStatus(StatusCode.ERROR);
+			}
+		}
+
+		@Override
+		public void injectHeaders(HttpRequest request) {
+			propagator.inject(context, request, HEADER_SETTER);
+		}
+
+		@Override
+		public void end(Throwable failure) {
+			if (failure != null) {
+				span.recordException(failure);
+				span.setStatus(StatusCode.ERROR, failure.toString());
+			}
+			span.end();
+		}
+	}
+}
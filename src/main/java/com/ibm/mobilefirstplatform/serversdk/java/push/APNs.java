@@ -13,16 +13,16 @@
 
 package com.ibm.mobilefirstplatform.serversdk.java.push;
 
-import java.io.IOException;
-import java.util.logging.Level;
+import java.util.Map;
 import java.util.logging.Logger;
 
 import org.json.JSONObject;
 
-import com.fasterxml.jackson.annotation.JsonRawValue;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.POJONode;
+import com.fasterxml.jackson.databind.util.RawValue;
 import com.ibm.mobilefirstplatform.serversdk.java.push.APNs.Builder.APNSNotificationType;
 
 /**
@@ -80,7 +80,14 @@ public final class APNs {
 		return iosActionKey;
 	}
 
-	@JsonRawValue
+	/**
+	 *
+	 * @return The custom payload. A payload set with
+	 *         {@link Builder#payloadMap(Map)} or
+	 *         {@link Builder#rawPayload(RawValue)} is wrapped in a
+	 *         {@link POJONode}.
+	 */
+	@JsonInclude(Include.NON_NULL)
 	public final JsonNode getPayload() {
 		return payload;
 	}
@@ -258,21 +265,49 @@ public final class APNs {
 		 * @return The Builder object for calls to be linked.
 		 */
 		public final Builder payload(JSONObject payload) {
+			this.payload = payload != null ? PushJson.toTree(payload) : null;
+			return this;
+		}
 
-			ObjectMapper mapper = new ObjectMapper();
-			JsonNode jsonNodePayload = null;
+		/**
+		 * Sets the custom payload without converting it, unlike
+		 * {@link #payload(JSONObject)}, which copies it into a tree.
+		 *
+		 * @param payload
+		 *            Custom JSON payload that will be sent as part of the
+		 *            notification message.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder payloadNode(JsonNode payload) {
+			this.payload = payload;
+			return this;
+		}
 
-			try {
-				if (payload != null) {
-					jsonNodePayload = mapper.readTree(payload.toString());
-				}
-			} catch (JsonProcessingException e) {
-				logger.log(Level.SEVERE, e.toString(), e);
-			} catch (IOException e) {
-				logger.log(Level.SEVERE, e.toString(), e);
-			}
+		/**
+		 * Sets the custom payload as a map, serialized when the notification
+		 * is sent. The map must not be changed afterwards.
+		 *
+		 * @param payload
+		 *            Custom JSON payload that will be sent as part of the
+		 *            notification message.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder payloadMap(Map<String, ?> payload) {
+			this.payload = payload != null ? new POJONode(payload) : null;
+			return this;
+		}
 
-			this.payload = jsonNodePayload;
+		/**
+		 * Sets the custom payload as already encoded JSON, which is embedded
+		 * in the notification as is, without being parsed or validated.
+		 *
+		 * @param payload
+		 *            Custom JSON payload that will be sent as part of the
+		 *            notification message.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder rawPayload(RawValue payload) {
+			this.payload = payload != null ? new POJONode(payload) : null;
 			return this;
 		}
 
@@ -0,0 +1,159 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of requests in flight with an AIMD algorithm, as
+ * described by {@link ConcurrencyLimitConfig}. A request that finds the limit
+ * reached is queued; its callback runs on the thread of the request that
+ * frees a slot for it.
+ */
+final class AdaptiveConcurrencyLimiter {
+
+	private final ConcurrencyLimitConfig config;
+	private final long latencyThresholdNanos;
+	private final Queue<Runnable> waiting = new ArrayDeque<Runnable>();
+	private double limit;
+	private int inFlight;
+
+	AdaptiveConcurrencyLimiter(ConcurrencyLimitConfig config) {
+		this.config = config;
+		this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.getLatencyThresholdMillis());
+		this.limit = config.getInitialLimit();
+	}
+
+	/**
+	 * Takes a slot if one is free, otherwise queues the callback, which runs
+	 * once it has been given a slot.
+	 *
+	 * @return true if the slot was taken right away.
+	 */
+	synchronized boolean tryAcquire(Runnable onAcquired) {
+		if (inFlight < (int) limit) {
+			inFlight++;
+			return true;
+		}
+		waiting.add(onAcquired);
+		return false;
+	}
+
+	/**
+	 * Waits for a slot, at most for the given time.
+	 *
+	 * @return false if no slot was free in time.
+	 */
+	boolean acquire(long timeoutNanos) throws InterruptedException {
+		final CountDownLatch acquired = new CountDownLatch(1);
+		Runnable onAcquired = new Runnable() {
+			@Override
+			public void run() {
+				acquired.countDown();
+			}
+		};
+		if (tryAcquire(onAcquired)) {
+			return true;
+		}
+
+		try {
+			if (acquired.await(timeoutNanos, TimeUnit.NANOSECONDS)) {
+				return true;
+			}
+		} catch (InterruptedException e) {
+			cancel(onAcquired);
+			throw e;
+		}
+		cancel(onAcquired);
+		return false;
+	}
+
+	private void cancel(Runnable onAcquired) {
+		boolean queued;
+		synchronized (this) {
+			queued = waiting.remove(onAcquired);
+		}
+		if (!queued) {
+			// The slot was handed over in the meantime.
+			release();
+		}
+	}
+
+	/**
+	 * Frees a slot and adjusts the limit to the outcome of the request.
+	 *
+	 * @param latencyNanos
+	 *            How long the request took.
+	 * @param overloaded
+	 *            Whether the service was unable to keep up with the request.
+	 */
+	void release(long latencyNanos, boolean overloaded) {
+		List<Runnable> granted;
+		synchronized (this) {
+			if (overloaded || latencyNanos > latencyThresholdNanos) {
+				limit = Math.max(config.getMinLimit(), limit * config.getBackoffRatio());
+			} else if (inFlight >= (int) limit) {
+				// Only grow while the limit is actually what holds requests back.
+				limit = Math.min(config.getMaxLimit(), limit + 1 / limit);
+			}
+			inFlight--;
+			granted = grant();
+		}
+		run(granted);
+	}
+
+	/**
+	 * Frees a slot without a sample, for a request that was never sent.
+	 */
+	void release() {
+		List<Runnable> granted;
+		synchronized (this) {
+			inFlight--;
+			granted = grant();
+		}
+		run(granted);
+	}
+
+	private List<Runnable> grant() {
+		List<Runnable> granted = new ArrayList<Runnable>();
+		while (inFlight < (int) limit && !waiting.isEmpty()) {
+			inFlight++;
+			granted.add(waiting.poll());
+		}
+		return granted;
+	}
+
+	private static void run(List<Runnable> granted) {
+		for (Runnable onAcquired : granted) {
+			onAcquired.run();
+		}
+	}
+
+	synchronized int getLimit() {
+		return (int) limit;
+	}
+
+	synchronized int getInFlight() {
+		return inFlight;
+	}
+
+	synchronized int getWaiting() {
+		return waiting.size();
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+/**
+ *
+ * Settings of the batching of single sends of a {@link PushClient}. Instead
+ * of one request each, notifications passed to
+ * {@link PushClient#send(Notification, PushNotificationsResponseListener)} and
+ * {@link PushClient#sendAsync(Notification)} are held for up to
+ * {@code maxDelayMillis} and sent together to the bulk endpoint, as soon as
+ * {@code maxBatchSize} of them or {@code maxBatchBytes} are waiting.
+ *
+ */
+public final class BatchingConfig {
+
+	public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+	public static final int DEFAULT_MAX_BATCH_BYTES = BulkDispatchConfig.DEFAULT_MAX_BYTES_PER_CHUNK;
+	public static final long DEFAULT_MAX_DELAY_MILLIS = 5L;
+
+	private int maxBatchSize;
+	private int maxBatchBytes;
+	private long maxDelayMillis;
+
+	public final int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	public final int getMaxBatchBytes() {
+		return maxBatchBytes;
+	}
+
+	public final long getMaxDelayMillis() {
+		return maxDelayMillis;
+	}
+
+	private BatchingConfig(Builder builder) {
+		this.maxBatchSize = builder.maxBatchSize;
+		this.maxBatchBytes = builder.maxBatchBytes;
+		this.maxDelayMillis = builder.maxDelayMillis;
+	}
+
+	/**
+	 *
+	 * @return a {@link BatchingConfig} with all the default values.
+	 */
+	public static BatchingConfig defaultConfig() {
+		return new Builder().build();
+	}
+
+	/**
+	 *
+	 * Builder for {@link BatchingConfig}.
+	 *
+	 */
+	public static class Builder {
+
+		private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+		private int maxBatchBytes = DEFAULT_MAX_BATCH_BYTES;
+		private long maxDelayMillis = DEFAULT_MAX_DELAY_MILLIS;
+
+		/**
+		 *
+		 * @param maxBatchSize
+		 *            The number of notifications that are sent at once,
+		 *            without waiting any longer.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder maxBatchSize(int maxBatchSize) {
+			this.maxBatchSize = maxBatchSize;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param maxBatchBytes
+		 *            The maximum size of the body of a batch, in bytes.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder maxBatchBytes(int maxBatchBytes) {
+			this.maxBatchBytes = maxBatchBytes;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param maxDelayMillis
+		 *            How long the first notification of a batch waits for
+		 *            others.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder maxDelayMillis(long maxDelayMillis) {
+			this.maxDelayMillis = maxDelayMillis;
+			return this;
+		}
+
+		/**
+		 *
+		 * @return the {@link BatchingConfig} object.
+		 */
+		public final BatchingConfig build() {
+			if (maxBatchSize <= 0 || maxBatchBytes <= 0 || maxDelayMillis <= 0) {
+				throw new IllegalArgumentException(PushConstants.PushServerSDKExceptions.INVALID_BATCHING_CONFIG_EXCEPTION);
+			}
+			return new BatchingConfig(this);
+		}
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.message.BasicHttpResponse;
+
+/**
+ * A {@link CloseableHttpResponse} view of a response returned by a
+ * {@link PushTransport}. Its entity is already buffered and its connection
+ * already released, so closing it does nothing.
+ */
+final class BufferedHttpResponse extends BasicHttpResponse implements CloseableHttpResponse {
+
+	BufferedHttpResponse(HttpResponse response) {
+		super(response.getStatusLine());
+		setHeaders(response.getAllHeaders());
+		setEntity(response.getEntity());
+		setLocale(response.getLocale());
+	}
+
+	@Override
+	public void close() {
+		// Nothing to release.
+	}
+}
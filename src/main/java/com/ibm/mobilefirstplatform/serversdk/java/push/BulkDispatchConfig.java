@@ -0,0 +1,116 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+/**
+ *
+ * How {@link PushClient#dispatchBulk(Notification[])} splits notifications
+ * into bulk requests and how many of them it sends at the same time.
+ *
+ */
+public final class BulkDispatchConfig {
+
+	public static final int DEFAULT_MAX_NOTIFICATIONS_PER_CHUNK = 1000;
+	public static final int DEFAULT_MAX_BYTES_PER_CHUNK = 1024 * 1024;
+	public static final int DEFAULT_MAX_CONCURRENT_CHUNKS = 4;
+
+	private int maxNotificationsPerChunk;
+	private int maxBytesPerChunk;
+	private int maxConcurrentChunks;
+
+	public final int getMaxNotificationsPerChunk() {
+		return maxNotificationsPerChunk;
+	}
+
+	public final int getMaxBytesPerChunk() {
+		return maxBytesPerChunk;
+	}
+
+	public final int getMaxConcurrentChunks() {
+		return maxConcurrentChunks;
+	}
+
+	private BulkDispatchConfig(Builder builder) {
+		this.maxNotificationsPerChunk = builder.maxNotificationsPerChunk;
+		this.maxBytesPerChunk = builder.maxBytesPerChunk;
+		this.maxConcurrentChunks = builder.maxConcurrentChunks;
+	}
+
+	/**
+	 *
+	 * @return a {@link BulkDispatchConfig} with all the default values.
+	 */
+	public static BulkDispatchConfig defaultConfig() {
+		return new Builder().build();
+	}
+
+	/**
+	 *
+	 * Builder for {@link BulkDispatchConfig}.
+	 *
+	 */
+	public static class Builder {
+
+		private int maxNotificationsPerChunk = DEFAULT_MAX_NOTIFICATIONS_PER_CHUNK;
+		private int maxBytesPerChunk = DEFAULT_MAX_BYTES_PER_CHUNK;
+		private int maxConcurrentChunks = DEFAULT_MAX_CONCURRENT_CHUNKS;
+
+		/**
+		 *
+		 * @param maxNotificationsPerChunk
+		 *            The maximum number of notifications sent in one bulk
+		 *            request.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder maxNotificationsPerChunk(int maxNotificationsPerChunk) {
+			this.maxNotificationsPerChunk = maxNotificationsPerChunk;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param maxBytesPerChunk
+		 *            The maximum size of the JSON body of one bulk request. A
+		 *            single notification larger than this is sent on its own.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder maxBytesPerChunk(int maxBytesPerChunk) {
+			this.maxBytesPerChunk = maxBytesPerChunk;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param maxConcurrentChunks
+		 *            The maximum number of bulk requests of one dispatch in
+		 *            flight at the same time.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder maxConcurrentChunks(int maxConcurrentChunks) {
+			this.maxConcurrentChunks = maxConcurrentChunks;
+			return this;
+		}
+
+		/**
+		 *
+		 * @return the {@link BulkDispatchConfig} object.
+		 */
+		public final BulkDispatchConfig build() {
+			if (maxNotificationsPerChunk <= 0 || maxBytesPerChunk <= 0 || maxConcurrentChunks <= 0) {
+				throw new IllegalArgumentException(PushConstants.PushServerSDKExceptions.INVALID_BULK_DISPATCH_CONFIG_EXCEPTION);
+			}
+			return new BulkDispatchConfig(this);
+		}
+	}
+}
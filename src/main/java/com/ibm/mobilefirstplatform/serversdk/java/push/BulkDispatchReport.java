@@ -0,0 +1,157 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The outcome of {@link PushClient#dispatchBulk(Notification[])}, with one
+ * {@link ChunkResult} for each bulk request, in the order of the
+ * notifications.
+ */
+public final class BulkDispatchReport {
+
+	private final int totalNotifications;
+	private final List<ChunkResult> chunkResults;
+
+	BulkDispatchReport(int totalNotifications, List<ChunkResult> chunkResults) {
+		List<ChunkResult> sorted = new ArrayList<ChunkResult>(chunkResults);
+		Collections.sort(sorted, new Comparator<ChunkResult>() {
+			@Override
+			public int compare(ChunkResult a, ChunkResult b) {
+				return Integer.compare(a.getOffset(), b.getOffset());
+			}
+		});
+		this.totalNotifications = totalNotifications;
+		this.chunkResults = Collections.unmodifiableList(sorted);
+	}
+
+	public final int getTotalNotifications() {
+		return totalNotifications;
+	}
+
+	public final List<ChunkResult> getChunkResults() {
+		return chunkResults;
+	}
+
+	/**
+	 *
+	 * @return The number of notifications in the chunks accepted by the
+	 *         service.
+	 */
+	public final int getAcceptedNotifications() {
+		int accepted = 0;
+		for (ChunkResult chunkResult : chunkResults) {
+			if (chunkResult.isSuccess()) {
+				accepted += chunkResult.getSize();
+			}
+		}
+		return accepted;
+	}
+
+	/**
+	 *
+	 * @return The chunks that were rejected by the service or could not be
+	 *         sent.
+	 */
+	public final List<ChunkResult> getFailedChunks() {
+		List<ChunkResult> failed = new ArrayList<ChunkResult>();
+		for (ChunkResult chunkResult : chunkResults) {
+			if (!chunkResult.isSuccess()) {
+				failed.add(chunkResult);
+			}
+		}
+		return failed;
+	}
+
+	/**
+	 *
+	 * @return true if every chunk was accepted by the service.
+	 */
+	public final boolean isSuccess() {
+		return getAcceptedNotifications() == totalNotifications;
+	}
+
+	@Override
+	public String toString() {
+		return "BulkDispatchReport [totalNotifications=" + totalNotifications + ", acceptedNotifications="
+				+ getAcceptedNotifications() + ", chunks=" + chunkResults.size() + ", failedChunks="
+				+ getFailedChunks().size() + "]";
+	}
+
+	/**
+	 * The outcome of the bulk request sending a contiguous range of the
+	 * dispatched notifications.
+	 */
+	public static final class ChunkResult {
+
+		private final int offset;
+		private final int size;
+		private final BulkPushResult result;
+		private final Throwable exception;
+
+		ChunkResult(int offset, int size, BulkPushResult result, Throwable exception) {
+			this.offset = offset;
+			this.size = size;
+			this.result = result;
+			this.exception = exception;
+		}
+
+		/**
+		 *
+		 * @return The index of the first notification of this chunk.
+		 */
+		public final int getOffset() {
+			return offset;
+		}
+
+		/**
+		 *
+		 * @return The number of notifications in this chunk.
+		 */
+		public final int getSize() {
+			return size;
+		}
+
+		/**
+		 *
+		 * @return The response of the service, broken down per notification.
+		 *         It is null if no response was received.
+		 */
+		public final BulkPushResult getResult() {
+			return result;
+		}
+
+		/**
+		 *
+		 * @return The reason why no response was received, or null.
+		 */
+		public final Throwable getException() {
+			return exception;
+		}
+
+		public final boolean isSuccess() {
+			return result != null && result.isSuccess();
+		}
+
+		@Override
+		public String toString() {
+			return "ChunkResult [offset=" + offset + ", size=" + size + ", result=" + result + ", exception="
+					+ exception + "]";
+		}
+	}
+}
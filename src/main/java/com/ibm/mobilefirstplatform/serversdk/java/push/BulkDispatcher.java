@@ -0,0 +1,120 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiConsumer;
+
+import com.ibm.mobilefirstplatform.serversdk.java.push.BulkDispatchReport.ChunkResult;
+
+/**
+ * Splits the notifications of one
+ * {@link PushClient#dispatchBulk(Notification[])} or
+ * {@link PushClient#dispatchBulk(NotificationTemplate, List)} call into
+ * chunks and sends them in parallel. Chunks are encoded on the calling thread
+ * just before they are sent, so at most
+ * {@link BulkDispatchConfig#getMaxConcurrentChunks()} encoded chunks are held
+ * in memory at a time.
+ */
+final class BulkDispatcher {
+
+	private static final int START_ARRAY = '[';
+	private static final int SEPARATOR = ',';
+	private static final int END_ARRAY = ']';
+
+	/**
+	 * The notifications of a bulk request, encoded one at a time.
+	 */
+	interface Elements {
+		int size();
+
+		byte[] encode(int index);
+	}
+
+	private final PushClient client;
+	private final BulkDispatchConfig config;
+	private final Elements notifications;
+	private final Deadline deadline;
+	private final Semaphore chunkSlots;
+	private final List<ChunkResult> chunkResults = Collections.synchronizedList(new ArrayList<ChunkResult>());
+
+	/**
+	 * @param deadline
+	 *            The deadline of the whole dispatch, or null to give each
+	 *            chunk the request timeout of the client.
+	 */
+	BulkDispatcher(PushClient client, BulkDispatchConfig config, Elements notifications, Deadline deadline) {
+		this.client = client;
+		this.config = config;
+		this.notifications = notifications;
+		this.deadline = deadline;
+		this.chunkSlots = new Semaphore(config.getMaxConcurrentChunks());
+	}
+
+	BulkDispatchReport dispatch() {
+		ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+		int chunkOffset = 0;
+		int chunkSize = 0;
+
+		try {
+			for (int i = 0; i < notifications.size(); i++) {
+				byte[] element = notifications.encode(i);
+
+				// Both the separator and the closing bracket must still fit.
+				if (chunkSize > 0 && (chunkSize == config.getMaxNotificationsPerChunk()
+						|| chunk.size() + element.length + 2 > config.getMaxBytesPerChunk())) {
+					sendChunk(chunkOffset, chunkSize, chunk);
+					chunk.reset();
+					chunkOffset = i;
+					chunkSize = 0;
+				}
+
+				chunk.write(chunkSize == 0 ? START_ARRAY : SEPARATOR);
+				chunk.write(element, 0, element.length);
+				chunkSize++;
+			}
+			sendChunk(chunkOffset, chunkSize, chunk);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			chunkResults.add(new ChunkResult(chunkOffset, notifications.size() - chunkOffset, null, e));
+		}
+
+		// Wait for the chunks still in flight.
+		chunkSlots.acquireUninterruptibly(config.getMaxConcurrentChunks());
+		chunkSlots.release(config.getMaxConcurrentChunks());
+
+		return new BulkDispatchReport(notifications.size(), chunkResults);
+	}
+
+	private void sendChunk(final int offset, final int size, ByteArrayOutputStream chunk) throws InterruptedException {
+		chunkSlots.acquire();
+		chunk.write(END_ARRAY);
+
+		CompletableFuture<BulkPushResult> response = deadline != null
+				? client.sendEncodedBulkAsync(chunk.toByteArray(), size, deadline)
+				: client.sendEncodedBulkAsync(chunk.toByteArray(), size);
+		response.whenComplete(new BiConsumer<BulkPushResult, Throwable>() {
+			@Override
+			public void accept(BulkPushResult result, Throwable failure) {
+				chunkResults.add(new ChunkResult(offset, size, result, failure));
+				chunkSlots.release();
+			}
+		});
+	}
+}
@@ -0,0 +1,169 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+/**
+ * Request entity of a bulk send. The notifications are written one by one as
+ * a JSON array while the request is sent, using chunked transfer encoding, so
+ * the whole body is never held in memory.
+ */
+final class BulkNotificationEntity extends AbstractHttpEntity {
+
+	private static final byte START_ARRAY = '[';
+	private static final byte SEPARATOR = ',';
+	private static final byte END_ARRAY = ']';
+
+	private final BulkDispatcher.Elements notifications;
+	private volatile long bytesWritten = -1;
+
+	BulkNotificationEntity(BulkDispatcher.Elements notifications) {
+		this.notifications = notifications;
+		setContentType(ContentType.APPLICATION_JSON.toString());
+		setChunked(true);
+	}
+
+	BulkNotificationEntity(final List<PushMessageModel> models) {
+		this(new BulkDispatcher.Elements() {
+			@Override
+			public int size() {
+				return models.size();
+			}
+
+			@Override
+			public byte[] encode(int index) {
+				return PushJson.toBytes(models.get(index));
+			}
+		});
+	}
+
+	@Override
+	public boolean isRepeatable() {
+		return true;
+	}
+
+	@Override
+	public long getContentLength() {
+		return -1;
+	}
+
+	@Override
+	public boolean isStreaming() {
+		return false;
+	}
+
+	int size() {
+		return notifications.size();
+	}
+
+	/**
+	 * @return The size of the body the last time it was written in full, or
+	 *         -1 if it never was.
+	 */
+	long getBytesWritten() {
+		return bytesWritten;
+	}
+
+	@Override
+	public void writeTo(OutputStream outstream) throws IOException {
+		long count = 2;
+		outstream.write(START_ARRAY);
+		for (int i = 0; i < notifications.size(); i++) {
+			if (i > 0) {
+				outstream.write(SEPARATOR);
+				count++;
+			}
+			byte[] element = notifications.encode(i);
+			outstream.write(element);
+			count += element.length;
+		}
+		outstream.write(END_ARRAY);
+		bytesWritten = count;
+	}
+
+	/**
+	 * Non-blocking transports read the body through this stream, which
+	 * serializes the next notification only once the previous one has been
+	 * consumed.
+	 */
+	@Override
+	public InputStream getContent() {
+		return new BulkInputStream();
+	}
+
+	private final class BulkInputStream extends InputStream {
+		private int next;
+		private byte[] buffer = new byte[0];
+		private int position;
+		private boolean lastBuffered;
+		private long count;
+
+		@Override
+		public int read() throws IOException {
+			if (!fill()) {
+				return -1;
+			}
+			return buffer[position++] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (!fill()) {
+				return -1;
+			}
+			int count = Math.min(len, buffer.length - position);
+			System.arraycopy(buffer, position, b, off, count);
+			position += count;
+			return count;
+		}
+
+		/**
+		 * Makes sure unread bytes are buffered, returning false at the end of
+		 * the array.
+		 */
+		private boolean fill() {
+			while (position == buffer.length) {
+				if (lastBuffered) {
+					return false;
+				}
+				position = 0;
+				if (next < notifications.size()) {
+					byte[] element = notifications.encode(next);
+					buffer = new byte[element.length + 1];
+					buffer[0] = next == 0 ? START_ARRAY : SEPARATOR;
+					System.arraycopy(element, 0, buffer, 1, element.length);
+					next++;
+				} else {
+					buffer = next == 0 ? new byte[] { START_ARRAY, END_ARRAY } : new byte[] { END_ARRAY };
+					lastBuffered = true;
+				}
+				count += buffer.length;
+				if (lastBuffered) {
+					bytesWritten = count;
+				}
+			}
+			return true;
+		}
+	}
+}
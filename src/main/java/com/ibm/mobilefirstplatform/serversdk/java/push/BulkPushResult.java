@@ -0,0 +1,112 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * The response of the Push Notification service to a bulk send. When the
+ * service answers with a JSON array of one element per notification, each
+ * element is also available as a {@link PushResult} of its own, with the
+ * status code of the whole response; the elements share the bytes of the
+ * response instead of being copied or printed again.
+ */
+public final class BulkPushResult extends PushResult {
+
+	private final List<PushResult> items;
+
+	BulkPushResult(Integer statusCode, byte[] body, Fields fields, List<PushResult> items) {
+		super(statusCode, body, 0, body != null ? body.length : 0, fields);
+		this.items = items != null ? Collections.unmodifiableList(items) : Collections.<PushResult>emptyList();
+	}
+
+	/**
+	 * Parses the given bulk response in a single pass.
+	 */
+	static BulkPushResult read(Integer statusCode, byte[] body) {
+		Fields fields = Fields.NONE;
+		List<PushResult> items = null;
+		if (body != null && body.length > 0) {
+			try {
+				JsonParser parser = PushJson.MAPPER.getFactory().createParser(body);
+				try {
+					JsonToken token = parser.nextToken();
+					if (token == JsonToken.START_OBJECT) {
+						fields = Fields.read(parser);
+					} else if (token == JsonToken.START_ARRAY) {
+						items = readItems(statusCode, body, parser);
+					}
+				} finally {
+					parser.close();
+				}
+			} catch (IOException e) {
+				// Not JSON, only the raw body is available.
+				fields = Fields.NONE;
+				items = null;
+			}
+		}
+		return new BulkPushResult(statusCode, body, fields, items);
+	}
+
+	/**
+	 * @return The elements of the array the given parser is at, or null if
+	 *         one of them is not an object.
+	 */
+	private static List<PushResult> readItems(Integer statusCode, byte[] body, JsonParser parser) throws IOException {
+		List<PushResult> items = new ArrayList<PushResult>();
+		JsonToken token;
+		while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+			int start = (int) parser.getTokenLocation().getByteOffset();
+			Fields fields = Fields.read(parser);
+			int end = (int) parser.getCurrentLocation().getByteOffset();
+			items.add(new PushResult(statusCode, body, start, end - start, fields));
+		}
+		return token == JsonToken.END_ARRAY ? items : null;
+	}
+
+	/**
+	 *
+	 * @return The result of each notification, in the order they were sent,
+	 *         or an empty list if the response is not an array of objects.
+	 */
+	public final List<PushResult> getItems() {
+		return items;
+	}
+
+	/**
+	 *
+	 * @return The number of items the service accepted.
+	 */
+	public final int getAcceptedCount() {
+		int accepted = 0;
+		for (PushResult item : items) {
+			if (item.isSuccess()) {
+				accepted++;
+			}
+		}
+		return accepted;
+	}
+
+	@Override
+	public String toString() {
+		return "BulkPushResult [statusCode=" + getStatusCode() + ", items=" + items.size() + ", responseBody="
+				+ getResponseBody() + "]";
+	}
+}
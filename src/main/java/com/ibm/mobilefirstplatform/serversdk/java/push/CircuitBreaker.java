@@ -0,0 +1,140 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The circuit breaker of one endpoint, as described by
+ * {@link CircuitBreakerConfig}. The outcomes of the most recent requests are
+ * kept in a ring buffer.
+ */
+final class CircuitBreaker {
+
+	public static final Logger logger = Logger.getLogger(CircuitBreaker.class.getName());
+
+	enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final String name;
+	private final CircuitBreakerConfig config;
+	private final boolean[] failures;
+	private int recorded;
+	private int next;
+	private int failureCount;
+
+	private State state = State.CLOSED;
+	private long openUntilNanos;
+	private int probesLeft;
+	private int probeSuccesses;
+
+	CircuitBreaker(String name, CircuitBreakerConfig config) {
+		this.name = name;
+		this.config = config;
+		this.failures = new boolean[config.getSlidingWindowSize()];
+	}
+
+	/**
+	 * @return true if a request may be sent now.
+	 */
+	synchronized boolean tryAcquire() {
+		switch (state) {
+		case OPEN:
+			if (System.nanoTime() - openUntilNanos < 0) {
+				return false;
+			}
+			state = State.HALF_OPEN;
+			probesLeft = config.getHalfOpenProbes();
+			probeSuccesses = 0;
+			// fall through
+		case HALF_OPEN:
+			if (probesLeft == 0) {
+				return false;
+			}
+			probesLeft--;
+			return true;
+		default:
+			return true;
+		}
+	}
+
+	/**
+	 * Gives back a probe taken by {@link #tryAcquire()} for a request that
+	 * was never sent, so that it can be taken by another request.
+	 */
+	synchronized void release() {
+		if (state == State.HALF_OPEN && probesLeft < config.getHalfOpenProbes() - probeSuccesses) {
+			probesLeft++;
+		}
+	}
+
+	synchronized void onSuccess() {
+		if (state == State.HALF_OPEN) {
+			if (++probeSuccesses == config.getHalfOpenProbes()) {
+				logger.log(Level.INFO, "Closing the circuit of " + name);
+				state = State.CLOSED;
+				clear();
+			}
+		} else if (state == State.CLOSED) {
+			record(false);
+		}
+	}
+
+	synchronized void onFailure() {
+		if (state == State.HALF_OPEN) {
+			open();
+		} else if (state == State.CLOSED) {
+			record(true);
+			if (recorded >= config.getMinimumRequests()
+					&& failureCount >= config.getFailureRateThreshold() * recorded) {
+				open();
+			}
+		}
+	}
+
+	synchronized State getState() {
+		return state;
+	}
+
+	private void record(boolean failure) {
+		if (recorded == failures.length) {
+			if (failures[next]) {
+				failureCount--;
+			}
+		} else {
+			recorded++;
+		}
+		failures[next] = failure;
+		if (failure) {
+			failureCount++;
+		}
+		next = (next + 1) % failures.length;
+	}
+
+	private void open() {
+		logger.log(Level.WARNING, "Opening the circuit of " + name + " for " + config.getOpenDurationMillis() + " ms");
+		state = State.OPEN;
+		openUntilNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getOpenDurationMillis());
+		clear();
+	}
+
+	private void clear() {
+		recorded = 0;
+		next = 0;
+		failureCount = 0;
+	}
+}
@@ -0,0 +1,191 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+/**
+ *
+ * Settings of the circuit breakers a {@link PushClient} keeps for the
+ * messages, bulk and IAM endpoints. When at least {@code failureRateThreshold}
+ * of the last {@code slidingWindowSize} requests to an endpoint failed, its
+ * circuit opens and further requests fail at once with a
+ * {@link com.ibm.mobilefirstplatform.serversdk.java.push.exception.CircuitBreakerOpenException}.
+ * After {@code openDurationMillis}, {@code halfOpenProbes} requests are let
+ * through; the circuit closes again if all of them succeed.
+ * <p>
+ * Connection failures, other I/O errors and 5xx responses count as failures.
+ *
+ */
+public final class CircuitBreakerConfig {
+
+	public static final int DEFAULT_SLIDING_WINDOW_SIZE = 50;
+	public static final int DEFAULT_MINIMUM_REQUESTS = 20;
+	public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+	public static final long DEFAULT_OPEN_DURATION_MILLIS = 30000L;
+	public static final int DEFAULT_HALF_OPEN_PROBES = 3;
+
+	private boolean enabled;
+	private int slidingWindowSize;
+	private int minimumRequests;
+	private double failureRateThreshold;
+	private long openDurationMillis;
+	private int halfOpenProbes;
+
+	public final boolean isEnabled() {
+		return enabled;
+	}
+
+	public final int getSlidingWindowSize() {
+		return slidingWindowSize;
+	}
+
+	public final int getMinimumRequests() {
+		return minimumRequests;
+	}
+
+	public final double getFailureRateThreshold() {
+		return failureRateThreshold;
+	}
+
+	public final long getOpenDurationMillis() {
+		return openDurationMillis;
+	}
+
+	public final int getHalfOpenProbes() {
+		return halfOpenProbes;
+	}
+
+	private CircuitBreakerConfig(Builder builder) {
+		this.enabled = builder.enabled;
+		this.slidingWindowSize = builder.slidingWindowSize;
+		this.minimumRequests = builder.minimumRequests;
+		this.failureRateThreshold = builder.failureRateThreshold;
+		this.openDurationMillis = builder.openDurationMillis;
+		this.halfOpenProbes = builder.halfOpenProbes;
+	}
+
+	/**
+	 *
+	 * @return a {@link CircuitBreakerConfig} with all the default values.
+	 */
+	public static CircuitBreakerConfig defaultConfig() {
+		return new Builder().build();
+	}
+
+	/**
+	 *
+	 * @return a {@link CircuitBreakerConfig} that never opens the circuit.
+	 */
+	public static CircuitBreakerConfig disabled() {
+		return new Builder().enabled(false).build();
+	}
+
+	/**
+	 *
+	 * Builder for {@link CircuitBreakerConfig}.
+	 *
+	 */
+	public static class Builder {
+
+		private boolean enabled = true;
+		private int slidingWindowSize = DEFAULT_SLIDING_WINDOW_SIZE;
+		private int minimumRequests = DEFAULT_MINIMUM_REQUESTS;
+		private double failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+		private long openDurationMillis = DEFAULT_OPEN_DURATION_MILLIS;
+		private int halfOpenProbes = DEFAULT_HALF_OPEN_PROBES;
+
+		/**
+		 *
+		 * @param enabled
+		 *            Whether requests fail fast while an endpoint is failing.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder enabled(boolean enabled) {
+			this.enabled = enabled;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param slidingWindowSize
+		 *            The number of most recent requests the failure rate is
+		 *            computed on.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder slidingWindowSize(int slidingWindowSize) {
+			this.slidingWindowSize = slidingWindowSize;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param minimumRequests
+		 *            The circuit does not open before this many requests were
+		 *            recorded.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder minimumRequests(int minimumRequests) {
+			this.minimumRequests = minimumRequests;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param failureRateThreshold
+		 *            The share of failed requests, between 0 and 1, that opens
+		 *            the circuit.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder failureRateThreshold(double failureRateThreshold) {
+			this.failureRateThreshold = failureRateThreshold;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param openDurationMillis
+		 *            How long requests fail fast before the endpoint is probed
+		 *            again.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder openDurationMillis(long openDurationMillis) {
+			this.openDurationMillis = openDurationMillis;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param halfOpenProbes
+		 *            The number of requests let through to probe the endpoint
+		 *            after the open duration.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder halfOpenProbes(int halfOpenProbes) {
+			this.halfOpenProbes = halfOpenProbes;
+			return this;
+		}
+
+		/**
+		 *
+		 * @return the {@link CircuitBreakerConfig} object.
+		 */
+		public final CircuitBreakerConfig build() {
+			if (slidingWindowSize <= 0 || minimumRequests <= 0 || minimumRequests > slidingWindowSize
+					|| !(failureRateThreshold > 0 && failureRateThreshold <= 1) || openDurationMillis <= 0
+					|| halfOpenProbes <= 0) {
+				throw new IllegalArgumentException(PushConstants.PushServerSDKExceptions.INVALID_CIRCUIT_BREAKER_CONFIG_EXCEPTION);
+			}
+			return new CircuitBreakerConfig(this);
+		}
+	}
+}
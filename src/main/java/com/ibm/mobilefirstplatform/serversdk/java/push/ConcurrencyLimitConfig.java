@@ -0,0 +1,159 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+/**
+ *
+ * Settings of the adaptive concurrency limit of a {@link PushClient}. The
+ * number of push requests in flight grows by about one per round trip while
+ * the service keeps up (additive increase), and shrinks by
+ * {@code backoffRatio} as soon as a request is answered with 429 or a 5xx
+ * status, fails to connect, or takes longer than
+ * {@code latencyThresholdMillis} (multiplicative decrease). Requests beyond
+ * the limit wait for a request in flight to complete.
+ *
+ */
+public final class ConcurrencyLimitConfig {
+
+	public static final int DEFAULT_INITIAL_LIMIT = 16;
+	public static final int DEFAULT_MIN_LIMIT = 1;
+	public static final int DEFAULT_MAX_LIMIT = 256;
+	public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+	public static final long DEFAULT_LATENCY_THRESHOLD_MILLIS = 5000L;
+
+	private int initialLimit;
+	private int minLimit;
+	private int maxLimit;
+	private double backoffRatio;
+	private long latencyThresholdMillis;
+
+	public final int getInitialLimit() {
+		return initialLimit;
+	}
+
+	public final int getMinLimit() {
+		return minLimit;
+	}
+
+	public final int getMaxLimit() {
+		return maxLimit;
+	}
+
+	public final double getBackoffRatio() {
+		return backoffRatio;
+	}
+
+	public final long getLatencyThresholdMillis() {
+		return latencyThresholdMillis;
+	}
+
+	private ConcurrencyLimitConfig(Builder builder) {
+		this.initialLimit = builder.initialLimit;
+		this.minLimit = builder.minLimit;
+		this.maxLimit = builder.maxLimit;
+		this.backoffRatio = builder.backoffRatio;
+		this.latencyThresholdMillis = builder.latencyThresholdMillis;
+	}
+
+	/**
+	 *
+	 * @return a {@link ConcurrencyLimitConfig} with all the default values.
+	 */
+	public static ConcurrencyLimitConfig defaultConfig() {
+		return new Builder().build();
+	}
+
+	/**
+	 *
+	 * Builder for {@link ConcurrencyLimitConfig}.
+	 *
+	 */
+	public static class Builder {
+
+		private int initialLimit = DEFAULT_INITIAL_LIMIT;
+		private int minLimit = DEFAULT_MIN_LIMIT;
+		private int maxLimit = DEFAULT_MAX_LIMIT;
+		private double backoffRatio = DEFAULT_BACKOFF_RATIO;
+		private long latencyThresholdMillis = DEFAULT_LATENCY_THRESHOLD_MILLIS;
+
+		/**
+		 *
+		 * @param initialLimit
+		 *            The number of requests allowed in flight before any
+		 *            response was observed.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder initialLimit(int initialLimit) {
+			this.initialLimit = initialLimit;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param minLimit
+		 *            The limit never shrinks below this.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder minLimit(int minLimit) {
+			this.minLimit = minLimit;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param maxLimit
+		 *            The limit never grows above this.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder maxLimit(int maxLimit) {
+			this.maxLimit = maxLimit;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param backoffRatio
+		 *            The limit is multiplied by this, between 0 and 1, when the
+		 *            service shows signs of overload.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder backoffRatio(double backoffRatio) {
+			this.backoffRatio = backoffRatio;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param latencyThresholdMillis
+		 *            Requests slower than this count as a sign of overload.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder latencyThresholdMillis(long latencyThresholdMillis) {
+			this.latencyThresholdMillis = latencyThresholdMillis;
+			return this;
+		}
+
+		/**
+		 *
+		 * @return the {@link ConcurrencyLimitConfig} object.
+		 */
+		public final ConcurrencyLimitConfig build() {
+			if (minLimit <= 0 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit
+					|| !(backoffRatio > 0 && backoffRatio < 1) || latencyThresholdMillis <= 0) {
+				throw new IllegalArgumentException(PushConstants.PushServerSDKExceptions.INVALID_RATE_LIMIT_CONFIG_EXCEPTION);
+			}
+			return new ConcurrencyLimitConfig(this);
+		}
+	}
+}
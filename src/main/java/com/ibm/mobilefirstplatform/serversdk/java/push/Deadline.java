@@ -0,0 +1,59 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The point in time by which a call must have completed, shared by all the
+ * steps of the call: waiting for an access token, for the rate and
+ * concurrency limits, and every attempt and retry delay.
+ */
+final class Deadline {
+
+	static final Deadline NONE = new Deadline(0);
+
+	private final long deadlineNanos;
+
+	private Deadline(long deadlineNanos) {
+		this.deadlineNanos = deadlineNanos;
+	}
+
+	/**
+	 * @param timeoutMillis
+	 *            The time left from now, or 0 or less for no deadline.
+	 */
+	static Deadline after(long timeoutMillis) {
+		if (timeoutMillis <= 0) {
+			return NONE;
+		}
+		return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+	}
+
+	boolean isBounded() {
+		return this != NONE;
+	}
+
+	/**
+	 * @return The nanoseconds left, at most 0 once expired, or
+	 *         {@link Long#MAX_VALUE} if there is no deadline.
+	 */
+	long remainingNanos() {
+		return isBounded() ? deadlineNanos - System.nanoTime() : Long.MAX_VALUE;
+	}
+
+	boolean isExpired() {
+		return remainingNanos() <= 0;
+	}
+}
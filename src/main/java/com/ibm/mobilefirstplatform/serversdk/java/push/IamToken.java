@@ -0,0 +1,73 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+/**
+ * An IAM access token for the Push Notifications service, as returned by the
+ * IAM token endpoint.
+ */
+public final class IamToken {
+
+	private final String accessToken;
+	private final String tokenType;
+	private final long expiration;
+
+	/**
+	 * @param accessToken
+	 *            The access token.
+	 * @param tokenType
+	 *            The type of the token, normally {@code Bearer}.
+	 * @param expiration
+	 *            When the token expires, in seconds since the epoch.
+	 */
+	public IamToken(String accessToken, String tokenType, long expiration) {
+		this.accessToken = accessToken;
+		this.tokenType = tokenType;
+		this.expiration = expiration;
+	}
+
+	public final String getAccessToken() {
+		return accessToken;
+	}
+
+	public final String getTokenType() {
+		return tokenType;
+	}
+
+	/**
+	 *
+	 * @return When the token expires, in seconds since the epoch.
+	 */
+	public final long getExpiration() {
+		return expiration;
+	}
+
+	/**
+	 *
+	 * @return true if the token has not expired yet.
+	 */
+	public final boolean isValid() {
+		return isValid(System.currentTimeMillis() / 1000);
+	}
+
+	final boolean isValid(long nowSeconds) {
+		return expiration - nowSeconds >= 0;
+	}
+
+	@Override
+	public String toString() {
+		// The token itself is a credential, so it is left out.
+		return "IamToken [tokenType=" + tokenType + ", expiration=" + expiration + "]";
+	}
+}
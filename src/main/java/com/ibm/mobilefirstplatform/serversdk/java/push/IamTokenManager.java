@@ -0,0 +1,256 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ibm.mobilefirstplatform.serversdk.java.push.exception.PushServerSDKException;
+import com.ibm.mobilefirstplatform.serversdk.java.push.exception.RequestTimeoutException;
+
+/**
+ * Caches the IAM access token of a {@link PushClient} and keeps it fresh.
+ * <ul>
+ * <li>Readers get the cached token with a single volatile read.</li>
+ * <li>The token is refreshed in the background {@code refreshSkewSeconds}
+ * before it expires, so sends do not wait for IAM.</li>
+ * <li>Only one refresh runs at a time; concurrent callers wait for its
+ * result instead of requesting tokens of their own.</li>
+ * <li>A token rejected by the Push Notifications service is dropped and
+ * replaced right away.</li>
+ * </ul>
+ */
+final class IamTokenManager implements Closeable {
+
+	public static final Logger logger = Logger.getLogger(IamTokenManager.class.getName());
+
+	private final TokenFetcher fetcher;
+	private final long refreshSkewSeconds;
+	private final AtomicReference<IamToken> current = new AtomicReference<IamToken>();
+	private final AtomicReference<CompletableFuture<IamToken>> inFlightRefresh = new AtomicReference<CompletableFuture<IamToken>>();
+	private final ScheduledExecutorService scheduler;
+	private ScheduledFuture<?> scheduledRefresh;
+
+	IamTokenManager(TokenFetcher fetcher, long refreshSkewSeconds) {
+		this.fetcher = fetcher;
+		this.refreshSkewSeconds = refreshSkewSeconds;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(new PushThreadFactory("push-iam-refresh"));
+	}
+
+	/**
+	 * Returns the cached token, fetching a new one first only if there is no
+	 * valid token.
+	 *
+	 * @throws PushServerSDKException
+	 *             if a token could not be fetched.
+	 */
+	String getToken() {
+		return getToken(Deadline.NONE);
+	}
+
+	/**
+	 * Like {@link #getToken()}, but waits for a new token no longer than the
+	 * deadline. The fetch then runs in the background, so it can still
+	 * complete for the next callers.
+	 *
+	 * @throws RequestTimeoutException
+	 *             if the deadline passed first.
+	 */
+	String getToken(Deadline deadline) {
+		IamToken token = current.get();
+		if (token != null && token.isValid(nowSeconds())) {
+			return token.getAccessToken();
+		}
+
+		try {
+			if (!deadline.isBounded()) {
+				return refresh().join().getAccessToken();
+			}
+			return refresh(true).get(deadline.remainingNanos(), TimeUnit.NANOSECONDS).getAccessToken();
+		} catch (CompletionException e) {
+			throw failure(e.getCause());
+		} catch (ExecutionException e) {
+			throw failure(e.getCause());
+		} catch (TimeoutException e) {
+			throw new RequestTimeoutException(PushConstants.PushServerSDKExceptions.REQUEST_TIMEOUT_EXCEPTION);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.IAM_FAILURE_EXCEPTION, e);
+		}
+	}
+
+	private static RuntimeException failure(Throwable cause) {
+		if (cause instanceof Error) {
+			throw (Error) cause;
+		}
+		if (cause instanceof RuntimeException) {
+			return (RuntimeException) cause;
+		}
+		return new PushServerSDKException(PushConstants.PushServerSDKExceptions.IAM_FAILURE_EXCEPTION, cause);
+	}
+
+	/**
+	 * Drops the given token after the service rejected it, and fetches a new
+	 * one in the background. Nothing happens if the token was already
+	 * replaced, so a burst of rejected requests causes a single refresh.
+	 *
+	 * @param rejectedToken
+	 *            The token sent with the rejected request, or null if it is
+	 *            not known.
+	 */
+	void invalidate(String rejectedToken) {
+		IamToken token = current.get();
+		if (token == null || (rejectedToken != null && !rejectedToken.equals(token.getAccessToken()))) {
+			return;
+		}
+		if (current.compareAndSet(token, null)) {
+			refresh(true);
+		}
+	}
+
+	/**
+	 * Fetches a new token on the calling thread, unless a fetch is already
+	 * running, in which case its result is returned.
+	 */
+	CompletableFuture<IamToken> refresh() {
+		return refresh(false);
+	}
+
+	private CompletableFuture<IamToken> refresh(boolean inBackground) {
+		final CompletableFuture<IamToken> refresh = new CompletableFuture<IamToken>();
+		while (!inFlightRefresh.compareAndSet(null, refresh)) {
+			CompletableFuture<IamToken> running = inFlightRefresh.get();
+			if (running != null) {
+				return running;
+			}
+		}
+
+		if (!inBackground) {
+			fetch(refresh);
+			return refresh;
+		}
+		try {
+			// The refresh is registered before it is handed over, so callers
+			// arriving in between wait for it instead of fetching themselves.
+			scheduler.execute(new Runnable() {
+				@Override
+				public void run() {
+					fetch(refresh);
+					logFailure(refresh);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// Closed; the next send fetches a token if it still needs one.
+			inFlightRefresh.set(null);
+			refresh.completeExceptionally(e);
+		}
+		return refresh;
+	}
+
+	private void fetch(CompletableFuture<IamToken> refresh) {
+		IamToken token;
+		try {
+			token = fetcher.fetch();
+			current.set(token);
+		} catch (Throwable t) {
+			// Errors too, or this refresh would be left in flight and every
+			// later caller would wait for it forever.
+			inFlightRefresh.set(null);
+			refresh.completeExceptionally(t);
+			return;
+		}
+		inFlightRefresh.set(null);
+		refresh.complete(token);
+		scheduleRefresh(token);
+	}
+
+	private void scheduledRefresh() {
+		CompletableFuture<IamToken> refresh = refresh(false);
+		if (!logFailure(refresh)) {
+			return;
+		}
+
+		// Try again while the current token is still usable; once it expires,
+		// the next send fetches a token itself.
+		IamToken token = current.get();
+		long remaining = token != null ? token.getExpiration() - nowSeconds() : 0;
+		if (remaining > 1) {
+			schedule(remaining / 2);
+		}
+	}
+
+	/**
+	 * @return true if the given completed refresh failed.
+	 */
+	private static boolean logFailure(CompletableFuture<IamToken> refresh) {
+		if (!refresh.isCompletedExceptionally()) {
+			return false;
+		}
+		try {
+			refresh.join();
+		} catch (CompletionException e) {
+			logger.log(Level.SEVERE, e.getCause().toString(), e.getCause());
+		}
+		return true;
+	}
+
+	private void scheduleRefresh(IamToken token) {
+		long remaining = token.getExpiration() - nowSeconds();
+		// Short-lived tokens are refreshed half way through their lifetime.
+		schedule(remaining > 2 * refreshSkewSeconds ? remaining - refreshSkewSeconds : remaining / 2);
+	}
+
+	private synchronized void schedule(long delaySeconds) {
+		if (scheduledRefresh != null) {
+			scheduledRefresh.cancel(false);
+		}
+		try {
+			scheduledRefresh = scheduler.schedule(new Runnable() {
+				@Override
+				public void run() {
+					scheduledRefresh();
+				}
+			}, Math.max(delaySeconds, 0), TimeUnit.SECONDS);
+		} catch (RejectedExecutionException e) {
+			scheduledRefresh = null;
+		}
+	}
+
+	private static long nowSeconds() {
+		return System.currentTimeMillis() / 1000;
+	}
+
+	@Override
+	public void close() {
+		scheduler.shutdownNow();
+	}
+
+	/**
+	 * Requests a new access token from IAM.
+	 */
+	interface TokenFetcher {
+		IamToken fetch();
+	}
+}
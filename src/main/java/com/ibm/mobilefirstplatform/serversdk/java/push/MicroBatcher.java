@@ -0,0 +1,205 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Collects single sends of a {@link PushClient} into batches sent to the bulk
+ * endpoint, as described by {@link BatchingConfig}. Full batches are sent by
+ * the thread that filled them, the others by a timer thread once the first
+ * notification has waited long enough.
+ * <p>
+ * If the service answers with a JSON array of one element per notification,
+ * each caller gets the status of the bulk response with its own element as
+ * the body; otherwise each caller gets the whole bulk response.
+ */
+final class MicroBatcher {
+
+	private static final int START_ARRAY = '[';
+	private static final int SEPARATOR = ',';
+	private static final int END_ARRAY = ']';
+
+	private final PushClient client;
+	private final BatchingConfig config;
+	private final ScheduledExecutorService scheduler;
+	private List<Pending> batch = new ArrayList<Pending>();
+	// The size of the batch once encoded, without the closing bracket.
+	private int batchBytes;
+	private ScheduledFuture<?> scheduledFlush;
+	// Also those of batches taken by a flush but not handed to the client yet.
+	private final Set<CompletableFuture<PushResult>> unanswered = Collections
+			.newSetFromMap(new ConcurrentHashMap<CompletableFuture<PushResult>, Boolean>());
+	private boolean closed;
+
+	MicroBatcher(PushClient client, BatchingConfig config) {
+		this.client = client;
+		this.config = config;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(new PushThreadFactory("push-batcher"));
+	}
+
+	/**
+	 * Adds an encoded notification to the current batch.
+	 *
+	 * @return A future completed with the part of the bulk response that
+	 *         concerns this notification.
+	 */
+	CompletableFuture<PushResult> add(byte[] notification) {
+		final Pending pending = new Pending(notification);
+		List<Pending> overflow = null;
+		List<Pending> ready = null;
+
+		synchronized (this) {
+			if (closed) {
+				return PushClient.failedFuture(new RejectedExecutionException());
+			}
+			if (!batch.isEmpty() && batchBytes + notification.length + 2 > config.getMaxBatchBytes()) {
+				overflow = take();
+			}
+			batch.add(pending);
+			unanswered.add(pending.future);
+			batchBytes += notification.length + 1;
+			if (batch.size() >= config.getMaxBatchSize()) {
+				ready = take();
+			} else if (batch.size() == 1) {
+				scheduledFlush = scheduler.schedule(new Runnable() {
+					@Override
+					public void run() {
+						flush();
+					}
+				}, config.getMaxDelayMillis(), TimeUnit.MILLISECONDS);
+			}
+		}
+
+		pending.future.whenComplete(new BiConsumer<PushResult, Throwable>() {
+			@Override
+			public void accept(PushResult result, Throwable failure) {
+				unanswered.remove(pending.future);
+			}
+		});
+
+		if (overflow != null) {
+			send(overflow);
+		}
+		if (ready != null) {
+			send(ready);
+		}
+		return pending.future;
+	}
+
+	private void flush() {
+		List<Pending> ready;
+		synchronized (this) {
+			if (batch.isEmpty()) {
+				return;
+			}
+			ready = take();
+		}
+		send(ready);
+	}
+
+	private List<Pending> take() {
+		List<Pending> taken = batch;
+		batch = new ArrayList<Pending>();
+		batchBytes = 0;
+		if (scheduledFlush != null) {
+			scheduledFlush.cancel(false);
+			scheduledFlush = null;
+		}
+		return taken;
+	}
+
+	private void send(final List<Pending> ready) {
+		if (ready.size() == 1) {
+			// Not worth a bulk request.
+			final Pending pending = ready.get(0);
+			client.sendEncodedAsync(pending.notification).whenComplete(new BiConsumer<PushResult, Throwable>() {
+				@Override
+				public void accept(PushResult result, Throwable failure) {
+					pending.complete(result, failure);
+				}
+			});
+			return;
+		}
+
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		for (Pending pending : ready) {
+			body.write(body.size() == 0 ? START_ARRAY : SEPARATOR);
+			body.write(pending.notification, 0, pending.notification.length);
+		}
+		body.write(END_ARRAY);
+
+		client.sendEncodedBulkAsync(body.toByteArray(), ready.size()).whenComplete(new BiConsumer<BulkPushResult, Throwable>() {
+			@Override
+			public void accept(BulkPushResult result, Throwable failure) {
+				fanOut(ready, result, failure);
+			}
+		});
+	}
+
+	private static void fanOut(List<Pending> ready, BulkPushResult result, Throwable failure) {
+		List<PushResult> items = result != null && result.getItems().size() == ready.size() ? result.getItems() : null;
+		for (int i = 0; i < ready.size(); i++) {
+			ready.get(i).complete(items != null ? items.get(i) : result, failure);
+		}
+	}
+
+	/**
+	 * Sends the current batch right away; later sends are rejected.
+	 *
+	 * @return A future completed once every notification added so far got
+	 *         its result.
+	 */
+	CompletableFuture<Void> close() {
+		List<Pending> ready;
+		synchronized (this) {
+			closed = true;
+			ready = take();
+		}
+		scheduler.shutdown();
+		if (!ready.isEmpty()) {
+			send(ready);
+		}
+		return CompletableFuture.allOf(unanswered.toArray(new CompletableFuture<?>[0]));
+	}
+
+	private static final class Pending {
+		private final byte[] notification;
+		private final CompletableFuture<PushResult> future = new CompletableFuture<PushResult>();
+
+		Pending(byte[] notification) {
+			this.notification = notification;
+		}
+
+		void complete(PushResult result, Throwable failure) {
+			if (failure != null) {
+				future.completeExceptionally(failure);
+			} else {
+				future.complete(result);
+			}
+		}
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+/**
+ * A {@link PushMetrics} that records nothing, the default of
+ * {@link PushClient}. Subclasses may override only the measurements they
+ * need.
+ */
+public class NoopPushMetrics implements PushMetrics {
+
+	static final NoopPushMetrics INSTANCE = new NoopPushMetrics();
+
+	@Override
+	public void callCompleted(String endpoint, int notifications, Integer statusCode, Throwable failure,
+			long durationNanos) {
+	}
+
+	@Override
+	public void requestCompleted(String endpoint, int statusCode, long requestBytes, long responseBytes,
+			long latencyNanos) {
+	}
+
+	@Override
+	public void requestFailed(String endpoint, Throwable failure, long latencyNanos) {
+	}
+
+	@Override
+	public void retryScheduled(String endpoint, long delayMillis) {
+	}
+
+	@Override
+	public void notificationEncoded(int bytes, long durationNanos) {
+	}
+
+	@Override
+	public void tokenFetched(boolean success, long durationNanos) {
+	}
+
+	@Override
+	public void bindGauges(Gauges gauges) {
+	}
+}
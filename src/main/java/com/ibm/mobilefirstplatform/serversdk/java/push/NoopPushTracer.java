@@ -0,0 +1,57 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import org.apache.http.HttpRequest;
+
+/**
+ * A {@link PushTracer} that traces nothing, the default of
+ * {@link PushClient}. Its spans are a single shared instance, so tracing
+ * costs nothing when it is not enabled.
+ */
+public class NoopPushTracer implements PushTracer {
+
+	static final NoopPushTracer INSTANCE = new NoopPushTracer();
+
+	static final Span SPAN = new NoopSpan();
+
+	@Override
+	public Span startSpan(String name) {
+		return SPAN;
+	}
+
+	private static final class NoopSpan implements Span {
+
+		@Override
+		public Span startChild(String name) {
+			return this;
+		}
+
+		@Override
+		public void setAttribute(String key, String value) {
+		}
+
+		@Override
+		public void setAttribute(String key, long value) {
+		}
+
+		@Override
+		public void injectHeaders(HttpRequest request) {
+		}
+
+		@Override
+		public void end(Throwable failure) {
+		}
+	}
+}
@@ -17,12 +17,20 @@ package com.ibm.mobilefirstplatform.serversdk.java.push;
  * IBM Cloud Push Notification service. The push notification's message that is
  * passed in the constructor is required. All other parameters are optional. Set
  * them as required.
+ * <p>
+ * The JSON of a notification is computed the first time it is sent on its
+ * own, and every later send reuses it: changes made to the arrays given to
+ * its message, target or settings after that, such as the device IDs passed
+ * to {@link Target.Builder#deviceIds(String[])}, are not seen. Build a new
+ * notification instead of modifying those arrays.
  */
 public class Notification {
 
 	private Message message;
 	private Target target;
 	private Settings settings;
+	// Encoded on first use, then sent as is by every later call.
+	private volatile byte[] encoded;
 
 	public final Message getMessage() {
 		return message;
@@ -42,6 +50,36 @@ public class Notification {
 		this.settings = builder.settings;
 	}
 
+	/**
+	 * The JSON sent to the Push Notification service for this notification.
+	 * It is computed once, so changes made to the arrays of the message, the
+	 * target or the settings after the notification was first sent are not
+	 * seen. The returned array must not be modified.
+	 */
+	final byte[] getEncoded() {
+		byte[] result = encoded;
+		if (result == null) {
+			// Concurrent first calls may encode twice, with identical results.
+			result = PushJson.toBytes(PushClient.toModel(this));
+			encoded = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Like {@link #getEncoded()}, but does not keep the JSON unless it was
+	 * already computed, so that a large bulk send does not hold on to the
+	 * body of every notification it contains.
+	 */
+	final byte[] encodeUncached() {
+		byte[] result = encoded;
+		return result != null ? result : PushJson.toBytes(PushClient.toModel(this));
+	}
+
+	final boolean isEncoded() {
+		return encoded != null;
+	}
+
 	public static class Builder {
 
 		private Message message;
@@ -0,0 +1,306 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A notification with placeholders, encoded once and rendered for each
+ * recipient by copying its invariant parts and inserting the escaped values.
+ * <p>
+ * Placeholders are written as {@code ${name}} in any string of the
+ * notification: the alert, the URL, the target, the settings or the strings
+ * of a payload. A placeholder that is the only element of an array, such as
+ * {@code deviceIds(new String[] { "${deviceIds}" })}, can be replaced by a
+ * {@code String[]} or a {@link Collection} of values; other values are
+ * inserted as strings. A template can be used by many threads at the same
+ * time.
+ *
+ * <pre>
+ * NotificationTemplate template = NotificationTemplate.compile(new Notification.Builder()
+ * 		.message(new Message.Builder().alert("Hello ${name}").build())
+ * 		.target(new Target.Builder().deviceIds(new String[] { "${deviceId}" }).build()).build());
+ * client.sendAsync(template, values);
+ * </pre>
+ */
+public final class NotificationTemplate {
+
+	private final byte[][] literals;
+	private final Placeholder[] placeholders;
+	private final int literalsLength;
+
+	private NotificationTemplate(List<byte[]> literals, List<Placeholder> placeholders) {
+		this.literals = literals.toArray(new byte[literals.size()][]);
+		this.placeholders = placeholders.toArray(new Placeholder[placeholders.size()]);
+		int length = 0;
+		for (byte[] literal : this.literals) {
+			length += literal.length;
+		}
+		this.literalsLength = length;
+	}
+
+	/**
+	 * Encodes the given notification and finds its placeholders.
+	 *
+	 * @param notification
+	 *            The notification, with placeholders in its strings.
+	 * @return The template, ready to be rendered.
+	 */
+	public static NotificationTemplate compile(Notification notification) {
+		if (notification == null) {
+			throw new IllegalArgumentException(PushConstants.PushServerSDKExceptions.NULL_NOTIFICATION_EXCEPTION);
+		}
+		byte[] json = notification.getEncoded();
+
+		List<byte[]> literals = new ArrayList<byte[]>();
+		List<Placeholder> placeholders = new ArrayList<Placeholder>();
+		int literalStart = 0;
+		boolean inString = false;
+		for (int i = 0; i < json.length; i++) {
+			byte b = json[i];
+			if (!inString) {
+				inString = b == '"';
+				continue;
+			}
+			if (b == '\\') {
+				// Skip the escaped character.
+				i++;
+				continue;
+			}
+			if (b == '"') {
+				inString = false;
+				continue;
+			}
+			if (b != '$' || i + 1 == json.length || json[i + 1] != '{') {
+				continue;
+			}
+
+			int nameEnd = i + 2;
+			while (nameEnd < json.length && isNameChar(json[nameEnd])) {
+				nameEnd++;
+			}
+			if (nameEnd == i + 2 || nameEnd == json.length || json[nameEnd] != '}') {
+				continue;
+			}
+			String name = new String(json, i + 2, nameEnd - i - 2, StandardCharsets.US_ASCII);
+
+			int start = i;
+			int end = nameEnd + 1;
+			boolean list = start >= 2 && json[start - 1] == '"' && json[start - 2] == '[' && end + 1 < json.length
+					&& json[end] == '"' && json[end + 1] == ']';
+			if (list) {
+				// The quotes are rendered with each value.
+				start--;
+				end++;
+				inString = false;
+			}
+			literals.add(Arrays.copyOfRange(json, literalStart, start));
+			placeholders.add(new Placeholder(name, list));
+			literalStart = end;
+			i = end - 1;
+		}
+		literals.add(Arrays.copyOfRange(json, literalStart, json.length));
+
+		return new NotificationTemplate(literals, placeholders);
+	}
+
+	private static boolean isNameChar(byte b) {
+		return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '_' || b == '.'
+				|| b == '-';
+	}
+
+	/**
+	 *
+	 * @return The names of the placeholders of this template.
+	 */
+	public Set<String> getPlaceholders() {
+		Set<String> names = new LinkedHashSet<String>();
+		for (Placeholder placeholder : placeholders) {
+			names.add(placeholder.name);
+		}
+		return Collections.unmodifiableSet(names);
+	}
+
+	/**
+	 * Renders the notification for one recipient.
+	 *
+	 * @param values
+	 *            The value of each placeholder.
+	 * @return The notification encoded as JSON, as sent to the service.
+	 * @throws IllegalArgumentException
+	 *             if a placeholder has no value.
+	 */
+	public byte[] render(Map<String, ?> values) {
+		Output output = new Output(literalsLength + 32 * placeholders.length);
+		for (int i = 0; i < placeholders.length; i++) {
+			output.write(literals[i]);
+
+			Placeholder placeholder = placeholders[i];
+			Object value = values.get(placeholder.name);
+			if (value == null) {
+				throw new IllegalArgumentException(
+						PushConstants.PushServerSDKExceptions.MISSING_TEMPLATE_VALUE_EXCEPTION + placeholder.name);
+			}
+			if (placeholder.list) {
+				writeList(output, value);
+			} else {
+				writeEscaped(output, String.valueOf(value));
+			}
+		}
+		output.write(literals[placeholders.length]);
+		return output.toByteArray();
+	}
+
+	/**
+	 * @throws IllegalArgumentException
+	 *             if a placeholder has no value.
+	 */
+	void checkValues(Map<String, ?> values) {
+		if (values == null) {
+			throw new IllegalArgumentException(PushConstants.PushServerSDKExceptions.NULL_NOTIFICATION_EXCEPTION);
+		}
+		for (Placeholder placeholder : placeholders) {
+			if (values.get(placeholder.name) == null) {
+				throw new IllegalArgumentException(
+						PushConstants.PushServerSDKExceptions.MISSING_TEMPLATE_VALUE_EXCEPTION + placeholder.name);
+			}
+		}
+	}
+
+	private static void writeList(Output output, Object value) {
+		Collection<?> elements;
+		if (value instanceof Object[]) {
+			elements = Arrays.asList((Object[]) value);
+		} else if (value instanceof Collection) {
+			elements = (Collection<?>) value;
+		} else {
+			elements = Collections.singletonList(value);
+		}
+
+		boolean first = true;
+		for (Object element : elements) {
+			if (!first) {
+				output.write(',');
+			}
+			output.write('"');
+			writeEscaped(output, String.valueOf(element));
+			output.write('"');
+			first = false;
+		}
+	}
+
+	/**
+	 * Writes the value as the content of a JSON string. Bytes of multi-byte
+	 * UTF-8 sequences are all above 0x7F, so they never need escaping.
+	 */
+	private static void writeEscaped(Output output, String value) {
+		byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+		int runStart = 0;
+		for (int i = 0; i < utf8.length; i++) {
+			int b = utf8[i] & 0xFF;
+			if (b >= 0x20 && b != '"' && b != '\\') {
+				continue;
+			}
+			output.write(utf8, runStart, i - runStart);
+			runStart = i + 1;
+			output.write('\\');
+			switch (b) {
+			case '"':
+			case '\\':
+				output.write(b);
+				break;
+			case '\n':
+				output.write('n');
+				break;
+			case '\r':
+				output.write('r');
+				break;
+			case '\t':
+				output.write('t');
+				break;
+			case '\b':
+				output.write('b');
+				break;
+			case '\f':
+				output.write('f');
+				break;
+			default:
+				output.write('u');
+				output.write('0');
+				output.write('0');
+				output.write(HEX[b >> 4]);
+				output.write(HEX[b & 0xF]);
+			}
+		}
+		output.write(utf8, runStart, utf8.length - runStart);
+	}
+
+	private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+	private static final class Placeholder {
+		private final String name;
+		// Replaces a whole array element, quotes included.
+		private final boolean list;
+
+		Placeholder(String name, boolean list) {
+			this.name = name;
+			this.list = list;
+		}
+	}
+
+	/**
+	 * An unsynchronized byte buffer.
+	 */
+	private static final class Output {
+		private byte[] bytes;
+		private int size;
+
+		Output(int capacity) {
+			this.bytes = new byte[capacity];
+		}
+
+		void write(int b) {
+			ensureCapacity(1);
+			bytes[size++] = (byte) b;
+		}
+
+		void write(byte[] source) {
+			write(source, 0, source.length);
+		}
+
+		void write(byte[] source, int offset, int length) {
+			ensureCapacity(length);
+			System.arraycopy(source, offset, bytes, size, length);
+			size += length;
+		}
+
+		private void ensureCapacity(int extra) {
+			if (size + extra > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+			}
+		}
+
+		byte[] toByteArray() {
+			return bytes.length == size ? bytes : Arrays.copyOf(bytes, size);
+		}
+	}
+}
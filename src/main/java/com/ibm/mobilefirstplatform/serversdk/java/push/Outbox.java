@@ -0,0 +1,366 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import com.ibm.mobilefirstplatform.serversdk.java.push.exception.PushServerSDKException;
+
+/**
+ * Write-ahead log of the notifications of a {@link PushClient} that were not
+ * accepted by the service yet, as described by {@link OutboxConfig}.
+ * <p>
+ * The log is a sequence of memory-mapped segment files, only ever appended
+ * to. Each record holds its length, a CRC32 checksum, its type, the id of its
+ * notification and, for entries, the encoded notification. An ack record
+ * marks the entry with the same id as done. When the log is opened, records
+ * are read up to the first one whose checksum does not match, which is where
+ * a crash interrupted a write; appends then go to a new segment.
+ * <p>
+ * Segments are only ever removed from the oldest end, so an ack is never
+ * removed before the entry it refers to. Once at most a quarter of the oldest
+ * segment is still pending, its pending entries are copied to the newest
+ * segment and its file is deleted.
+ */
+final class Outbox implements Closeable {
+
+	public static final Logger logger = Logger.getLogger(Outbox.class.getName());
+
+	private static final String SEGMENT_PREFIX = "segment-";
+	private static final String SEGMENT_SUFFIX = ".log";
+	private static final Pattern SEGMENT_NAME = Pattern.compile(SEGMENT_PREFIX + "\\d{20}\\" + SEGMENT_SUFFIX);
+
+	private static final byte ENTRY = 1;
+	private static final byte ACK = 2;
+	// Length, checksum, type and id.
+	private static final int HEADER_SIZE = 4 + 4 + 1 + 8;
+	private static final byte[] NO_PAYLOAD = new byte[0];
+
+	private final File directory;
+	private final int segmentSizeBytes;
+	private final boolean syncWrites;
+	private final Deque<Segment> segments = new ArrayDeque<Segment>();
+	private final Map<Long, Location> pending = new TreeMap<Long, Location>();
+	private long nextId = 1;
+	private long nextSegmentIndex;
+	private boolean closed;
+
+	private Outbox(OutboxConfig config) {
+		this.directory = config.getDirectory();
+		this.segmentSizeBytes = config.getSegmentSizeBytes();
+		this.syncWrites = config.isSyncWrites();
+	}
+
+	/**
+	 * Opens the outbox in the directory of the given config, recovering the
+	 * entries still pending.
+	 *
+	 * @throws PushServerSDKException
+	 *             if the directory could not be read.
+	 */
+	static Outbox open(OutboxConfig config) {
+		Outbox outbox = new Outbox(config);
+		try {
+			outbox.recover();
+		} catch (IOException e) {
+			logger.log(Level.SEVERE, e.toString(), e);
+			throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.OUTBOX_IO_EXCEPTION, e);
+		}
+		return outbox;
+	}
+
+	private synchronized void recover() throws IOException {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Could not create " + directory);
+		}
+		File[] files = directory.listFiles(new FilenameFilter() {
+			@Override
+			public boolean accept(File dir, String name) {
+				return SEGMENT_NAME.matcher(name).matches();
+			}
+		});
+		if (files == null) {
+			throw new IOException("Could not list " + directory);
+		}
+		// Indexes are zero-padded, so names sort in log order.
+		Arrays.sort(files);
+
+		for (File file : files) {
+			Segment segment = Segment.map(file, file.length());
+			scan(segment);
+			segments.add(segment);
+			nextSegmentIndex = segment.index + 1;
+		}
+		compact();
+	}
+
+	private void scan(Segment segment) {
+		ByteBuffer buffer = segment.buffer;
+		int position = 0;
+		while (position + HEADER_SIZE <= buffer.capacity()) {
+			int length = buffer.getInt(position);
+			byte type = buffer.get(position + 8);
+			if ((type != ENTRY && type != ACK) || length < 0 || length > buffer.capacity() - position - HEADER_SIZE
+					|| buffer.getInt(position + 4) != checksum(buffer, position, length)) {
+				// The end of the segment, or a write torn by a crash.
+				break;
+			}
+			long id = buffer.getLong(position + 9);
+			if (type == ENTRY) {
+				// An entry copied by compaction replaces the original.
+				Location location = new Location(segment, position, length);
+				segment.liveBytes += location.size();
+				forget(pending.put(id, location));
+			} else {
+				forget(pending.remove(id));
+			}
+			nextId = Math.max(nextId, id + 1);
+			position += HEADER_SIZE + length;
+		}
+		// Never append after a torn write.
+		segment.position = buffer.capacity();
+	}
+
+	/**
+	 * Records a notification.
+	 *
+	 * @return The id of its entry.
+	 * @throws PushServerSDKException
+	 *             if the entry could not be written.
+	 */
+	synchronized long append(byte[] notification) {
+		if (closed) {
+			throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.OUTBOX_IO_EXCEPTION);
+		}
+		long id = nextId++;
+		pending.put(id, write(ENTRY, id, notification));
+		return id;
+	}
+
+	/**
+	 * Marks an entry as done, so it is not sent again. Entries acknowledged
+	 * after the outbox was closed stay pending.
+	 */
+	synchronized void acknowledge(long id) {
+		if (closed) {
+			return;
+		}
+		Location location = pending.remove(id);
+		if (location == null) {
+			return;
+		}
+		forget(location);
+		write(ACK, id, NO_PAYLOAD);
+		compact();
+	}
+
+	/**
+	 * @return The ids of the pending entries, oldest first.
+	 */
+	synchronized List<Long> pendingIds() {
+		return new ArrayList<Long>(pending.keySet());
+	}
+
+	/**
+	 * @return The id of the next entry to be appended, greater than the ids
+	 *         of all the entries appended so far.
+	 */
+	synchronized long getNextId() {
+		return nextId;
+	}
+
+	/**
+	 * @return The notification of a pending entry, or null if it is done.
+	 */
+	synchronized byte[] read(long id) {
+		Location location = pending.get(id);
+		return location != null ? location.read() : null;
+	}
+
+	synchronized int size() {
+		return pending.size();
+	}
+
+	synchronized int segmentCount() {
+		return segments.size();
+	}
+
+	private Location write(byte type, long id, byte[] payload) {
+		int size = HEADER_SIZE + payload.length;
+		Segment head = segments.peekLast();
+		if (head == null || head.buffer.capacity() - head.position < size) {
+			head = roll(size);
+		}
+
+		int position = head.position;
+		MappedByteBuffer buffer = head.buffer;
+		buffer.putInt(position, payload.length);
+		buffer.put(position + 8, type);
+		buffer.putLong(position + 9, id);
+		ByteBuffer body = buffer.duplicate();
+		body.position(position + HEADER_SIZE);
+		body.put(payload);
+		buffer.putInt(position + 4, checksum(buffer, position, payload.length));
+		if (syncWrites) {
+			buffer.force();
+		}
+		head.position += size;
+
+		Location location = new Location(head, position, payload.length);
+		if (type == ENTRY) {
+			head.liveBytes += size;
+		}
+		return location;
+	}
+
+	private Segment roll(int minSize) {
+		File file = new File(directory, String.format("%s%020d%s", SEGMENT_PREFIX, nextSegmentIndex++, SEGMENT_SUFFIX));
+		try {
+			Segment segment = Segment.map(file, Math.max(segmentSizeBytes, minSize));
+			segments.add(segment);
+			return segment;
+		} catch (IOException e) {
+			logger.log(Level.SEVERE, e.toString(), e);
+			throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.OUTBOX_IO_EXCEPTION, e);
+		}
+	}
+
+	/**
+	 * Removes old segments that are mostly done, copying their pending
+	 * entries to the newest segment first.
+	 */
+	private void compact() {
+		while (segments.size() > 1) {
+			Segment oldest = segments.peekFirst();
+			if (oldest.liveBytes > oldest.buffer.capacity() / 4) {
+				return;
+			}
+			if (oldest.liveBytes > 0) {
+				for (Map.Entry<Long, Location> entry : pending.entrySet()) {
+					Location location = entry.getValue();
+					if (location.segment == oldest) {
+						forget(location);
+						entry.setValue(write(ENTRY, entry.getKey(), location.read()));
+					}
+				}
+			}
+			segments.removeFirst();
+			if (!oldest.file.delete()) {
+				logger.log(Level.WARNING, "Could not delete " + oldest.file);
+			}
+		}
+	}
+
+	private static void forget(Location location) {
+		if (location != null) {
+			location.segment.liveBytes -= location.size();
+		}
+	}
+
+	/**
+	 * The checksum of the type, id and payload of the record at the given
+	 * position.
+	 */
+	private static int checksum(ByteBuffer buffer, int position, int length) {
+		ByteBuffer covered = buffer.duplicate();
+		covered.limit(position + HEADER_SIZE + length);
+		covered.position(position + 8);
+		CRC32 crc = new CRC32();
+		crc.update(covered);
+		return (int) crc.getValue();
+	}
+
+	/**
+	 * Flushes the segments; further appends fail.
+	 */
+	@Override
+	public synchronized void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		for (Segment segment : segments) {
+			segment.buffer.force();
+		}
+	}
+
+	private static final class Segment {
+		private final File file;
+		private final long index;
+		private final MappedByteBuffer buffer;
+		private int position;
+		private long liveBytes;
+
+		private Segment(File file, long index, MappedByteBuffer buffer) {
+			this.file = file;
+			this.index = index;
+			this.buffer = buffer;
+		}
+
+		static Segment map(File file, long size) throws IOException {
+			String name = file.getName();
+			long index = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+			RandomAccessFile raf = new RandomAccessFile(file, "rw");
+			try {
+				raf.setLength(size);
+				// The mapping stays valid once the file is closed.
+				return new Segment(file, index, raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size));
+			} finally {
+				raf.close();
+			}
+		}
+	}
+
+	private static final class Location {
+		private final Segment segment;
+		private final int position;
+		private final int length;
+
+		Location(Segment segment, int position, int length) {
+			this.segment = segment;
+			this.position = position;
+			this.length = length;
+		}
+
+		int size() {
+			return HEADER_SIZE + length;
+		}
+
+		byte[] read() {
+			byte[] payload = new byte[length];
+			ByteBuffer body = segment.buffer.duplicate();
+			body.position(position + HEADER_SIZE);
+			body.get(payload);
+			return payload;
+		}
+	}
+}
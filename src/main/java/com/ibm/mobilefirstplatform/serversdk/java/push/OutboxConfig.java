@@ -0,0 +1,133 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.io.File;
+
+/**
+ *
+ * Settings of the durable outbox of a {@link PushClient}. Notifications
+ * passed to {@link PushClient#enqueue(Notification)} are written to segment
+ * files in {@code directory} before they are sent, and are sent again every
+ * {@code redeliveryIntervalMillis}, and after a restart, until the service
+ * accepts them.
+ *
+ */
+public final class OutboxConfig {
+
+	public static final int DEFAULT_SEGMENT_SIZE_BYTES = 16 * 1024 * 1024;
+	public static final long DEFAULT_REDELIVERY_INTERVAL_MILLIS = 30000L;
+
+	private File directory;
+	private int segmentSizeBytes;
+	private boolean syncWrites;
+	private long redeliveryIntervalMillis;
+
+	public final File getDirectory() {
+		return directory;
+	}
+
+	public final int getSegmentSizeBytes() {
+		return segmentSizeBytes;
+	}
+
+	public final boolean isSyncWrites() {
+		return syncWrites;
+	}
+
+	public final long getRedeliveryIntervalMillis() {
+		return redeliveryIntervalMillis;
+	}
+
+	private OutboxConfig(Builder builder) {
+		this.directory = builder.directory;
+		this.segmentSizeBytes = builder.segmentSizeBytes;
+		this.syncWrites = builder.syncWrites;
+		this.redeliveryIntervalMillis = builder.redeliveryIntervalMillis;
+	}
+
+	/**
+	 *
+	 * Builder for {@link OutboxConfig}.
+	 *
+	 */
+	public static class Builder {
+
+		private File directory;
+		private int segmentSizeBytes = DEFAULT_SEGMENT_SIZE_BYTES;
+		private boolean syncWrites = true;
+		private long redeliveryIntervalMillis = DEFAULT_REDELIVERY_INTERVAL_MILLIS;
+
+		/**
+		 *
+		 * @param directory
+		 *            Where the segment files are kept. It is created if
+		 *            needed, and must not be shared with another client.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder directory(File directory) {
+			this.directory = directory;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param segmentSizeBytes
+		 *            The size of each segment file. Larger notifications get a
+		 *            segment of their own.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder segmentSizeBytes(int segmentSizeBytes) {
+			this.segmentSizeBytes = segmentSizeBytes;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param syncWrites
+		 *            Whether each write is flushed to the disk before
+		 *            {@link PushClient#enqueue(Notification)} returns. Without
+		 *            it, notifications survive a crash of the JVM but not
+		 *            one of the operating system.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder syncWrites(boolean syncWrites) {
+			this.syncWrites = syncWrites;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param redeliveryIntervalMillis
+		 *            How often the notifications not accepted yet are sent
+		 *            again.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder redeliveryIntervalMillis(long redeliveryIntervalMillis) {
+			this.redeliveryIntervalMillis = redeliveryIntervalMillis;
+			return this;
+		}
+
+		/**
+		 *
+		 * @return the {@link OutboxConfig} object.
+		 */
+		public final OutboxConfig build() {
+			if (directory == null || segmentSizeBytes <= 0 || redeliveryIntervalMillis <= 0) {
+				throw new IllegalArgumentException(PushConstants.PushServerSDKExceptions.INVALID_OUTBOX_CONFIG_EXCEPTION);
+			}
+			return new OutboxConfig(this);
+		}
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.http.HttpStatus;
+
+/**
+ * Sends the entries of an {@link Outbox} through a {@link PushClient} and
+ * acknowledges them once the service accepted them. Pending entries left by a
+ * previous run are sent right away, and entries that are still pending one
+ * interval after they were appended are sent again periodically; an entry is
+ * never sent twice at the same time.
+ */
+final class OutboxRelay implements Closeable {
+
+	public static final Logger logger = Logger.getLogger(OutboxRelay.class.getName());
+
+	private final PushClient client;
+	private final Outbox outbox;
+	private final ConcurrentMap<Long, CompletableFuture<PushResult>> inFlight = new ConcurrentHashMap<Long, CompletableFuture<PushResult>>();
+	private final ScheduledExecutorService scheduler;
+	// Entries from this id on were appended since the previous pass, and were
+	// just sent by enqueue(). Only accessed by the scheduler thread.
+	private long horizon;
+
+	OutboxRelay(PushClient client, Outbox outbox, long redeliveryIntervalMillis) {
+		this.client = client;
+		this.outbox = outbox;
+		this.horizon = outbox.getNextId();
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(new PushThreadFactory("push-outbox"));
+		this.scheduler.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				redeliver();
+			}
+		}, 0, redeliveryIntervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	final Outbox getOutbox() {
+		return outbox;
+	}
+
+	/**
+	 * Records the notification, then sends it.
+	 *
+	 * @return A future completed with the outcome of the first attempt.
+	 */
+	CompletableFuture<PushResult> enqueue(byte[] notification) {
+		return deliver(outbox.append(notification), notification);
+	}
+
+	private void redeliver() {
+		try {
+			long end = horizon;
+			horizon = outbox.getNextId();
+			for (Long id : outbox.pendingIds()) {
+				if (id >= end) {
+					// Ids are in ascending order.
+					break;
+				}
+				if (inFlight.containsKey(id)) {
+					continue;
+				}
+				byte[] notification = outbox.read(id);
+				if (notification != null) {
+					deliver(id, notification);
+				}
+			}
+		} catch (RuntimeException e) {
+			// Thrown out of the task, it would cancel the next runs.
+			logger.log(Level.SEVERE, e.toString(), e);
+		}
+	}
+
+	/**
+	 * Sends the entry, unless it is already being sent.
+	 *
+	 * @return A future completed once the entry was acknowledged, if it is
+	 *         done, with the outcome of the attempt.
+	 */
+	private CompletableFuture<PushResult> deliver(final long id, byte[] notification) {
+		final CompletableFuture<PushResult> attempt = new CompletableFuture<PushResult>();
+		CompletableFuture<PushResult> running = inFlight.putIfAbsent(id, attempt);
+		if (running != null) {
+			return running;
+		}
+
+		client.sendEncodedAsync(notification).whenComplete(new BiConsumer<PushResult, Throwable>() {
+			@Override
+			public void accept(PushResult result, Throwable failure) {
+				try {
+					if (result != null && isDone(result)) {
+						outbox.acknowledge(id);
+					}
+				} catch (RuntimeException e) {
+					logger.log(Level.SEVERE, e.toString(), e);
+				} finally {
+					inFlight.remove(id, attempt);
+				}
+				if (failure != null) {
+					attempt.completeExceptionally(failure);
+				} else {
+					attempt.complete(result);
+				}
+			}
+		});
+		return attempt;
+	}
+
+	/**
+	 * @return true if sending the notification again would not change the
+	 *         outcome.
+	 */
+	private static boolean isDone(PushResult result) {
+		if (result.isSuccess()) {
+			return true;
+		}
+		Integer statusCode = result.getStatusCode();
+		if (statusCode == null || statusCode < HttpStatus.SC_BAD_REQUEST || statusCode >= HttpStatus.SC_INTERNAL_SERVER_ERROR
+				|| statusCode == HttpStatus.SC_UNAUTHORIZED || statusCode == HttpStatus.SC_REQUEST_TIMEOUT
+				|| statusCode == 429) {
+			return false;
+		}
+		logger.log(Level.SEVERE, "Dropping a notification rejected by the service: " + result);
+		return true;
+	}
+
+	/**
+	 * Stops sending; entries not acknowledged yet are sent again once the
+	 * outbox is opened by a new client.
+	 */
+	@Override
+	public void close() {
+		scheduler.shutdownNow();
+		outbox.close();
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
+
+import com.ibm.mobilefirstplatform.serversdk.java.push.exception.PushServerSDKException;
+
+/**
+ * Non-blocking HTTP client for the Push Notifications service, built on
+ * Apache HttpAsyncClient. Requests are multiplexed over a small, fixed number
+ * of I/O dispatcher threads, so thousands of notifications can be in flight
+ * without a thread waiting on each of them. Call {@link #close()} to stop the
+ * I/O reactor and release the pooled connections.
+ */
+public final class PushAsyncHttpClient implements PushTransport {
+
+	public static final Logger logger = Logger.getLogger(PushAsyncHttpClient.class.getName());
+
+	private final PushHttpClientConfig config;
+	private final PoolingNHttpClientConnectionManager connectionManager;
+	private final CloseableHttpAsyncClient httpClient;
+	private final ScheduledExecutorService connectionEvictor;
+
+	public PushAsyncHttpClient() {
+		this(PushHttpClientConfig.defaultConfig());
+	}
+
+	public PushAsyncHttpClient(PushHttpClientConfig config) {
+		this.config = config != null ? config : PushHttpClientConfig.defaultConfig();
+		this.connectionManager = createConnectionManager(this.config);
+		this.connectionManager.setMaxTotal(this.config.getMaxTotalConnections());
+		this.connectionManager.setDefaultMaxPerRoute(this.config.getMaxConnectionsPerRoute());
+
+		this.httpClient = HttpAsyncClients.custom().setConnectionManager(connectionManager)
+				.setKeepAliveStrategy(PushHttpClient.createKeepAliveStrategy(this.config.getKeepAliveMillis()))
+				.setDefaultRequestConfig(PushHttpClient.createRequestConfig(this.config))
+				.setThreadFactory(new PushThreadFactory("push-io"))
+				.build();
+		this.httpClient.start();
+
+		// HttpAsyncClient has no built-in evictor, so expired and idle
+		// connections are closed periodically here instead.
+		final long idleTimeout = this.config.getIdleConnectionTimeoutMillis();
+		this.connectionEvictor = Executors.newSingleThreadScheduledExecutor(new PushThreadFactory("push-io-evictor"));
+		this.connectionEvictor.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				connectionManager.closeExpiredConnections();
+				connectionManager.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+			}
+		}, idleTimeout, idleTimeout, TimeUnit.MILLISECONDS);
+	}
+
+	public final PushHttpClientConfig getConfig() {
+		return config;
+	}
+
+	final PoolingNHttpClientConnectionManager getConnectionManager() {
+		return connectionManager;
+	}
+
+	private static PoolingNHttpClientConnectionManager createConnectionManager(PushHttpClientConfig config) {
+		Registry<SchemeIOSessionStrategy> registry = RegistryBuilder.<SchemeIOSessionStrategy> create()
+				.register("http", NoopIOSessionStrategy.INSTANCE)
+				.register("https", new SSLIOSessionStrategy(PushHttpClient.createSSLContext()))
+				.build();
+		IOReactorConfig reactorConfig = IOReactorConfig.custom().setIoThreadCount(config.getIoThreadCount()).build();
+		try {
+			return new PoolingNHttpClientConnectionManager(
+					new DefaultConnectingIOReactor(reactorConfig, new PushThreadFactory("push-io-dispatcher")), registry);
+		} catch (IOReactorException e) {
+			logger.log(Level.SEVERE, e.toString(), e);
+			throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.HTTP_CLIENT_INIT_EXCEPTION, e);
+		}
+	}
+
+	/**
+	 * Starts the request and returns immediately; the future is completed on
+	 * an I/O dispatcher thread once the whole response has been received.
+	 */
+	@Override
+	public CompletableFuture<HttpResponse> execute(HttpUriRequest request) {
+		final CompletableFuture<HttpResponse> future = new CompletableFuture<HttpResponse>();
+		try {
+			httpClient.execute(request, new FutureCallback<HttpResponse>() {
+				@Override
+				public void completed(HttpResponse response) {
+					future.complete(response);
+				}
+
+				@Override
+				public void failed(Exception e) {
+					future.completeExceptionally(e);
+				}
+
+				@Override
+				public void cancelled() {
+					future.completeExceptionally(new CancellationException());
+				}
+			});
+		} catch (RuntimeException e) {
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	@Override
+	public boolean isNonBlocking() {
+		return true;
+	}
+
+	@Override
+	public void close() {
+		connectionEvictor.shutdownNow();
+		try {
+			httpClient.close();
+		} catch (IOException e) {
+			logger.log(Level.SEVERE, e.toString(), e);
+		}
+	}
+}
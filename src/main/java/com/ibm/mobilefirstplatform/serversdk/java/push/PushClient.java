@@ -0,0 +1,1614 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.http.Header;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.util.EntityUtils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.ibm.mobilefirstplatform.serversdk.java.push.exception.CircuitBreakerOpenException;
+import com.ibm.mobilefirstplatform.serversdk.java.push.exception.PushServerSDKException;
+import com.ibm.mobilefirstplatform.serversdk.java.push.exception.RequestTimeoutException;
+
+/**
+ * A client of the Push Notification service for a single tenant and region.
+ * The configuration is fixed when the client is built, so one instance can be
+ * shared by many threads, and several instances can be used side by side to
+ * talk to different tenants or regions. Call {@link #close()} when the client
+ * is no longer needed to release its pooled connections.
+ */
+public class PushClient implements Closeable {
+
+	public static final Logger logger = Logger.getLogger(PushClient.class.getName());
+
+	public static final int DEFAULT_MAX_IN_FLIGHT_REQUESTS = 64;
+	public static final long DEFAULT_TOKEN_REFRESH_SKEW_SECONDS = 300;
+	public static final long DEFAULT_REQUEST_TIMEOUT_MILLIS = 60000L;
+
+	private static final String ENDPOINT_ATTRIBUTE = "push.endpoint";
+	private static final String NOTIFICATIONS_ATTRIBUTE = "push.notifications";
+
+	private final String tenantId;
+	private final String pushSecret;
+	private final String apiKey;
+	private final String pushMessageEndpointURL;
+	private final String iamTokenURL;
+	private final PushTransport transport;
+	private final boolean ownsTransport;
+	private final RequestExecutor requestExecutor;
+	private final ExecutorService asyncExecutor;
+	private final boolean ownsAsyncExecutor;
+	private final int maxInFlightRequests;
+	private final Semaphore inFlightRequests;
+	private final BulkDispatchConfig bulkDispatchConfig;
+	private final long requestTimeoutMillis;
+	private final MicroBatcher batcher;
+	private final OutboxRelay outboxRelay;
+	private final PushMetrics metrics;
+	private final ClientGauges gauges;
+	private final PushTracer tracer;
+
+	private final IamTokenManager tokenManager;
+
+	private PushClient(Builder builder) {
+		this.tenantId = builder.tenantId;
+		this.pushSecret = builder.pushSecret;
+		this.apiKey = builder.apiKey;
+
+		if (builder.serverHost != null) {
+			this.pushMessageEndpointURL = builder.serverHost + PushConstants.URL + tenantId + PushConstants.API;
+		} else {
+			this.pushMessageEndpointURL = "https://" + builder.region + PushConstants.HOST + PushConstants.URL + tenantId
+					+ PushConstants.API;
+		}
+
+		if (builder.iamServerHost != null) {
+			this.iamTokenURL = builder.iamServerHost + PushConstants.IAM_TOKEN_PATH;
+		} else if (builder.serverHost != null) {
+			this.iamTokenURL = PushConstants.IAM_URI_TEST + PushConstants.IAM_TOKEN_PATH;
+		} else {
+			this.iamTokenURL = PushConstants.IAM_URI + PushConstants.IAM_TOKEN_PATH;
+		}
+
+		if (builder.transport != null) {
+			this.transport = builder.transport;
+			this.ownsTransport = false;
+		} else if (builder.http2) {
+			this.transport = new PushHttp2Client(builder.httpClientConfig);
+			this.ownsTransport = true;
+		} else if (builder.nonBlocking) {
+			this.transport = new PushAsyncHttpClient(builder.httpClientConfig);
+			this.ownsTransport = true;
+		} else {
+			this.transport = new PushHttpClient(builder.httpClientConfig);
+			this.ownsTransport = true;
+		}
+
+		this.metrics = builder.metrics != null ? builder.metrics : NoopPushMetrics.INSTANCE;
+		this.tracer = builder.tracer != null ? builder.tracer : NoopPushTracer.INSTANCE;
+		this.requestExecutor = new RequestExecutor(transport,
+				builder.retryPolicy != null ? builder.retryPolicy : RetryPolicy.defaultPolicy(), builder.rateLimitConfig,
+				builder.concurrencyLimitConfig,
+				builder.circuitBreakerConfig != null ? builder.circuitBreakerConfig : CircuitBreakerConfig.defaultConfig(),
+				metrics);
+
+		if (builder.asyncExecutor != null) {
+			this.asyncExecutor = builder.asyncExecutor;
+			this.ownsAsyncExecutor = false;
+		} else {
+			this.asyncExecutor = Executors.newFixedThreadPool(builder.maxInFlightRequests,
+					new PushThreadFactory("push-async"));
+			this.ownsAsyncExecutor = true;
+		}
+		this.maxInFlightRequests = builder.maxInFlightRequests;
+		this.inFlightRequests = new Semaphore(builder.maxInFlightRequests);
+		this.bulkDispatchConfig = builder.bulkDispatchConfig != null ? builder.bulkDispatchConfig
+				: BulkDispatchConfig.defaultConfig();
+		this.requestTimeoutMillis = builder.requestTimeoutMillis;
+		this.batcher = builder.batchingConfig != null ? new MicroBatcher(this, builder.batchingConfig) : null;
+
+		if (apiKey != null) {
+			this.tokenManager = new IamTokenManager(new IamTokenManager.TokenFetcher() {
+				@Override
+				public IamToken fetch() {
+					return fetchIamToken();
+				}
+			}, builder.tokenRefreshSkewSeconds);
+		} else {
+			this.tokenManager = null;
+		}
+
+		// Kept here, as metrics libraries may only hold a weak reference.
+		this.gauges = new ClientGauges();
+		metrics.bindGauges(gauges);
+
+		// Started last, as it may replay pending notifications right away.
+		this.outboxRelay = builder.outboxConfig != null
+				? new OutboxRelay(this, Outbox.open(builder.outboxConfig), builder.outboxConfig.getRedeliveryIntervalMillis())
+				: null;
+	}
+
+	public final String getTenantId() {
+		return tenantId;
+	}
+
+	public final String getPushMessageEndpointURL() {
+		return pushMessageEndpointURL;
+	}
+
+	final String getPushSecret() {
+		return pushSecret;
+	}
+
+	public final PushTransport getTransport() {
+		return transport;
+	}
+
+	final Outbox getOutbox() {
+		return outboxRelay != null ? outboxRelay.getOutbox() : null;
+	}
+
+	/**
+	 * Send the given push notification, as configured, to devices using the
+	 * Push Notification service. With {@link Builder#batchingConfig} this
+	 * method returns as soon as the notification is added to a batch, and the
+	 * listener is called once the batch was sent.
+	 *
+	 * @param notification
+	 *            The push notification to be sent.
+	 * @param listener
+	 *            Optional PushNotificationsResponseListener to listen to the
+	 *            result of this operation.
+	 */
+	public void send(Notification notification, final PushNotificationsResponseListener listener) {
+		if (batcher == null || notification == null) {
+			send(notification, listener, requestTimeoutMillis);
+			return;
+		}
+
+		batcher.add(encode(notification, NoopPushTracer.SPAN)).whenComplete(new BiConsumer<PushResult, Throwable>() {
+			@Override
+			public void accept(PushResult result, Throwable failure) {
+				if (listener == null) {
+					return;
+				}
+				if (failure != null) {
+					listener.onFailure(null, null, failure);
+				} else if (result.isAccepted()) {
+					listener.onSuccess(result.getStatusCode(), result.getResponseBody());
+				} else {
+					listener.onFailure(result.getStatusCode(), result.getResponseBody(), null);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Send the given push notification like
+	 * {@link #send(Notification, PushNotificationsResponseListener)}, failing
+	 * with a {@link RequestTimeoutException} if it takes longer than the given
+	 * timeout, including the time spent waiting for an access token and
+	 * between retries. The notification is never batched.
+	 *
+	 * @param notification
+	 *            The push notification to be sent.
+	 * @param listener
+	 *            Optional PushNotificationsResponseListener to listen to the
+	 *            result of this operation.
+	 * @param timeoutMillis
+	 *            The timeout of this call, or 0 for none.
+	 */
+	public void send(Notification notification, PushNotificationsResponseListener listener, long timeoutMillis) {
+		if (notification == null) {
+			Throwable exception = new IllegalArgumentException(PushConstants.PushServerSDKExceptions.NULL_NOTIFICATION_EXCEPTION);
+			logger.log(Level.SEVERE, exception.toString(), exception);
+			if (listener != null) {
+				listener.onFailure(null, null, exception);
+			}
+			return;
+		}
+
+		long start = System.nanoTime();
+		PushTracer.Span span = startSendSpan(RequestExecutor.Endpoint.MESSAGES, 1);
+		Deadline deadline = Deadline.after(timeoutMillis);
+		HttpPost pushPost;
+		try {
+			pushPost = createPushPostRequest(encode(notification, span), listener, deadline, span);
+		} catch (RuntimeException e) {
+			span.end(e);
+			throw e;
+		}
+
+		executePushPostRequest(pushPost, transport, listener, deadline, 1, start, span);
+	}
+
+	/**
+	 * Send the given push notifications in a single request to the bulk
+	 * endpoint of the Push Notification service.
+	 *
+	 * @param notifications
+	 *            The push notifications to be sent.
+	 * @param listener
+	 *            Optional PushNotificationsResponseListener to listen to the
+	 *            result of this operation.
+	 */
+	public void sendBulk(Notification[] notifications, PushNotificationsResponseListener listener) {
+		sendBulk(notifications, listener, requestTimeoutMillis);
+	}
+
+	/**
+	 * Send the given push notifications like
+	 * {@link #sendBulk(Notification[], PushNotificationsResponseListener)},
+	 * failing with a {@link RequestTimeoutException} if it takes longer than
+	 * the given timeout, including the time spent waiting for an access token
+	 * and between retries.
+	 *
+	 * @param notifications
+	 *            The push notifications to be sent.
+	 * @param listener
+	 *            Optional PushNotificationsResponseListener to listen to the
+	 *            result of this operation.
+	 * @param timeoutMillis
+	 *            The timeout of this call, or 0 for none.
+	 */
+	public void sendBulk(Notification[] notifications, PushNotificationsResponseListener listener,
+			long timeoutMillis) {
+		if (notifications == null || notifications.length == 0) {
+			Throwable exception = new IllegalArgumentException(PushConstants.PushServerSDKExceptions.NULL_NOTIFICATION_EXCEPTION);
+			logger.log(Level.SEVERE, exception.toString(), exception);
+			if (listener != null) {
+				listener.onFailure(null, null, exception);
+			}
+			return;
+		}
+
+		long start = System.nanoTime();
+		PushTracer.Span span = startSendSpan(RequestExecutor.Endpoint.BULK, notifications.length);
+		Deadline deadline = Deadline.after(timeoutMillis);
+		HttpPost pushPost;
+		try {
+			pushPost = createBulkPushPostRequest(encodedElements(notifications), listener, deadline, span);
+		} catch (RuntimeException e) {
+			span.end(e);
+			throw e;
+		}
+
+		executePushPostRequest(pushPost, transport, listener, deadline, notifications.length, start, span);
+	}
+
+	/**
+	 * Send the given push notification without blocking the caller. With a
+	 * blocking transport the request runs on the executor of this client;
+	 * with a non-blocking one it is handed to the transport directly. When
+	 * {@link Builder#maxInFlightRequests(int)} requests are already in flight,
+	 * this method blocks until one of them completes. With
+	 * {@link Builder#batchingConfig} the notification is sent in a batch.
+	 *
+	 * @param notification
+	 *            The push notification to be sent.
+	 * @return A future completed with the response of the service, whatever
+	 *         its status code, or completed exceptionally if no response could
+	 *         be received.
+	 */
+	public CompletableFuture<PushResult> sendAsync(Notification notification) {
+		if (batcher != null && notification != null) {
+			return batcher.add(encode(notification, NoopPushTracer.SPAN));
+		}
+		return sendAsync(notification, requestTimeoutMillis);
+	}
+
+	/**
+	 * Send the given push notification like {@link #sendAsync(Notification)},
+	 * failing the future with a {@link RequestTimeoutException} if it takes
+	 * longer than the given timeout, including the time spent waiting for an
+	 * in-flight slot, for an access token and between retries. The
+	 * notification is never batched.
+	 *
+	 * @param notification
+	 *            The push notification to be sent.
+	 * @param timeoutMillis
+	 *            The timeout of this call, or 0 for none.
+	 * @return A future completed with the response of the service, whatever
+	 *         its status code, or completed exceptionally if no response could
+	 *         be received in time.
+	 */
+	public CompletableFuture<PushResult> sendAsync(final Notification notification, long timeoutMillis) {
+		if (notification == null) {
+			return failedFuture(new IllegalArgumentException(PushConstants.PushServerSDKExceptions.NULL_NOTIFICATION_EXCEPTION));
+		}
+
+		final Deadline deadline = Deadline.after(timeoutMillis);
+		final PushTracer.Span span = startSendSpan(RequestExecutor.Endpoint.MESSAGES, 1);
+		return submit(new Callable<HttpPost>() {
+			@Override
+			public HttpPost call() {
+				return createPushPostRequest(encode(notification, span), null, deadline, span);
+			}
+		}, RequestExecutor.Endpoint.MESSAGES, 1, deadline, span, PushResult.class);
+	}
+
+	/**
+	 * Send the given push notifications in a single bulk request without
+	 * blocking the caller, with the same in-flight limit as
+	 * {@link #sendAsync(Notification)}.
+	 *
+	 * @param notifications
+	 *            The push notifications to be sent.
+	 * @return A future completed with the response of the service, whatever
+	 *         its status code, broken down per notification, or completed
+	 *         exceptionally if no response could be received.
+	 */
+	public CompletableFuture<BulkPushResult> sendBulkAsync(Notification[] notifications) {
+		return sendBulkAsync(notifications, requestTimeoutMillis);
+	}
+
+	/**
+	 * Send the given push notifications like
+	 * {@link #sendBulkAsync(Notification[])}, failing the future with a
+	 * {@link RequestTimeoutException} if it takes longer than the given
+	 * timeout, including the time spent waiting for an in-flight slot, for an
+	 * access token and between retries.
+	 *
+	 * @param notifications
+	 *            The push notifications to be sent.
+	 * @param timeoutMillis
+	 *            The timeout of this call, or 0 for none.
+	 * @return A future completed with the response of the service, whatever
+	 *         its status code, broken down per notification, or completed
+	 *         exceptionally if no response could be received in time.
+	 */
+	public CompletableFuture<BulkPushResult> sendBulkAsync(final Notification[] notifications, long timeoutMillis) {
+		if (notifications == null || notifications.length == 0) {
+			return failedFuture(new IllegalArgumentException(PushConstants.PushServerSDKExceptions.NULL_NOTIFICATION_EXCEPTION));
+		}
+
+		final Deadline deadline = Deadline.after(timeoutMillis);
+		final PushTracer.Span span = startSendSpan(RequestExecutor.Endpoint.BULK, notifications.length);
+		return submit(new Callable<HttpPost>() {
+			@Override
+			public HttpPost call() {
+				return createBulkPushPostRequest(encodedElements(notifications), null, deadline, span);
+			}
+		}, RequestExecutor.Endpoint.BULK, notifications.length, deadline, span, BulkPushResult.class);
+	}
+
+	/**
+	 * Record the given push notification in the outbox of this client, then
+	 * send it without blocking the caller. Unless the service accepts it, or
+	 * rejects it as invalid, it is sent again periodically, also by the next
+	 * client opened on the same outbox after a restart. It may therefore be
+	 * delivered more than once.
+	 *
+	 * @param notification
+	 *            The push notification to be sent.
+	 * @return A future completed with the outcome of the first attempt.
+	 * @throws PushServerSDKException
+	 *             if this client has no outbox, or the notification could not
+	 *             be recorded.
+	 */
+	public CompletableFuture<PushResult> enqueue(Notification notification) {
+		if (outboxRelay == null) {
+			throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.OUTBOX_NOT_CONFIGURED_EXCEPTION);
+		}
+		if (notification == null) {
+			return failedFuture(new IllegalArgumentException(PushConstants.PushServerSDKExceptions.NULL_NOTIFICATION_EXCEPTION));
+		}
+
+		return outboxRelay.enqueue(encode(notification, NoopPushTracer.SPAN));
+	}
+
+	/**
+	 * Send the given push notifications in as many bulk requests as needed to
+	 * stay within the limits of the {@link BulkDispatchConfig} of this client,
+	 * several of them at the same time. This method blocks until every bulk
+	 * request has completed.
+	 *
+	 * @param notifications
+	 *            The push notifications to be sent.
+	 * @return The outcome of each bulk request.
+	 */
+	public BulkDispatchReport dispatchBulk(Notification[] notifications) {
+		return dispatchBulk(notifications, null);
+	}
+
+	/**
+	 * Send the given push notifications like
+	 * {@link #dispatchBulk(Notification[])}, within the given timeout for
+	 * the whole dispatch. The bulk requests that are not answered in time,
+	 * or are not sent before it expires, fail with a
+	 * {@link RequestTimeoutException}.
+	 *
+	 * @param notifications
+	 *            The push notifications to be sent.
+	 * @param timeoutMillis
+	 *            The timeout of this call, or 0 for none.
+	 * @return The outcome of each bulk request.
+	 */
+	public BulkDispatchReport dispatchBulk(Notification[] notifications, long timeoutMillis) {
+		return dispatchBulk(notifications, Deadline.after(timeoutMillis));
+	}
+
+	/**
+	 * @param deadline
+	 *            The deadline of the whole dispatch, or null to give each
+	 *            bulk request the timeout of this client.
+	 */
+	private BulkDispatchReport dispatchBulk(Notification[] notifications, Deadline deadline) {
+		if (notifications == null || notifications.length == 0) {
+			throw new IllegalArgumentException(PushConstants.PushServerSDKExceptions.NULL_NOTIFICATION_EXCEPTION);
+		}
+		for (Notification notification : notifications) {
+			if (notification == null) {
+				throw new IllegalArgumentException(PushConstants.PushServerSDKExceptions.NULL_NOTIFICATION_EXCEPTION);
+			}
+		}
+
+		return new BulkDispatcher(this, bulkDispatchConfig, encodedElements(notifications), deadline).dispatch();
+	}
+
+	/**
+	 * Render the given template and send it without blocking the caller, like
+	 * {@link #sendAsync(Notification)}.
+	 *
+	 * @param template
+	 *            The template of the push notification.
+	 * @param values
+	 *            The value of each placeholder of the template.
+	 * @return A future completed with the response of the service.
+	 */
+	public CompletableFuture<PushResult> sendAsync(NotificationTemplate template, Map<String, ?> values) {
+		return sendAsync(template, values, requestTimeoutMillis);
+	}
+
+	/**
+	 * Render the given template and send it like
+	 * {@link #sendAsync(NotificationTemplate, Map)}, failing the future with a
+	 * {@link RequestTimeoutException} if it takes longer than the given
+	 * timeout.
+	 *
+	 * @param template
+	 *            The template of the push notification.
+	 * @param values
+	 *            The value of each placeholder of the template.
+	 * @param timeoutMillis
+	 *            The timeout of this call, or 0 for none.
+	 * @return A future completed with the response of the service.
+	 */
+	public CompletableFuture<PushResult> sendAsync(NotificationTemplate template, Map<String, ?> values,
+			long timeoutMillis) {
+		if (template == null || values == null) {
+			return failedFuture(new IllegalArgumentException(PushConstants.PushServerSDKExceptions.NULL_NOTIFICATION_EXCEPTION));
+		}
+
+		PushTracer.Span span = startSendSpan(RequestExecutor.Endpoint.MESSAGES, 1);
+		byte[] notification;
+		try {
+			notification = render(template, values, span);
+		} catch (IllegalArgumentException e) {
+			span.end(e);
+			return failedFuture(e);
+		}
+		return sendEncodedAsync(notification, Deadline.after(timeoutMillis), span);
+	}
+
+	/**
+	 * Render the given template once per element of {@code values} and send
+	 * the results like {@link #dispatchBulk(Notification[])}. Each
+	 * notification is rendered just before its chunk is sent.
+	 *
+	 * @param template
+	 *            The template of the push notifications.
+	 * @param values
+	 *            The values of the placeholders, one map per push
+	 *            notification.
+	 * @return The outcome of each bulk request.
+	 * @throws IllegalArgumentException
+	 *             if a placeholder has no value.
+	 */
+	public BulkDispatchReport dispatchBulk(final NotificationTemplate template, final List<? extends Map<String, ?>> values) {
+		if (template == null || values == null || values.isEmpty()) {
+			throw new IllegalArgumentException(PushConstants.PushServerSDKExceptions.NULL_NOTIFICATION_EXCEPTION);
+		}
+		// Fail before any chunk is sent.
+		for (Map<String, ?> notificationValues : values) {
+			template.checkValues(notificationValues);
+		}
+
+		return new BulkDispatcher(this, bulkDispatchConfig, new BulkDispatcher.Elements() {
+			@Override
+			public int size() {
+				return values.size();
+			}
+
+			@Override
+			public byte[] encode(int index) {
+				return render(template, values.get(index), NoopPushTracer.SPAN);
+			}
+		}, null).dispatch();
+	}
+
+	/**
+	 * Sends an already encoded notification, like
+	 * {@link #sendAsync(Notification)}.
+	 */
+	CompletableFuture<PushResult> sendEncodedAsync(byte[] notification) {
+		return sendEncodedAsync(notification, Deadline.after(requestTimeoutMillis),
+				startSendSpan(RequestExecutor.Endpoint.MESSAGES, 1));
+	}
+
+	private CompletableFuture<PushResult> sendEncodedAsync(final byte[] notification, final Deadline deadline,
+			final PushTracer.Span span) {
+		return submit(new Callable<HttpPost>() {
+			@Override
+			public HttpPost call() {
+				return createPushPostRequest(notification, null, deadline, span);
+			}
+		}, RequestExecutor.Endpoint.MESSAGES, 1, deadline, span, PushResult.class);
+	}
+
+	/**
+	 * Sends an already encoded JSON array of the given number of
+	 * notifications to the bulk endpoint, like
+	 * {@link #sendBulkAsync(Notification[])}.
+	 */
+	CompletableFuture<BulkPushResult> sendEncodedBulkAsync(byte[] notifications, int count) {
+		return sendEncodedBulkAsync(notifications, count, Deadline.after(requestTimeoutMillis));
+	}
+
+	CompletableFuture<BulkPushResult> sendEncodedBulkAsync(final byte[] notifications, int count,
+			final Deadline deadline) {
+		final PushTracer.Span span = startSendSpan(RequestExecutor.Endpoint.BULK, count);
+		return submit(new Callable<HttpPost>() {
+			@Override
+			public HttpPost call() {
+				return createBulkPushPostRequest(notifications, null, deadline, span);
+			}
+		}, RequestExecutor.Endpoint.BULK, count, deadline, span, BulkPushResult.class);
+	}
+
+	private PushTracer.Span startSendSpan(RequestExecutor.Endpoint endpoint, int notifications) {
+		PushTracer.Span span = tracer.startSpan(PushTracer.SEND);
+		span.setAttribute(ENDPOINT_ATTRIBUTE, endpoint.getMetricName());
+		span.setAttribute(NOTIFICATIONS_ATTRIBUTE, notifications);
+		return span;
+	}
+
+	/**
+	 * Ends the span of a call with its outcome.
+	 */
+	private static void endSendSpan(PushTracer.Span span, Integer statusCode, Throwable failure) {
+		if (statusCode != null) {
+			span.setAttribute(PushTracer.STATUS_CODE_ATTRIBUTE, statusCode);
+		}
+		span.end(failure);
+	}
+
+	private <T extends PushResult> CompletableFuture<T> submit(final Callable<HttpPost> requestFactory,
+			final RequestExecutor.Endpoint endpoint, final int notifications, final Deadline deadline,
+			final PushTracer.Span span, final Class<T> resultType) {
+		final long start = System.nanoTime();
+		final CompletableFuture<T> future = new CompletableFuture<T>();
+		future.whenComplete(new BiConsumer<PushResult, Throwable>() {
+			@Override
+			public void accept(PushResult result, Throwable failure) {
+				Integer statusCode = result != null ? result.getStatusCode() : null;
+				metrics.callCompleted(endpoint.getMetricName(), notifications, statusCode, failure,
+						System.nanoTime() - start);
+				endSendSpan(span, statusCode, failure);
+			}
+		});
+
+		try {
+			if (!inFlightRequests.tryAcquire(deadline.remainingNanos(), TimeUnit.NANOSECONDS)) {
+				future.completeExceptionally(
+						new RequestTimeoutException(PushConstants.PushServerSDKExceptions.REQUEST_TIMEOUT_EXCEPTION));
+				return future;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			future.completeExceptionally(e);
+			return future;
+		}
+
+		if (transport.isNonBlocking()) {
+			HttpPost request = null;
+			CompletableFuture<HttpResponse> response;
+			try {
+				request = requestFactory.call();
+				response = requestExecutor.execute(request, endpoint, deadline, span);
+			} catch (Throwable t) {
+				response = failedFuture(t);
+			}
+			final HttpPost sentRequest = request;
+			response.whenComplete(new BiConsumer<HttpResponse, Throwable>() {
+				@Override
+				public void accept(HttpResponse result, Throwable failure) {
+					inFlightRequests.release();
+					complete(future, resultType, sentRequest, result, failure);
+				}
+			});
+			return future;
+		}
+
+		try {
+			asyncExecutor.execute(new Runnable() {
+				@Override
+				public void run() {
+					HttpPost request = null;
+					HttpResponse result = null;
+					Throwable failure = null;
+					try {
+						request = requestFactory.call();
+						result = awaitResponse(requestExecutor.execute(request, endpoint, deadline, span));
+					} catch (Throwable t) {
+						failure = t;
+					} finally {
+						// Free the slot before completing, so callbacks may send again.
+						inFlightRequests.release();
+					}
+					complete(future, resultType, request, result, failure);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			inFlightRequests.release();
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	private static RequestExecutor.Endpoint endpointOf(HttpRequest pushPost) {
+		return pushPost != null && pushPost.getRequestLine().getUri().endsWith(PushConstants.BULK_PATH)
+				? RequestExecutor.Endpoint.BULK : RequestExecutor.Endpoint.MESSAGES;
+	}
+
+	/**
+	 * @return The number of notifications sent by the given request, or -1
+	 *         if its body is an opaque bulk request.
+	 */
+	private static int countNotifications(HttpPost pushPost) {
+		if (endpointOf(pushPost) == RequestExecutor.Endpoint.MESSAGES) {
+			return 1;
+		}
+		return pushPost.getEntity() instanceof BulkNotificationEntity
+				? ((BulkNotificationEntity) pushPost.getEntity()).size() : -1;
+	}
+
+	private <T extends PushResult> void complete(CompletableFuture<T> future, Class<T> resultType,
+			HttpRequest request, HttpResponse response, Throwable failure) {
+		if (failure instanceof CompletionException && failure.getCause() != null) {
+			failure = failure.getCause();
+		}
+		if (failure == null) {
+			try {
+				future.complete(resultType.cast(readResult(request, response)));
+				return;
+			} catch (IOException e) {
+				failure = e;
+			}
+		}
+		logger.log(Level.SEVERE, failure.toString(), failure);
+		future.completeExceptionally(failure);
+	}
+
+	/**
+	 * Waits for a response of the transport, unwrapping the I/O error it
+	 * failed with, if any.
+	 */
+	static HttpResponse awaitResponse(CompletableFuture<HttpResponse> response) throws IOException {
+		try {
+			return response.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			InterruptedIOException exception = new InterruptedIOException(e.toString());
+			exception.initCause(e);
+			throw exception;
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+
+	static <T> CompletableFuture<T> failedFuture(Throwable t) {
+		CompletableFuture<T> future = new CompletableFuture<T>();
+		future.completeExceptionally(t);
+		return future;
+	}
+
+	static PushMessageModel toModel(Notification notification) {
+		return new PushMessageModel.Builder().message(notification.getMessage())
+				.target(notification.getTarget()).settings(notification.getSettings()).build();
+	}
+
+	private BulkDispatcher.Elements encodedElements(final Notification[] notifications) {
+		return new BulkDispatcher.Elements() {
+			@Override
+			public int size() {
+				return notifications.length;
+			}
+
+			@Override
+			public byte[] encode(int index) {
+				return PushClient.this.encode(notifications[index], NoopPushTracer.SPAN, false);
+			}
+		};
+	}
+
+	private byte[] encode(Notification notification, PushTracer.Span span) {
+		return encode(notification, span, true);
+	}
+
+	/**
+	 * Returns the JSON of the notification, timing and tracing the encoding
+	 * unless it was already done. The notifications of bulk requests are not
+	 * traced one by one.
+	 * 
+	 * @param cache
+	 *            Whether the notification keeps the JSON for later sends;
+	 *            bulk requests only reuse the JSON already kept.
+	 */
+	private byte[] encode(Notification notification, PushTracer.Span span, boolean cache) {
+		if (notification.isEncoded()) {
+			return notification.getEncoded();
+		}
+		PushTracer.Span encodeSpan = span.startChild(PushTracer.ENCODE);
+		long start = System.nanoTime();
+		byte[] encoded;
+		try {
+			encoded = cache ? notification.getEncoded() : notification.encodeUncached();
+		} catch (RuntimeException e) {
+			encodeSpan.end(e);
+			throw e;
+		}
+		metrics.notificationEncoded(encoded.length, System.nanoTime() - start);
+		encodeSpan.end(null);
+		return encoded;
+	}
+
+	private byte[] render(NotificationTemplate template, Map<String, ?> values, PushTracer.Span span) {
+		PushTracer.Span encodeSpan = span.startChild(PushTracer.ENCODE);
+		long start = System.nanoTime();
+		byte[] rendered;
+		try {
+			rendered = template.render(values);
+		} catch (RuntimeException e) {
+			encodeSpan.end(e);
+			throw e;
+		}
+		metrics.notificationEncoded(rendered.length, System.nanoTime() - start);
+		encodeSpan.end(null);
+		return rendered;
+	}
+
+	/**
+	 * Requests a new access token from IAM with the API key of this client,
+	 * through the transport of this client. Tokens used for sending are
+	 * requested and refreshed automatically, so this is rarely needed.
+	 *
+	 * @return The access token.
+	 * @throws PushServerSDKException
+	 *             if IAM could not be reached or did not return a token.
+	 */
+	public IamToken fetchIamToken() {
+		long start = System.nanoTime();
+		PushTracer.Span span = tracer.startSpan(PushTracer.TOKEN_FETCH);
+		IamToken token;
+		try {
+			token = requestIamToken(span);
+		} catch (RuntimeException e) {
+			metrics.tokenFetched(false, System.nanoTime() - start);
+			span.end(e);
+			throw e;
+		}
+		metrics.tokenFetched(true, System.nanoTime() - start);
+		span.end(null);
+		return token;
+	}
+
+	private IamToken requestIamToken(PushTracer.Span span) {
+		HttpResponse auth = executeTokenRequest(span);
+		int statusCode = auth.getStatusLine().getStatusCode();
+
+		if (statusCode != 200) {
+			throw new TokenRequestException(statusCode, auth.getStatusLine().getReasonPhrase());
+		}
+		if (auth.getEntity() == null) {
+			throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.JSON_PARSER_EXCEPTION);
+		}
+		try {
+			return parseIamToken(auth.getEntity().getContent());
+		} catch (JsonProcessingException e) {
+			throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.JSON_PARSER_EXCEPTION, e);
+		} catch (IOException e) {
+			throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.JSON_IO_EXCEPTION, e);
+		}
+	}
+
+	/**
+	 * Reads the fields of the token response as they are streamed, skipping
+	 * the others.
+	 */
+	private static IamToken parseIamToken(InputStream content) throws IOException {
+		String accessToken = null;
+		String tokenType = PushConstants.BEARER;
+		Long expiration = null;
+
+		JsonParser parser = PushJson.MAPPER.getFactory().createParser(content);
+		try {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.JSON_PARSER_EXCEPTION);
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.getCurrentName();
+				JsonToken value = parser.nextToken();
+				if (PushConstants.ACCESS_TOKEN.equals(field) && value == JsonToken.VALUE_STRING) {
+					accessToken = parser.getText();
+				} else if (PushConstants.TOKEN_TYPE.equals(field) && value != JsonToken.VALUE_NULL) {
+					tokenType = parser.getValueAsString(PushConstants.BEARER);
+				} else if (PushConstants.EXPIRATION.equals(field) && value != JsonToken.VALUE_NULL) {
+					expiration = parser.getValueAsLong();
+				} else {
+					parser.skipChildren();
+				}
+			}
+		} finally {
+			parser.close();
+		}
+
+		if (accessToken == null || expiration == null) {
+			throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.JSON_PARSER_EXCEPTION);
+		}
+		return new IamToken(accessToken, tokenType, expiration);
+	}
+
+	/**
+	 * Requests a new access token from IAM with the API key of this client.
+	 * The response is already fully read, so closing it is optional.
+	 *
+	 * @return The raw response of the IAM token endpoint.
+	 * @deprecated Use {@link #fetchIamToken()}, which parses the response.
+	 */
+	@Deprecated
+	public CloseableHttpResponse getAuthToken() {
+		return new BufferedHttpResponse(executeTokenRequest(NoopPushTracer.SPAN));
+	}
+
+	private HttpResponse executeTokenRequest(PushTracer.Span span) {
+		HttpPost tokenPost = new HttpPost(iamTokenURL);
+
+		tokenPost.addHeader(HTTP.CONTENT_TYPE, PushConstants.IAM_CONTENT_TYPE);
+		List<NameValuePair> nvps = new ArrayList<NameValuePair>();
+		nvps.add(new BasicNameValuePair(PushConstants.GRANT_TYPE, PushConstants.GRANT_TYPE_VALUE_APIKEY));
+		nvps.add(new BasicNameValuePair("apikey", apiKey));
+
+		try {
+			tokenPost.setEntity(new UrlEncodedFormEntity(nvps, PushConstants.UTFEIGHT));
+			// The transport buffers the entity and releases the connection.
+			// Shared by every call waiting for the token, so it has a timeout
+			// of its own rather than the deadline of one of them.
+			return awaitResponse(requestExecutor.execute(tokenPost, RequestExecutor.Endpoint.IAM,
+					Deadline.after(requestTimeoutMillis), span));
+		} catch (IOException e) {
+			logger.log(Level.SEVERE, e.toString(), e);
+			throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.IAM_FAILURE_EXCEPTION, e);
+		}
+	}
+
+	protected HttpPost createPushPostRequest(byte[] notification, PushNotificationsResponseListener listener) {
+		return createPushPostRequest(notification, listener, Deadline.after(requestTimeoutMillis), NoopPushTracer.SPAN);
+	}
+
+	private HttpPost createPushPostRequest(byte[] notification, PushNotificationsResponseListener listener,
+			Deadline deadline, PushTracer.Span span) {
+		HttpPost pushPost = new HttpPost(pushMessageEndpointURL);
+
+		pushPost.addHeader(HTTP.CONTENT_TYPE, PushConstants.CONTENT_TYPE);
+
+		setHeader(pushPost, listener, deadline, span);
+		pushPost.setEntity(new ByteArrayEntity(notification, ContentType.APPLICATION_JSON));
+
+		return pushPost;
+	}
+
+	protected HttpPost createBulkPushPostRequest(List<PushMessageModel> models, PushNotificationsResponseListener listener) {
+		return createBulkPushPostRequest(new BulkNotificationEntity(models), listener, Deadline.after(requestTimeoutMillis),
+				NoopPushTracer.SPAN);
+	}
+
+	private HttpPost createBulkPushPostRequest(BulkDispatcher.Elements notifications,
+			PushNotificationsResponseListener listener, Deadline deadline, PushTracer.Span span) {
+		return createBulkPushPostRequest(new BulkNotificationEntity(notifications), listener, deadline, span);
+	}
+
+	protected HttpPost createBulkPushPostRequest(byte[] notifications, PushNotificationsResponseListener listener) {
+		return createBulkPushPostRequest(notifications, listener, Deadline.after(requestTimeoutMillis),
+				NoopPushTracer.SPAN);
+	}
+
+	private HttpPost createBulkPushPostRequest(byte[] notifications, PushNotificationsResponseListener listener,
+			Deadline deadline, PushTracer.Span span) {
+		return createBulkPushPostRequest(new ByteArrayEntity(notifications, ContentType.APPLICATION_JSON), listener,
+				deadline, span);
+	}
+
+	private HttpPost createBulkPushPostRequest(AbstractHttpEntity entity, PushNotificationsResponseListener listener,
+			Deadline deadline, PushTracer.Span span) {
+		HttpPost pushPost = new HttpPost(pushMessageEndpointURL + PushConstants.BULK_PATH);
+
+		pushPost.addHeader(HTTP.CONTENT_TYPE, PushConstants.CONTENT_TYPE);
+		setHeader(pushPost, listener, deadline, span);
+
+		pushPost.setEntity(entity);
+
+		return pushPost;
+	}
+
+	private void setHeader(HttpPost pushPost, PushNotificationsResponseListener listener, Deadline deadline,
+			PushTracer.Span span) {
+		if (pushSecret != null) {
+			pushPost.addHeader(PushConstants.APPSECRET, pushSecret);
+			return;
+		}
+
+		PushTracer.Span tokenSpan = span.startChild(PushTracer.TOKEN);
+		String accessToken;
+		try {
+			accessToken = getAccessToken(listener, deadline);
+		} catch (RuntimeException e) {
+			tokenSpan.end(e);
+			throw e;
+		}
+		tokenSpan.end(null);
+		pushPost.addHeader(PushConstants.AUTHORIZATION_HEADER,
+				PushConstants.BEARER + PushConstants.EMPTY_SPACE + accessToken);
+	}
+
+	/**
+	 * Returns the access token kept by the token manager, waiting for it only
+	 * if there is no valid token yet.
+	 */
+	private String getAccessToken(PushNotificationsResponseListener listener, Deadline deadline) {
+		try {
+			return tokenManager.getToken(deadline);
+		} catch (TokenRequestException e) {
+			if (listener != null) {
+				listener.onFailure(e.getStatusCode(), e.getLocalizedMessage(), e);
+			}
+			throw e;
+		} catch (CircuitBreakerOpenException e) {
+			if (listener != null) {
+				listener.onFailure(null, e.getLocalizedMessage(), e);
+			}
+			throw e;
+		} catch (RequestTimeoutException e) {
+			if (listener != null) {
+				listener.onFailure(null, e.getLocalizedMessage(), e);
+			}
+			throw e;
+		}
+	}
+
+	protected void executePushPostRequest(HttpPost pushPost, PushTransport transport,
+			PushNotificationsResponseListener listener) {
+		int notifications = countNotifications(pushPost);
+		executePushPostRequest(pushPost, transport, listener, Deadline.after(requestTimeoutMillis), notifications,
+				System.nanoTime(), startSendSpan(endpointOf(pushPost), notifications));
+	}
+
+	private void executePushPostRequest(HttpPost pushPost, PushTransport transport,
+			PushNotificationsResponseListener listener, Deadline deadline, int notifications, long startNanos,
+			PushTracer.Span span) {
+		Integer statusCode = null;
+		Throwable failure = null;
+		try {
+			if (transport != null && listener != null) {
+				HttpResponse response = awaitResponse(transport == this.transport
+						? requestExecutor.execute(pushPost, endpointOf(pushPost), deadline, span)
+						: transport.execute(pushPost));
+				if (response.getStatusLine() != null) {
+					statusCode = response.getStatusLine().getStatusCode();
+				}
+				sendResponseToListener(pushPost, response, listener);
+			} else {
+				PushServerSDKException exception = new PushServerSDKException(
+						PushConstants.PushServerSDKExceptions.NOT_PROPERLY_INITIALIZED_EXCEPTION);
+				span.end(exception);
+				throw exception;
+			}
+		} catch (IOException e) {
+			failure = e;
+			logger.log(Level.SEVERE, e.toString(), e);
+			if (listener != null) {
+				listener.onFailure(null, null, e);
+			}
+		} catch (CircuitBreakerOpenException e) {
+			failure = e;
+			logger.log(Level.WARNING, e.toString());
+			if (listener != null) {
+				listener.onFailure(null, e.getLocalizedMessage(), e);
+			}
+		} catch (RequestTimeoutException e) {
+			failure = e;
+			logger.log(Level.WARNING, e.toString());
+			if (listener != null) {
+				listener.onFailure(null, e.getLocalizedMessage(), e);
+			}
+		}
+		metrics.callCompleted(endpointOf(pushPost).getMetricName(), notifications, statusCode, failure,
+				System.nanoTime() - startNanos);
+		endSendSpan(span, statusCode, failure);
+	}
+
+	protected void sendResponseToListener(HttpResponse response, PushNotificationsResponseListener listener)
+			throws IOException {
+		sendResponseToListener(null, response, listener);
+	}
+
+	/**
+	 * @param request
+	 *            The request the response answers, so that a rejected token
+	 *            is only dropped if it is still the current one.
+	 */
+	private void sendResponseToListener(HttpRequest request, HttpResponse response,
+			PushNotificationsResponseListener listener) throws IOException {
+		PushResult result = readResult(request, response);
+
+		if (result.isAccepted()) {
+			listener.onSuccess(result.getStatusCode(), result.getResponseBody());
+		} else {
+			listener.onFailure(result.getStatusCode(), result.getResponseBody(), null);
+		}
+	}
+
+	/**
+	 * Reads the body of the given response and parses it once; a response
+	 * to a bulk request is broken down per notification.
+	 */
+	private PushResult readResult(HttpRequest request, HttpResponse response) throws IOException {
+		byte[] responseBody = null;
+
+		if (response.getEntity() != null) {
+			responseBody = EntityUtils.toByteArray(response.getEntity());
+		}
+
+		Integer statusCode = null;
+
+		if (response.getStatusLine() != null) {
+			statusCode = response.getStatusLine().getStatusCode();
+		}
+
+		if (statusCode != null && statusCode == 401) {
+			if (tokenManager != null) {
+				tokenManager.invalidate(getBearerToken(request));
+			}
+			logger.log(Level.SEVERE, response.getStatusLine().getReasonPhrase());
+		}
+		if (endpointOf(request) == RequestExecutor.Endpoint.BULK) {
+			return BulkPushResult.read(statusCode, responseBody);
+		}
+		return new PushResult(statusCode, responseBody);
+	}
+
+	/**
+	 * @return The access token sent with the given request, or null if it is
+	 *         not known.
+	 */
+	private static String getBearerToken(HttpRequest request) {
+		Header authorization = request != null ? request.getFirstHeader(PushConstants.AUTHORIZATION_HEADER) : null;
+		String prefix = PushConstants.BEARER + PushConstants.EMPTY_SPACE;
+		if (authorization == null || !authorization.getValue().startsWith(prefix)) {
+			return null;
+		}
+		return authorization.getValue().substring(prefix.length());
+	}
+
+	/**
+	 * Closes the outbox, the transport and the executor of this push client,
+	 * unless the latter were shared with
+	 * {@link Builder#transport(PushTransport)} and
+	 * {@link Builder#asyncExecutor(ExecutorService)}.
+	 */
+	@Override
+	public void close() {
+		if (outboxRelay != null) {
+			outboxRelay.close();
+		}
+		if (batcher != null) {
+			awaitLastBatch(batcher.close());
+		}
+		if (tokenManager != null) {
+			tokenManager.close();
+		}
+		requestExecutor.close();
+		if (ownsAsyncExecutor) {
+			asyncExecutor.shutdown();
+		}
+		if (ownsTransport) {
+			transport.close();
+		}
+	}
+
+	/**
+	 * Waits for the last batch, at most for the request timeout, so that it is
+	 * not cut off by closing the transport.
+	 */
+	private void awaitLastBatch(CompletableFuture<?> lastBatch) {
+		try {
+			lastBatch.get(Deadline.after(requestTimeoutMillis).remainingNanos(), TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			// Already reported to the callers of the batch.
+		} catch (TimeoutException e) {
+			logger.log(Level.WARNING, "Closing before the last batch was sent");
+		}
+	}
+
+	/**
+	 *
+	 * Builder for {@link PushClient}.
+	 *
+	 */
+	public static class Builder {
+
+		private String tenantId;
+		private String pushSecret;
+		private String apiKey;
+		private String region;
+		private String serverHost;
+		private String iamServerHost;
+		private PushHttpClientConfig httpClientConfig;
+		private boolean nonBlocking;
+		private boolean http2;
+		private PushTransport transport;
+		private ExecutorService asyncExecutor;
+		private int maxInFlightRequests = DEFAULT_MAX_IN_FLIGHT_REQUESTS;
+		private BulkDispatchConfig bulkDispatchConfig;
+		private long tokenRefreshSkewSeconds = DEFAULT_TOKEN_REFRESH_SKEW_SECONDS;
+		private long requestTimeoutMillis = DEFAULT_REQUEST_TIMEOUT_MILLIS;
+		private RetryPolicy retryPolicy;
+		private RateLimitConfig rateLimitConfig;
+		private ConcurrencyLimitConfig concurrencyLimitConfig;
+		private CircuitBreakerConfig circuitBreakerConfig;
+		private OutboxConfig outboxConfig;
+		private BatchingConfig batchingConfig;
+		private PushMetrics metrics;
+		private PushTracer tracer;
+
+		/**
+		 *
+		 * @param tenantId
+		 *            The tenant ID for the IBM Cloud application that the Push
+		 *            Notifications service is bound to.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder tenantId(String tenantId) {
+			this.tenantId = tenantId;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param pushSecret
+		 *            The credential required for Push Notifications service
+		 *            authorization. Either this or the API key is required.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder pushSecret(String pushSecret) {
+			this.pushSecret = pushSecret;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param apiKey
+		 *            The API key used to get IAM access tokens for the Push
+		 *            Notifications service. Either this or the push secret is
+		 *            required.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder apiKey(String apiKey) {
+			this.apiKey = apiKey;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param region
+		 *            The IBM Cloud region where the Push Notifications service
+		 *            is hosted. For example,
+		 *            {@link PushNotifications#US_SOUTH_REGION}.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder region(String region) {
+			this.region = region;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param serverHost
+		 *            Overrides the default server host, for example with the
+		 *            host of a dedicated service. When set, the region is
+		 *            ignored.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder serverHost(String serverHost) {
+			this.serverHost = serverHost;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param iamServerHost
+		 *            Overrides the host IAM access tokens are requested from.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder iamServerHost(String iamServerHost) {
+			this.iamServerHost = iamServerHost;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param httpClientConfig
+		 *            The connection pool settings of the transport created for
+		 *            this push client.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder httpClientConfig(PushHttpClientConfig httpClientConfig) {
+			this.httpClientConfig = httpClientConfig;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param nonBlocking
+		 *            Whether this push client creates a non-blocking
+		 *            {@link PushAsyncHttpClient} instead of a blocking
+		 *            {@link PushHttpClient}. Ignored when a transport is set.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder nonBlocking(boolean nonBlocking) {
+			this.nonBlocking = nonBlocking;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param http2
+		 *            Whether this push client creates a {@link PushHttp2Client}
+		 *            that multiplexes all requests over a single HTTP/2
+		 *            connection. It requires the optional httpclient5
+		 *            dependency. Ignored when a transport is set.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder http2(boolean http2) {
+			this.http2 = http2;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param transport
+		 *            An existing transport, for example to share one
+		 *            connection pool between several push clients. It is not
+		 *            closed when this push client is closed.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder transport(PushTransport transport) {
+			this.transport = transport;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param asyncExecutor
+		 *            The executor that runs the requests of
+		 *            {@link PushClient#sendAsync(Notification)} and
+		 *            {@link PushClient#sendBulkAsync(Notification[])}. It is
+		 *            not shut down when this push client is closed. By default
+		 *            a fixed pool of {@code maxInFlightRequests} daemon threads
+		 *            is used.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder asyncExecutor(ExecutorService asyncExecutor) {
+			this.asyncExecutor = asyncExecutor;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param maxInFlightRequests
+		 *            The maximum number of asynchronous requests running at the
+		 *            same time. Further calls to the asynchronous send methods
+		 *            block until a request completes.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder maxInFlightRequests(int maxInFlightRequests) {
+			this.maxInFlightRequests = maxInFlightRequests;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param bulkDispatchConfig
+		 *            How {@link PushClient#dispatchBulk(Notification[])}
+		 *            splits notifications into bulk requests.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder bulkDispatchConfig(BulkDispatchConfig bulkDispatchConfig) {
+			this.bulkDispatchConfig = bulkDispatchConfig;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param tokenRefreshSkewSeconds
+		 *            How long before it expires the IAM access token is
+		 *            refreshed in the background. Tokens that live less than
+		 *            twice as long are refreshed half way through their
+		 *            lifetime.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder tokenRefreshSkewSeconds(long tokenRefreshSkewSeconds) {
+			this.tokenRefreshSkewSeconds = tokenRefreshSkewSeconds;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param requestTimeoutMillis
+		 *            How long a call may take, including the time spent
+		 *            waiting for an access token, for the rate and
+		 *            concurrency limits and between retries, before it fails
+		 *            with a {@link RequestTimeoutException}. 0 for none. The
+		 *            connect and socket timeouts of each attempt are set with
+		 *            {@link PushHttpClientConfig}.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder requestTimeoutMillis(long requestTimeoutMillis) {
+			this.requestTimeoutMillis = requestTimeoutMillis;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param retryPolicy
+		 *            When failed push and IAM token requests are sent again.
+		 *            Defaults to {@link RetryPolicy#defaultPolicy()}; use
+		 *            {@link RetryPolicy#noRetries()} to make a single attempt.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder retryPolicy(RetryPolicy retryPolicy) {
+			this.retryPolicy = retryPolicy;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param rateLimitConfig
+		 *            The maximum rate of requests to the messages and bulk
+		 *            endpoints. Not limited by default.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder rateLimitConfig(RateLimitConfig rateLimitConfig) {
+			this.rateLimitConfig = rateLimitConfig;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param concurrencyLimitConfig
+		 *            Enables an adaptive limit on the number of push requests
+		 *            in flight, which follows the capacity of the service. Not
+		 *            limited by default, besides maxInFlightRequests.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder concurrencyLimitConfig(ConcurrencyLimitConfig concurrencyLimitConfig) {
+			this.concurrencyLimitConfig = concurrencyLimitConfig;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param circuitBreakerConfig
+		 *            When requests to a failing endpoint fail fast instead of
+		 *            being sent. Defaults to
+		 *            {@link CircuitBreakerConfig#defaultConfig()}; use
+		 *            {@link CircuitBreakerConfig#disabled()} to always send.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder circuitBreakerConfig(CircuitBreakerConfig circuitBreakerConfig) {
+			this.circuitBreakerConfig = circuitBreakerConfig;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param outboxConfig
+		 *            Enables the durable outbox used by
+		 *            {@link PushClient#enqueue(Notification)}.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder outboxConfig(OutboxConfig outboxConfig) {
+			this.outboxConfig = outboxConfig;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param batchingConfig
+		 *            Enables sending single notifications in batches to the
+		 *            bulk endpoint, which takes fewer requests at the cost of
+		 *            a short delay.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder batchingConfig(BatchingConfig batchingConfig) {
+			this.batchingConfig = batchingConfig;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param metrics
+		 *            Records the requests, failures, retries and latencies of
+		 *            this push client, and samples its connection pool and
+		 *            queues. Nothing is recorded by default.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder metrics(PushMetrics metrics) {
+			this.metrics = metrics;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param tracer
+		 *            Traces the stages of each call of this push client, and
+		 *            propagates the trace context with its requests. Nothing
+		 *            is traced by default.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder tracer(PushTracer tracer) {
+			this.tracer = tracer;
+			return this;
+		}
+
+		/**
+		 *
+		 * @return the {@link PushClient} object.
+		 */
+		public PushClient build() {
+			if (maxInFlightRequests <= 0 || tokenRefreshSkewSeconds < 0 || requestTimeoutMillis < 0) {
+				throw new IllegalArgumentException(PushConstants.PushServerSDKExceptions.INVALID_HTTP_CLIENT_CONFIG_EXCEPTION);
+			}
+			if (tenantId == null || (pushSecret == null && apiKey == null)
+					|| (region == null && serverHost == null)) {
+				throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.NOT_PROPERLY_INITIALIZED_EXCEPTION);
+			}
+			return new PushClient(this);
+		}
+	}
+
+	/**
+	 * The state of this push client, sampled by {@link PushMetrics}.
+	 */
+	private final class ClientGauges implements PushMetrics.Gauges {
+
+		@Override
+		public int getLeasedConnections() {
+			PoolStats stats = getPoolStats();
+			return stats != null ? stats.getLeased() : 0;
+		}
+
+		@Override
+		public int getAvailableConnections() {
+			PoolStats stats = getPoolStats();
+			return stats != null ? stats.getAvailable() : 0;
+		}
+
+		@Override
+		public int getPendingConnections() {
+			PoolStats stats = getPoolStats();
+			return stats != null ? stats.getPending() : 0;
+		}
+
+		@Override
+		public int getInFlightRequests() {
+			return maxInFlightRequests - inFlightRequests.availablePermits();
+		}
+
+		@Override
+		public int getQueuedRequests() {
+			AdaptiveConcurrencyLimiter concurrencyLimiter = requestExecutor.getConcurrencyLimiter();
+			return inFlightRequests.getQueueLength() + (concurrencyLimiter != null ? concurrencyLimiter.getWaiting() : 0);
+		}
+
+		/**
+		 * @return The statistics of the connection pool of the transport, or
+		 *         null if it is not one of the SDK.
+		 */
+		private PoolStats getPoolStats() {
+			if (transport instanceof PushHttpClient) {
+				return ((PushHttpClient) transport).getConnectionManager().getTotalStats();
+			} else if (transport instanceof PushAsyncHttpClient) {
+				return ((PushAsyncHttpClient) transport).getConnectionManager().getTotalStats();
+			} else if (transport instanceof PushHttp2Client) {
+				return ((PushHttp2Client) transport).getPoolStats();
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * IAM answered the token request with an error status.
+	 */
+	private static final class TokenRequestException extends PushServerSDKException {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int statusCode;
+
+		TokenRequestException(int statusCode, String message) {
+			super(message);
+			this.statusCode = statusCode;
+		}
+
+		int getStatusCode() {
+			return statusCode;
+		}
+	}
+}
@@ -23,6 +23,7 @@ public final class PushConstants {
 	public static final String HOST = ".imfpush.cloud.ibm.com";
 	public static final String URL = "/imfpush/v1/apps/";
 	public static final String API = "/messages";
+	public static final String BULK_PATH = "/bulk";
 	public static final String VCAP_SERVICES = "VCAP_SERVICES";
 	public static final String IMFPUSH = "imfpush";
 	public static final String CREDENTIALS = "credentials";
@@ -40,7 +41,11 @@ public final class PushConstants {
 	public static final String UTFEIGHT = "UTF-8";
 	public static final String ACCESS_TOKEN = "access_token";
 	public static final String EXPIRATION = "expiration";
+	public static final String TOKEN_TYPE = "token_type";
 	public static final String BEARER = "Bearer";
+	public static final String MESSAGE_ID = "messageId";
+	public static final String ERROR_CODE = "code";
+	public static final String ERROR_MESSAGE = "message";
 	public static final String EMPTY_SPACE = " ";
 	public static final String ALERT_NOT_NULL_EXCEPTION = "The alert cannot be null. Please use MessageBuilder to set alert";
 	public static final String TLS_VERSION = "TLSv1.2";
@@ -57,5 +62,19 @@ public final class PushConstants {
 		public static final String ALERT_NOT_NULL_EXCEPTION = "FPSDK0005A: The alert cannot be null. Please use MessageBuilder to set alert";
 		public static final String JSON_PARSER_EXCEPTION = "FPSDK0006A:  Header elements cannot be parsed";
 		public static final String JSON_IO_EXCEPTION = "FPSDK0007A: An error occurs reading the input stream";
+		public static final String INVALID_HTTP_CLIENT_CONFIG_EXCEPTION = "FPSDK0008A: The HTTP client configuration is invalid. Connection and request limits and the idle connection timeout must be greater than zero.";
+		public static final String HTTP_CLIENT_INIT_EXCEPTION = "FPSDK0009A: The HTTP client could not be created.";
+		public static final String JSON_SERIALIZATION_EXCEPTION = "FPSDK0010A: The notification could not be serialized to JSON.";
+		public static final String INVALID_BULK_DISPATCH_CONFIG_EXCEPTION = "FPSDK0011A: The bulk dispatch configuration is invalid. Chunk limits and the number of concurrent chunks must be greater than zero.";
+		public static final String INVALID_RETRY_POLICY_EXCEPTION = "FPSDK0012A: The retry policy is invalid. The number of attempts and the initial backoff must be greater than zero, and the maximum backoff at least the initial one.";
+		public static final String INVALID_RATE_LIMIT_CONFIG_EXCEPTION = "FPSDK0013A: The rate or concurrency limit configuration is invalid. Rates must not be negative, and the concurrency limits must satisfy 0 < minimum <= initial <= maximum.";
+		public static final String INVALID_CIRCUIT_BREAKER_CONFIG_EXCEPTION = "FPSDK0014A: The circuit breaker configuration is invalid. The window, minimum number of requests, open duration and probes must be greater than zero, and the failure rate threshold between 0 and 1.";
+		public static final String CIRCUIT_BREAKER_OPEN_EXCEPTION = "FPSDK0015A: The request was not sent because the endpoint failed too often recently. It will be tried again once the circuit breaker allows it.";
+		public static final String REQUEST_TIMEOUT_EXCEPTION = "FPSDK0016A: The request did not complete within its timeout.";
+		public static final String INVALID_OUTBOX_CONFIG_EXCEPTION = "FPSDK0017A: The outbox configuration is invalid. The directory is required, and the segment size and redelivery interval must be greater than zero.";
+		public static final String OUTBOX_IO_EXCEPTION = "FPSDK0018A: The outbox could not be read or written.";
+		public static final String OUTBOX_NOT_CONFIGURED_EXCEPTION = "FPSDK0019A: This client has no outbox. Set one with PushClient.Builder.outboxConfig.";
+		public static final String INVALID_BATCHING_CONFIG_EXCEPTION = "FPSDK0020A: The batching configuration is invalid. The batch size, batch bytes and delay must be greater than zero.";
+		public static final String MISSING_TEMPLATE_VALUE_EXCEPTION = "FPSDK0021A: No value was given for the placeholder of the notification template: ";
 	}
 }
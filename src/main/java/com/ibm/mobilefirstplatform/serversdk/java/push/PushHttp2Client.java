@@ -0,0 +1,416 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Logger;
+
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleResponseConsumer;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.H2AsyncClientBuilder;
+import org.apache.hc.client5.http.ssl.ClientTlsStrategyBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.message.BasicHttpRequest;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.AsyncRequestProducer;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+import org.apache.hc.core5.http.nio.support.BasicRequestProducer;
+import org.apache.hc.core5.http2.config.H2Config;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.Cancellable;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HTTP;
+
+/**
+ * Non-blocking HTTP/2 client for the Push Notifications service, built on
+ * Apache HttpClient 5. All the requests to the same host are multiplexed as
+ * concurrent streams over a single TLS connection, negotiated with ALPN. At
+ * most {@link PushHttpClientConfig#getMaxConcurrentStreams()} streams are open
+ * at a time; further requests are queued until a stream completes.
+ * <p>
+ * This transport needs {@code org.apache.httpcomponents.client5:httpclient5}
+ * on the classpath, which is an optional dependency of the SDK. Plain
+ * {@code http://} hosts are only supported if they accept HTTP/2 with prior
+ * knowledge.
+ * <p>
+ * Request bodies are read from {@link HttpEntity#getContent()} as the stream
+ * accepts data, so a bulk request is serialized while it is sent rather than
+ * copied into memory first.
+ */
+public final class PushHttp2Client implements PushTransport {
+
+	public static final Logger logger = Logger.getLogger(PushHttp2Client.class.getName());
+
+	private static final ProtocolVersion HTTP_2 = new ProtocolVersion("HTTP", 2, 0);
+
+	private final PushHttpClientConfig config;
+	private final CloseableHttpAsyncClient httpClient;
+	private final Semaphore streams;
+	private final Queue<PendingRequest> pendingRequests = new ConcurrentLinkedQueue<PendingRequest>();
+
+	public PushHttp2Client() {
+		this(PushHttpClientConfig.defaultConfig());
+	}
+
+	public PushHttp2Client(PushHttpClientConfig config) {
+		this.config = config != null ? config : PushHttpClientConfig.defaultConfig();
+		this.streams = new Semaphore(this.config.getMaxConcurrentStreams());
+
+		this.httpClient = H2AsyncClientBuilder.create()
+				.setH2Config(H2Config.custom().setPushEnabled(false).build())
+				.setDefaultRequestConfig(createRequestConfig(this.config))
+				.setIOReactorConfig(IOReactorConfig.custom().setIoThreadCount(this.config.getIoThreadCount()).build())
+				.setTlsStrategy(ClientTlsStrategyBuilder.create().setSslContext(PushHttpClient.createSSLContext()).build())
+				.setThreadFactory(new PushThreadFactory("push-h2"))
+				.evictIdleConnections(TimeValue.ofMilliseconds(this.config.getIdleConnectionTimeoutMillis()))
+				.build();
+		this.httpClient.start();
+	}
+
+	public final PushHttpClientConfig getConfig() {
+		return config;
+	}
+
+	/**
+	 * @return The streams in use as leased, the free streams as available and
+	 *         the queued requests as pending.
+	 */
+	final PoolStats getPoolStats() {
+		int available = streams.availablePermits();
+		return new PoolStats(config.getMaxConcurrentStreams() - available, pendingRequests.size(), available,
+				config.getMaxConcurrentStreams());
+	}
+
+	/**
+	 * HttpClient 5 only moves the connect timeout to the connection manager,
+	 * which the HTTP/2 client does not have, so the request config still
+	 * carries it.
+	 */
+	@SuppressWarnings("deprecation")
+	private static RequestConfig createRequestConfig(PushHttpClientConfig config) {
+		return RequestConfig.custom().setConnectTimeout(Timeout.ofMilliseconds(config.getConnectTimeoutMillis()))
+				.setResponseTimeout(Timeout.ofMilliseconds(config.getSocketTimeoutMillis())).build();
+	}
+
+	/**
+	 * Queues the request and returns immediately; the future is completed on
+	 * an I/O dispatcher thread once the whole response has been received.
+	 * Aborting the request cancels it, whether it is still queued or already
+	 * holds a stream.
+	 */
+	@Override
+	public CompletableFuture<HttpResponse> execute(HttpUriRequest request) {
+		CompletableFuture<HttpResponse> future = new CompletableFuture<HttpResponse>();
+		final PendingRequest pending = new PendingRequest(toH2Request(request), future);
+		pendingRequests.add(pending);
+		if (request instanceof HttpRequestBase) {
+			// Called right away if the request was already aborted.
+			((HttpRequestBase) request).setCancellable(new Cancellable() {
+				@Override
+				public boolean cancel() {
+					return PushHttp2Client.this.cancel(pending);
+				}
+			});
+		}
+		dispatch();
+		return future;
+	}
+
+	private boolean cancel(PendingRequest pending) {
+		if (!pending.future.completeExceptionally(new CancellationException())) {
+			return false;
+		}
+		if (!pendingRequests.remove(pending)) {
+			// Started already; cancelling the exchange frees its stream.
+			Future<SimpleHttpResponse> exchange = pending.exchange;
+			if (exchange != null) {
+				exchange.cancel(true);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Starts queued requests while there are free streams.
+	 */
+	private void dispatch() {
+		while (streams.tryAcquire()) {
+			PendingRequest next = pendingRequests.poll();
+			if (next == null) {
+				streams.release();
+				// A request queued after the poll could not get the stream we
+				// were holding, so look again before giving up.
+				if (pendingRequests.isEmpty()) {
+					return;
+				}
+				continue;
+			}
+			start(next);
+		}
+	}
+
+	private void start(final PendingRequest pending) {
+		if (pending.future.isDone()) {
+			// Cancelled between being polled and started.
+			streamCompleted();
+			return;
+		}
+		try {
+			pending.exchange = httpClient.execute(pending.request, SimpleResponseConsumer.create(),
+					new FutureCallback<SimpleHttpResponse>() {
+				@Override
+				public void completed(SimpleHttpResponse response) {
+					streamCompleted();
+					pending.future.complete(toResponse(response));
+				}
+
+				@Override
+				public void failed(Exception e) {
+					streamCompleted();
+					pending.future.completeExceptionally(e);
+				}
+
+				@Override
+				public void cancelled() {
+					streamCompleted();
+					pending.future.completeExceptionally(new CancellationException());
+				}
+			});
+			if (pending.future.isDone()) {
+				// Cancelled before the exchange was known.
+				pending.exchange.cancel(true);
+			}
+		} catch (RuntimeException e) {
+			streamCompleted();
+			pending.future.completeExceptionally(e);
+		}
+	}
+
+	private void streamCompleted() {
+		streams.release();
+		dispatch();
+	}
+
+	private static AsyncRequestProducer toH2Request(HttpUriRequest request) {
+		BasicHttpRequest h2Request = new BasicHttpRequest(request.getMethod(), request.getURI());
+
+		String contentType = null;
+		for (Header header : request.getAllHeaders()) {
+			if (HTTP.CONTENT_TYPE.equalsIgnoreCase(header.getName())) {
+				contentType = header.getValue();
+			} else if (!isConnectionSpecific(header.getName())) {
+				h2Request.addHeader(header.getName(), header.getValue());
+			}
+		}
+
+		EntityProducer body = null;
+		if (request instanceof HttpEntityEnclosingRequest) {
+			HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+			if (entity != null) {
+				if (contentType == null && entity.getContentType() != null) {
+					contentType = entity.getContentType().getValue();
+				}
+				body = new EntityProducer(entity, contentType != null ? contentType : PushConstants.CONTENT_TYPE);
+			}
+		}
+		return new BasicRequestProducer(h2Request, body);
+	}
+
+	/**
+	 * Connection-specific headers are not allowed in HTTP/2 requests.
+	 */
+	private static boolean isConnectionSpecific(String name) {
+		return HTTP.CONN_DIRECTIVE.equalsIgnoreCase(name) || HTTP.CONN_KEEP_ALIVE.equalsIgnoreCase(name)
+				|| HTTP.TRANSFER_ENCODING.equalsIgnoreCase(name) || HTTP.CONTENT_LEN.equalsIgnoreCase(name)
+				|| HTTP.TARGET_HOST.equalsIgnoreCase(name) || "Upgrade".equalsIgnoreCase(name);
+	}
+
+	private static HttpResponse toResponse(SimpleHttpResponse h2Response) {
+		BasicHttpResponse response = new BasicHttpResponse(
+				new BasicStatusLine(HTTP_2, h2Response.getCode(), h2Response.getReasonPhrase()));
+		for (org.apache.hc.core5.http.Header header : h2Response.getHeaders()) {
+			response.addHeader(header.getName(), header.getValue());
+		}
+
+		byte[] body = h2Response.getBodyBytes();
+		if (body != null) {
+			ByteArrayEntity entity = new ByteArrayEntity(body);
+			if (h2Response.getContentType() != null) {
+				entity.setContentType(h2Response.getContentType().toString());
+			}
+			response.setEntity(entity);
+		}
+		return response;
+	}
+
+	@Override
+	public boolean isNonBlocking() {
+		return true;
+	}
+
+	@Override
+	public void close() {
+		httpClient.close(CloseMode.GRACEFUL);
+
+		PendingRequest pending;
+		while ((pending = pendingRequests.poll()) != null) {
+			pending.future.completeExceptionally(new CancellationException());
+		}
+	}
+
+	private static final class PendingRequest {
+		private final AsyncRequestProducer request;
+		private final CompletableFuture<HttpResponse> future;
+		private volatile Future<SimpleHttpResponse> exchange;
+
+		PendingRequest(AsyncRequestProducer request, CompletableFuture<HttpResponse> future) {
+			this.request = request;
+			this.future = future;
+		}
+	}
+
+	/**
+	 * Writes the body of a request as the stream accepts data, pulling it from
+	 * the entity one buffer at a time.
+	 */
+	private static final class EntityProducer implements AsyncEntityProducer {
+		private static final int BUFFER_SIZE = 8192;
+
+		private final HttpEntity entity;
+		private final String contentType;
+		private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		private InputStream content;
+		private boolean endOfContent;
+
+		EntityProducer(HttpEntity entity, String contentType) {
+			this.entity = entity;
+			this.contentType = contentType;
+			this.buffer.limit(0);
+		}
+
+		@Override
+		public void produce(DataStreamChannel channel) throws IOException {
+			if (content == null) {
+				content = entity.getContent();
+			}
+			while (true) {
+				if (!buffer.hasRemaining()) {
+					if (endOfContent) {
+						channel.endStream();
+						return;
+					}
+					buffer.clear();
+					int read = content.read(buffer.array(), 0, buffer.capacity());
+					if (read < 0) {
+						endOfContent = true;
+						read = 0;
+					}
+					buffer.limit(read);
+				}
+				channel.write(buffer);
+				if (buffer.hasRemaining()) {
+					// The stream window is full; produce is called again once
+					// it opens up.
+					return;
+				}
+			}
+		}
+
+		@Override
+		public int available() {
+			return Integer.MAX_VALUE;
+		}
+
+		@Override
+		public boolean isRepeatable() {
+			return entity.isRepeatable();
+		}
+
+		@Override
+		public long getContentLength() {
+			return entity.getContentLength();
+		}
+
+		@Override
+		public String getContentType() {
+			return contentType;
+		}
+
+		@Override
+		public String getContentEncoding() {
+			return entity.getContentEncoding() != null ? entity.getContentEncoding().getValue() : null;
+		}
+
+		/**
+		 * HTTP/2 frames the body itself, whatever its length.
+		 */
+		@Override
+		public boolean isChunked() {
+			return false;
+		}
+
+		@Override
+		public Set<String> getTrailerNames() {
+			return null;
+		}
+
+		@Override
+		public void failed(Exception cause) {
+			releaseResources();
+		}
+
+		/**
+		 * Closes the content read so far, so that a repeatable body can be
+		 * sent again from the start.
+		 */
+		@Override
+		public void releaseResources() {
+			InputStream content = this.content;
+			this.content = null;
+			endOfContent = false;
+			buffer.limit(0);
+			if (content != null) {
+				try {
+					content.close();
+				} catch (IOException e) {
+					// Closing the content is merely a best effort.
+				}
+			}
+		}
+	}
+}
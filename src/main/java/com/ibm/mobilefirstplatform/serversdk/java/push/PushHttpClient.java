@@ -0,0 +1,189 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.io.IOException;
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.net.ssl.SSLContext;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+
+import com.ibm.mobilefirstplatform.serversdk.java.push.exception.PushServerSDKException;
+
+/**
+ * Long-lived, blocking HTTP client shared by all the requests sent to the Push
+ * Notifications service. The TLS context and the connection pool are created
+ * once, so consecutive sends reuse already established connections instead of
+ * paying a new TCP and TLS handshake each time. Call {@link #close()} to
+ * release the pooled connections and stop the idle connection evictor.
+ */
+public final class PushHttpClient implements PushTransport {
+
+	public static final Logger logger = Logger.getLogger(PushHttpClient.class.getName());
+
+	private final PushHttpClientConfig config;
+	private final PoolingHttpClientConnectionManager connectionManager;
+	private final CloseableHttpClient httpClient;
+
+	public PushHttpClient() {
+		this(PushHttpClientConfig.defaultConfig());
+	}
+
+	public PushHttpClient(PushHttpClientConfig config) {
+		this.config = config != null ? config : PushHttpClientConfig.defaultConfig();
+		this.connectionManager = createConnectionManager(createSSLContext());
+		this.connectionManager.setMaxTotal(this.config.getMaxTotalConnections());
+		this.connectionManager.setDefaultMaxPerRoute(this.config.getMaxConnectionsPerRoute());
+
+		this.httpClient = HttpClients.custom().setConnectionManager(connectionManager)
+				.setKeepAliveStrategy(createKeepAliveStrategy(this.config.getKeepAliveMillis()))
+				.setDefaultRequestConfig(createRequestConfig(this.config))
+				.evictExpiredConnections()
+				.evictIdleConnections(this.config.getIdleConnectionTimeoutMillis(), TimeUnit.MILLISECONDS)
+				.build();
+	}
+
+	public final PushHttpClientConfig getConfig() {
+		return config;
+	}
+
+	public final CloseableHttpClient getHttpClient() {
+		return httpClient;
+	}
+
+	final PoolingHttpClientConnectionManager getConnectionManager() {
+		return connectionManager;
+	}
+
+	/**
+	 * Executes the request on the calling thread; the returned future is
+	 * already completed.
+	 */
+	@Override
+	public CompletableFuture<HttpResponse> execute(HttpUriRequest request) {
+		return execute(httpClient, request);
+	}
+
+	/**
+	 * Executes the request with the given client and buffers the response,
+	 * so that the connection is released before the future completes.
+	 */
+	static CompletableFuture<HttpResponse> execute(CloseableHttpClient httpClient, HttpUriRequest request) {
+		CompletableFuture<HttpResponse> future = new CompletableFuture<HttpResponse>();
+		CloseableHttpResponse response = null;
+		try {
+			response = httpClient.execute(request);
+			if (response.getEntity() != null) {
+				response.setEntity(new BufferedHttpEntity(response.getEntity()));
+			}
+			future.complete(response);
+		} catch (IOException e) {
+			future.completeExceptionally(e);
+		} catch (RuntimeException e) {
+			future.completeExceptionally(e);
+		} finally {
+			if (response != null) {
+				try {
+					response.close();
+				} catch (IOException e) {
+					// Closing response is merely a best effort.
+				}
+			}
+		}
+		return future;
+	}
+
+	@Override
+	public boolean isNonBlocking() {
+		return false;
+	}
+
+	static SSLContext createSSLContext() {
+		try {
+			SSLContext sslContext = SSLContext.getInstance(PushConstants.TLS_VERSION);
+			sslContext.init(null, null, null);
+			return sslContext;
+		} catch (NoSuchAlgorithmException e) {
+			logger.log(Level.SEVERE, e.toString(), e);
+			throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.HTTP_CLIENT_INIT_EXCEPTION, e);
+		} catch (KeyManagementException e) {
+			logger.log(Level.SEVERE, e.toString(), e);
+			throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.HTTP_CLIENT_INIT_EXCEPTION, e);
+		}
+	}
+
+	private static PoolingHttpClientConnectionManager createConnectionManager(SSLContext sslContext) {
+		Registry<ConnectionSocketFactory> registry = RegistryBuilder.<ConnectionSocketFactory> create()
+				.register("http", PlainConnectionSocketFactory.getSocketFactory())
+				.register("https", new SSLConnectionSocketFactory(sslContext))
+				.build();
+		return new PoolingHttpClientConnectionManager(registry);
+	}
+
+	/**
+	 * Bounds every wait of a request, which HttpClient lets last forever by
+	 * default.
+	 */
+	static RequestConfig createRequestConfig(PushHttpClientConfig config) {
+		return RequestConfig.custom().setConnectTimeout(config.getConnectTimeoutMillis())
+				.setConnectionRequestTimeout(config.getConnectionRequestTimeoutMillis())
+				.setSocketTimeout(config.getSocketTimeoutMillis()).build();
+	}
+
+	/**
+	 * Honours the Keep-Alive timeout sent by the server and falls back to the
+	 * configured value, so pooled connections are never kept forever.
+	 */
+	static ConnectionKeepAliveStrategy createKeepAliveStrategy(final long defaultKeepAliveMillis) {
+		return new ConnectionKeepAliveStrategy() {
+			@Override
+			public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+				long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+				return keepAlive > 0 ? keepAlive : defaultKeepAliveMillis;
+			}
+		};
+	}
+
+	@Override
+	public void close() {
+		try {
+			httpClient.close();
+		} catch (IOException e) {
+			logger.log(Level.SEVERE, e.toString(), e);
+		} finally {
+			connectionManager.shutdown();
+		}
+	}
+}
@@ -0,0 +1,243 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+/**
+ *
+ * Connection settings used by {@link PushHttpClient},
+ * {@link PushAsyncHttpClient} and {@link PushHttp2Client} when talking to the
+ * Push Notifications service.
+ *
+ */
+public final class PushHttpClientConfig {
+
+	public static final int DEFAULT_MAX_TOTAL_CONNECTIONS = 50;
+	public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 20;
+	public static final long DEFAULT_KEEP_ALIVE_MILLIS = 30000L;
+	public static final long DEFAULT_IDLE_CONNECTION_TIMEOUT_MILLIS = 60000L;
+	public static final int DEFAULT_IO_THREAD_COUNT = Runtime.getRuntime().availableProcessors();
+	public static final int DEFAULT_MAX_CONCURRENT_STREAMS = 100;
+	public static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 10000;
+	public static final int DEFAULT_CONNECTION_REQUEST_TIMEOUT_MILLIS = 10000;
+	public static final int DEFAULT_SOCKET_TIMEOUT_MILLIS = 30000;
+
+	private int maxTotalConnections;
+	private int maxConnectionsPerRoute;
+	private long keepAliveMillis;
+	private long idleConnectionTimeoutMillis;
+	private int ioThreadCount;
+	private int maxConcurrentStreams;
+	private int connectTimeoutMillis;
+	private int connectionRequestTimeoutMillis;
+	private int socketTimeoutMillis;
+
+	public final int getMaxTotalConnections() {
+		return maxTotalConnections;
+	}
+
+	public final int getMaxConnectionsPerRoute() {
+		return maxConnectionsPerRoute;
+	}
+
+	public final long getKeepAliveMillis() {
+		return keepAliveMillis;
+	}
+
+	public final long getIdleConnectionTimeoutMillis() {
+		return idleConnectionTimeoutMillis;
+	}
+
+	public final int getIoThreadCount() {
+		return ioThreadCount;
+	}
+
+	public final int getMaxConcurrentStreams() {
+		return maxConcurrentStreams;
+	}
+
+	public final int getConnectTimeoutMillis() {
+		return connectTimeoutMillis;
+	}
+
+	public final int getConnectionRequestTimeoutMillis() {
+		return connectionRequestTimeoutMillis;
+	}
+
+	public final int getSocketTimeoutMillis() {
+		return socketTimeoutMillis;
+	}
+
+	private PushHttpClientConfig(Builder builder) {
+		this.maxTotalConnections = builder.maxTotalConnections;
+		this.maxConnectionsPerRoute = builder.maxConnectionsPerRoute;
+		this.keepAliveMillis = builder.keepAliveMillis;
+		this.idleConnectionTimeoutMillis = builder.idleConnectionTimeoutMillis;
+		this.ioThreadCount = builder.ioThreadCount;
+		this.maxConcurrentStreams = builder.maxConcurrentStreams;
+		this.connectTimeoutMillis = builder.connectTimeoutMillis;
+		this.connectionRequestTimeoutMillis = builder.connectionRequestTimeoutMillis;
+		this.socketTimeoutMillis = builder.socketTimeoutMillis;
+	}
+
+	/**
+	 *
+	 * @return a {@link PushHttpClientConfig} with all the default values.
+	 */
+	public static PushHttpClientConfig defaultConfig() {
+		return new Builder().build();
+	}
+
+	/**
+	 *
+	 * Builder for {@link PushHttpClientConfig}.
+	 *
+	 */
+	public static class Builder {
+
+		private int maxTotalConnections = DEFAULT_MAX_TOTAL_CONNECTIONS;
+		private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+		private long keepAliveMillis = DEFAULT_KEEP_ALIVE_MILLIS;
+		private long idleConnectionTimeoutMillis = DEFAULT_IDLE_CONNECTION_TIMEOUT_MILLIS;
+		private int ioThreadCount = DEFAULT_IO_THREAD_COUNT;
+		private int maxConcurrentStreams = DEFAULT_MAX_CONCURRENT_STREAMS;
+		private int connectTimeoutMillis = DEFAULT_CONNECT_TIMEOUT_MILLIS;
+		private int connectionRequestTimeoutMillis = DEFAULT_CONNECTION_REQUEST_TIMEOUT_MILLIS;
+		private int socketTimeoutMillis = DEFAULT_SOCKET_TIMEOUT_MILLIS;
+
+		/**
+		 *
+		 * @param maxTotalConnections
+		 *            The maximum number of pooled connections across all
+		 *            routes.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder maxTotalConnections(int maxTotalConnections) {
+			this.maxTotalConnections = maxTotalConnections;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param maxConnectionsPerRoute
+		 *            The maximum number of pooled connections to a single host,
+		 *            for example the push endpoint of one region.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder maxConnectionsPerRoute(int maxConnectionsPerRoute) {
+			this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param keepAliveMillis
+		 *            How long an idle connection is kept open for reuse when the
+		 *            server does not send a Keep-Alive timeout of its own.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder keepAliveMillis(long keepAliveMillis) {
+			this.keepAliveMillis = keepAliveMillis;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param idleConnectionTimeoutMillis
+		 *            Connections idle for longer than this are closed by the
+		 *            background evictor, along with expired ones.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder idleConnectionTimeoutMillis(long idleConnectionTimeoutMillis) {
+			this.idleConnectionTimeoutMillis = idleConnectionTimeoutMillis;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param ioThreadCount
+		 *            The number of I/O dispatcher threads of
+		 *            {@link PushAsyncHttpClient} and {@link PushHttp2Client}.
+		 *            Defaults to the number of available processors.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder ioThreadCount(int ioThreadCount) {
+			this.ioThreadCount = ioThreadCount;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param maxConcurrentStreams
+		 *            The maximum number of requests {@link PushHttp2Client}
+		 *            multiplexes over its connection at the same time. Further
+		 *            requests wait for a stream to complete.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder maxConcurrentStreams(int maxConcurrentStreams) {
+			this.maxConcurrentStreams = maxConcurrentStreams;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param connectTimeoutMillis
+		 *            How long to wait for a new connection, including the TLS
+		 *            handshake, to be established. 0 waits forever.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder connectTimeoutMillis(int connectTimeoutMillis) {
+			this.connectTimeoutMillis = connectTimeoutMillis;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param connectionRequestTimeoutMillis
+		 *            How long to wait for a connection from the pool when all
+		 *            of them are in use. Not used by {@link PushHttp2Client},
+		 *            whose queued requests are only bounded by the timeout of
+		 *            the call. 0 waits forever.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder connectionRequestTimeoutMillis(int connectionRequestTimeoutMillis) {
+			this.connectionRequestTimeoutMillis = connectionRequestTimeoutMillis;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param socketTimeoutMillis
+		 *            The longest time without any data received while waiting
+		 *            for a response. 0 waits forever.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder socketTimeoutMillis(int socketTimeoutMillis) {
+			this.socketTimeoutMillis = socketTimeoutMillis;
+			return this;
+		}
+
+		/**
+		 *
+		 * @return the {@link PushHttpClientConfig} object.
+		 */
+		public final PushHttpClientConfig build() {
+			if (maxTotalConnections <= 0 || maxConnectionsPerRoute <= 0 || ioThreadCount <= 0 || maxConcurrentStreams <= 0
+					|| idleConnectionTimeoutMillis <= 0 || connectTimeoutMillis < 0 || connectionRequestTimeoutMillis < 0
+					|| socketTimeoutMillis < 0) {
+				throw new IllegalArgumentException(PushConstants.PushServerSDKExceptions.INVALID_HTTP_CLIENT_CONFIG_EXCEPTION);
+			}
+			return new PushHttpClientConfig(this);
+		}
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ibm.mobilefirstplatform.serversdk.java.push.exception.PushServerSDKException;
+
+/**
+ * The Jackson configuration shared by the whole SDK. Mappers and writers are
+ * thread-safe once configured, so they are created once instead of on every
+ * notification.
+ */
+final class PushJson {
+
+	static final Logger logger = Logger.getLogger(PushJson.class.getName());
+
+	static final ObjectMapper MAPPER = new ObjectMapper().setSerializationInclusion(Include.NON_EMPTY)
+			.addMixIn(Settings.class, SettingsMixin.class);
+
+	/**
+	 * Writes notifications in the format expected by the Push Notifications
+	 * service.
+	 */
+	static final ObjectWriter WRITER = MAPPER.writer();
+
+	private PushJson() {
+
+	}
+
+	/**
+	 * Serializes the given object straight to UTF-8 encoded JSON.
+	 *
+	 * @param obj
+	 *            The object which needs to be serialized.
+	 * @return The JSON bytes of the object.
+	 */
+	static byte[] toBytes(Object obj) {
+		try {
+			return WRITER.writeValueAsBytes(obj);
+		} catch (JsonProcessingException e) {
+			logger.log(Level.SEVERE, e.toString(), e);
+			throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.JSON_SERIALIZATION_EXCEPTION, e);
+		}
+	}
+
+	/**
+	 * Converts a payload given as a {@link JSONObject} to a Jackson tree, node
+	 * by node, without printing and parsing it again.
+	 *
+	 * @param object
+	 *            The payload.
+	 * @return The equivalent tree.
+	 */
+	static ObjectNode toTree(JSONObject object) {
+		ObjectNode node = MAPPER.getNodeFactory().objectNode();
+		for (String key : object.keySet()) {
+			node.set(key, toTree(object.opt(key)));
+		}
+		return node;
+	}
+
+	private static JsonNode toTree(Object value) {
+		JsonNodeFactory factory = MAPPER.getNodeFactory();
+		if (value instanceof JSONObject) {
+			return toTree((JSONObject) value);
+		}
+		if (value instanceof JSONArray) {
+			JSONArray array = (JSONArray) value;
+			ArrayNode node = factory.arrayNode(array.length());
+			for (int i = 0; i < array.length(); i++) {
+				node.add(toTree(array.opt(i)));
+			}
+			return node;
+		}
+		if (value == null || JSONObject.NULL.equals(value)) {
+			return factory.nullNode();
+		}
+		if (value instanceof String) {
+			return factory.textNode((String) value);
+		}
+		if (value instanceof Boolean) {
+			return factory.booleanNode((Boolean) value);
+		}
+		if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			return factory.numberNode(((Number) value).intValue());
+		}
+		if (value instanceof Long) {
+			return factory.numberNode((Long) value);
+		}
+		if (value instanceof Double) {
+			return factory.numberNode((Double) value);
+		}
+		if (value instanceof Float) {
+			// Widening to double would print 0.1f as 0.10000000149011612.
+			return factory.numberNode((Float) value);
+		}
+		if (value instanceof BigInteger) {
+			return factory.numberNode((BigInteger) value);
+		}
+		if (value instanceof BigDecimal) {
+			return factory.numberNode((BigDecimal) value);
+		}
+		// Anything else is written the way JSONObject itself would write it.
+		try {
+			return MAPPER.readTree(JSONObject.valueToString(value));
+		} catch (IOException e) {
+			throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.JSON_SERIALIZATION_EXCEPTION, e);
+		}
+	}
+
+	/**
+	 * The service still expects the Android settings under their former
+	 * {@code gcm} name.
+	 */
+	abstract static class SettingsMixin {
+		@JsonProperty("gcm")
+		abstract FCM getFcm();
+	}
+}
@@ -0,0 +1,165 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+/**
+ * Receives the measurements of a {@link PushClient}, to be recorded in a
+ * metrics library. Set an implementation with
+ * {@link PushClient.Builder#metrics(PushMetrics)}; by default nothing is
+ * recorded. Extend {@link NoopPushMetrics} to implement only some of the
+ * methods.
+ * <p>
+ * The methods are called on the threads that send the requests, so they must
+ * be thread-safe, return quickly and not throw.
+ */
+public interface PushMetrics {
+
+	/**
+	 * The endpoint of single push notifications.
+	 */
+	String MESSAGES = "messages";
+
+	/**
+	 * The bulk endpoint of the Push Notifications service.
+	 */
+	String BULK = "bulk";
+
+	/**
+	 * The token endpoint of IAM.
+	 */
+	String IAM = "iam";
+
+	/**
+	 * Called once a send method has completed, whatever its outcome.
+	 *
+	 * @param endpoint
+	 *            {@link #MESSAGES} or {@link #BULK}.
+	 * @param notifications
+	 *            The number of notifications sent by the call, or -1 if it
+	 *            is not known, as for bulk requests built by subclasses of
+	 *            {@link PushClient}.
+	 * @param statusCode
+	 *            The status of the last response, or null if none was
+	 *            received.
+	 * @param failure
+	 *            Why no response was received, or null.
+	 * @param durationNanos
+	 *            How long the call took, including the time spent waiting for
+	 *            a slot, an access token and between retries.
+	 */
+	void callCompleted(String endpoint, int notifications, Integer statusCode, Throwable failure, long durationNanos);
+
+	/**
+	 * Called for each attempt that was answered, including those retried
+	 * afterwards.
+	 *
+	 * @param endpoint
+	 *            {@link #MESSAGES}, {@link #BULK} or {@link #IAM}.
+	 * @param statusCode
+	 *            The status of the response.
+	 * @param requestBytes
+	 *            The size of the request body, or -1 if it is not known.
+	 * @param responseBytes
+	 *            The size of the response body, or -1 if it is not known.
+	 * @param latencyNanos
+	 *            How long the transport took to answer.
+	 */
+	void requestCompleted(String endpoint, int statusCode, long requestBytes, long responseBytes, long latencyNanos);
+
+	/**
+	 * Called for each attempt that got no response.
+	 *
+	 * @param endpoint
+	 *            {@link #MESSAGES}, {@link #BULK} or {@link #IAM}.
+	 * @param failure
+	 *            The error the transport failed with.
+	 * @param latencyNanos
+	 *            How long the transport took to fail.
+	 */
+	void requestFailed(String endpoint, Throwable failure, long latencyNanos);
+
+	/**
+	 * Called each time a failed attempt is scheduled to be sent again.
+	 *
+	 * @param endpoint
+	 *            {@link #MESSAGES}, {@link #BULK} or {@link #IAM}.
+	 * @param delayMillis
+	 *            How long the retry waits.
+	 */
+	void retryScheduled(String endpoint, long delayMillis);
+
+	/**
+	 * Called each time a notification is encoded to JSON or a template is
+	 * rendered. Notifications are encoded once, however often they are sent.
+	 *
+	 * @param bytes
+	 *            The size of the encoded notification.
+	 * @param durationNanos
+	 *            How long the encoding took.
+	 */
+	void notificationEncoded(int bytes, long durationNanos);
+
+	/**
+	 * Called each time an IAM access token was requested.
+	 *
+	 * @param success
+	 *            Whether a token was received.
+	 * @param durationNanos
+	 *            How long the token request took, including retries.
+	 */
+	void tokenFetched(boolean success, long durationNanos);
+
+	/**
+	 * Called once, when the push client is built, with the current state of
+	 * its connection pool and queues, to be sampled as gauges.
+	 *
+	 * @param gauges
+	 *            The state of the push client.
+	 */
+	void bindGauges(Gauges gauges);
+
+	/**
+	 * The state of a push client. Connections are only reported for the
+	 * transports of the SDK; for {@link PushHttp2Client} they are the streams
+	 * of its connection.
+	 */
+	interface Gauges {
+
+		/**
+		 * @return The number of connections sending a request.
+		 */
+		int getLeasedConnections();
+
+		/**
+		 * @return The number of idle connections kept open.
+		 */
+		int getAvailableConnections();
+
+		/**
+		 * @return The number of requests waiting for a connection.
+		 */
+		int getPendingConnections();
+
+		/**
+		 * @return The number of asynchronous calls in flight.
+		 */
+		int getInFlightRequests();
+
+		/**
+		 * @return The number of calls waiting for an in-flight slot or for a
+		 *         slot of the adaptive concurrency limit.
+		 */
+		int getQueuedRequests();
+	}
+}
@@ -13,40 +13,28 @@
 
 package com.ibm.mobilefirstplatform.serversdk.java.push;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.security.KeyManagementException;
-import java.security.NoSuchAlgorithmException;
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import javax.net.ssl.SSLContext;
-
-import org.apache.http.HttpStatus;
-import org.apache.http.NameValuePair;
-import org.apache.http.ParseException;
-import org.apache.http.client.ClientProtocolException;
-import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
-import org.apache.http.entity.StringEntity;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.message.BasicNameValuePair;
-import org.apache.http.protocol.HTTP;
-import org.apache.http.util.EntityUtils;
 import org.json.JSONObject;
 
-import com.fasterxml.jackson.annotation.JsonInclude.Include;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.ibm.mobilefirstplatform.serversdk.java.push.exception.PushServerSDKException;
 
 /**
  * This class is used to send notifications from a Java server to mobile devices
- * using the Push Notification service.
+ * using the Push Notification service. It is a static facade over a default
+ * {@link PushClient}; create {@link PushClient} instances directly to talk to
+ * several tenants or regions from the same application.
  */
 public class PushNotifications {
 	public static final String US_SOUTH_REGION = "us-south";
@@ -59,17 +47,48 @@ public class PushNotifications {
 
 	public static final Logger logger = Logger.getLogger(PushNotifications.class.getName());
 
+	/**
+	 * @deprecated The secret of the default client, kept for subclasses. Use
+	 *             {@link #getDefaultClient()} instead; changing this field
+	 *             has no effect.
+	 */
+	@Deprecated
 	protected static String secret;
-	
+
+	/**
+	 * @deprecated The API key of the default client, kept for subclasses.
+	 *             Changing this field has no effect.
+	 */
+	@Deprecated
 	protected static String apiKeyIdIs;
-	
+
+	/**
+	 * @deprecated No longer maintained: IAM tokens are kept by each
+	 *             {@link PushClient}.
+	 */
+	@Deprecated
 	protected static long apiKeyExpireyTime;
-	
+
+	/**
+	 * @deprecated No longer maintained: IAM tokens are kept by each
+	 *             {@link PushClient}.
+	 */
+	@Deprecated
 	protected static String accessToken;
-	
+
+	/**
+	 * @deprecated The endpoint of the default client, kept for subclasses.
+	 *             Use {@link PushClient#getPushMessageEndpointURL()} instead;
+	 *             changing this field has no effect.
+	 */
+	@Deprecated
 	protected static String pushMessageEndpointURL;
 
-	private static  PushNotificationsResponseListener pushListner;
+	private static PushClient.Builder defaultClientBuilder;
+
+	private static PushHttpClientConfig httpClientConfig;
+
+	private static volatile PushClient defaultClient;
 	
 	/**
 	 * Overrides default server host with the provided host. It
@@ -94,18 +113,8 @@ public class PushNotifications {
 	 *            hosted. For example, US_SOUTH_REGION.
 	 */
 	public static void init(String tenantId, String pushSecret, String ibmCloudRegion) {
-		secret = pushSecret;
-
-		createPushEndPointUrl(tenantId, ibmCloudRegion);
-
-	}
-	
-	private static void createPushEndPointUrl(String tenantId, String ibmCloudRegion) {
-		if (overrideServerHost != null) {
-			pushMessageEndpointURL = overrideServerHost + PushConstants.URL + tenantId + PushConstants.API;
-		} else {
-			pushMessageEndpointURL = "https://" + ibmCloudRegion + PushConstants.HOST + PushConstants.URL + tenantId + PushConstants.API;
-		}
+		setDefaultClientBuilder(new PushClient.Builder().tenantId(tenantId).pushSecret(pushSecret)
+				.region(ibmCloudRegion).serverHost(overrideServerHost));
 	}
 
 	/**
@@ -149,56 +158,113 @@ public class PushNotifications {
 		if (apiKeyIdIs == null) {
 			apiKeyIdIs = getPushApiKeyFromVCAP();	
 		}
-		if (tenantId != null && apiKeyId != null) {
-			createPushEndPointUrl(tenantId, ibmCloudRegionn);
+		if (tenantIdIs != null && apiKeyIdIs != null) {
+			setDefaultClientBuilder(new PushClient.Builder().tenantId(tenantIdIs).apiKey(apiKeyIdIs)
+					.region(ibmCloudRegionn).serverHost(overrideServerHost));
 		} else {
 			PushServerSDKException exception = new PushServerSDKException(PushConstants.PushServerSDKExceptions.PUSH_INIT_EXCEPTION);
 			logger.log(Level.SEVERE, exception.toString(), exception);
 			throw exception;
 		}		
 	}
-	
-	public static CloseableHttpResponse getAuthToken() {
-		CloseableHttpClient httpClient = HttpClients.createDefault();
-
-		String iamUri = PushConstants.IAM_URI + PushConstants.IAM_TOKEN_PATH;
-		
-		if (overrideServerHost != null) {
-			iamUri = PushConstants.IAM_URI_TEST + PushConstants.IAM_TOKEN_PATH;
-		}
-		HttpPost pushPost = new HttpPost(iamUri);
 
-		pushPost.addHeader(HTTP.CONTENT_TYPE, PushConstants.IAM_CONTENT_TYPE);
-		List <NameValuePair> nvps = new ArrayList <NameValuePair>();
-		nvps.add(new BasicNameValuePair(PushConstants.GRANT_TYPE, PushConstants.GRANT_TYPE_VALUE_APIKEY));
-		nvps.add(new BasicNameValuePair("apikey", apiKeyIdIs));
+	private static synchronized void setDefaultClientBuilder(PushClient.Builder builder) {
+		PushClient client = builder.httpClientConfig(httpClientConfig).build();
+		shutdown();
+		defaultClientBuilder = builder;
+		defaultClient = client;
+		secret = client.getPushSecret();
+		pushMessageEndpointURL = client.getPushMessageEndpointURL();
+	}
 
-			try {
-				pushPost.setEntity(new UrlEncodedFormEntity(nvps,  PushConstants.UTFEIGHT));
-				return httpClient.execute(pushPost);
-			} catch (IOException e) {
-				logger.log(Level.SEVERE, e.toString(), e);
-				throw  new PushServerSDKException(PushConstants.PushServerSDKExceptions.IAM_FAILURE_EXCEPTION, e);
-			} 
-		
+	/**
+	 * Returns the client used by the static methods of this class, creating it
+	 * again if it was shut down.
+	 * 
+	 * @return The default {@link PushClient}, or null if none of the init
+	 *         methods has been called.
+	 */
+	public static PushClient getDefaultClient() {
+		PushClient client = defaultClient;
+		if (client != null) {
+			return client;
+		}
+		synchronized (PushNotifications.class) {
+			if (defaultClient == null && defaultClientBuilder != null) {
+				defaultClient = defaultClientBuilder.httpClientConfig(httpClientConfig).build();
+			}
+			return defaultClient;
+		}
 	}
 
-	protected static String getApplicationIdFromVCAP() {
-		String vcapServicesAsString = getEnvironmentVariable(PushConstants.VCAP_SERVICES);
+	/**
+	 * Configures the connection pool used to send notifications. Any client
+	 * created with a previous configuration is closed, and the next send
+	 * creates a new one with these settings.
+	 * 
+	 * @param config
+	 *            The connection pool settings, or null to use the defaults.
+	 */
+	public static synchronized void setHttpClientConfig(PushHttpClientConfig config) {
+		httpClientConfig = config;
+		shutdown();
+	}
 
-		if (vcapServicesAsString != null) {
-			JSONObject vcapServices = new JSONObject(vcapServicesAsString);
+	/**
+	 * Closes the default client and releases its pooled connections. The next
+	 * send creates a new client, so this can also be used to drop all
+	 * connections.
+	 */
+	public static synchronized void shutdown() {
+		PushClient client = defaultClient;
+		defaultClient = null;
+		if (client != null) {
+			client.close();
+		}
+	}
 
-			if (vcapServices.has(PushConstants.IMFPUSH)) {
-				JSONObject imfPushCredentials = vcapServices.getJSONArray(PushConstants.IMFPUSH).optJSONObject(0)
-						.optJSONObject(PushConstants.CREDENTIALS);
+	/**
+	 * Forgets the configuration given to the init methods. Only meant for
+	 * tests.
+	 */
+	static synchronized void reset() {
+		shutdown();
+		defaultClientBuilder = null;
+		secret = null;
+		apiKeyIdIs = null;
+		pushMessageEndpointURL = null;
+	}
+	
+	/**
+	 * Requests a new IAM access token with the API key given to
+	 * {@link #initWithApiKey(String, String, String)}.
+	 * 
+	 * @return The access token.
+	 * @see PushClient#fetchIamToken()
+	 */
+	public static IamToken fetchIamToken() {
+		PushClient client = getDefaultClient();
+		if (client == null) {
+			throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.NOT_PROPERLY_INITIALIZED_EXCEPTION);
+		}
+		return client.fetchIamToken();
+	}
 
-				if (imfPushCredentials != null) {
-					return imfPushCredentials.optString(PushConstants.APPGUID);
-				}
-			}
+	/**
+	 * @return The raw response of the IAM token endpoint.
+	 * @deprecated Use {@link #fetchIamToken()}, which parses the response.
+	 */
+	@Deprecated
+	public static CloseableHttpResponse getAuthToken() {
+		PushClient client = getDefaultClient();
+		if (client == null) {
+			throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.NOT_PROPERLY_INITIALIZED_EXCEPTION);
 		}
-		return null;
+		return client.getAuthToken();
+	}
+
+	protected static String getApplicationIdFromVCAP() {
+		return getCredentialFromVCAP(PushConstants.APPGUID);
 	}
 
 	protected static String getEnvironmentVariable(String name) {
@@ -206,37 +272,35 @@ public class PushNotifications {
 	}
 
 	protected static String getPushSecretFromVCAP() {
-		String vcapServicesAsString = getEnvironmentVariable(PushConstants.VCAP_SERVICES);
-
-		if (vcapServicesAsString != null) {
-			JSONObject vcapServices = new JSONObject(vcapServicesAsString);
-
-			if (vcapServices.has(PushConstants.IMFPUSH)) {
-				JSONObject imfPushCredentials = vcapServices.getJSONArray(PushConstants.IMFPUSH).optJSONObject(0)
-						.optJSONObject(PushConstants.CREDENTIALS);
-
-				if (imfPushCredentials != null) {
-					return imfPushCredentials.optString(PushConstants.APPSECRET);
-				}
-			}
-		}
-
-		return null;
+		return getCredentialFromVCAP(PushConstants.APPSECRET);
 	}
 	
 	protected static String getPushApiKeyFromVCAP() {
+		return getCredentialFromVCAP(PushConstants.APIKEY);
+	}
+
+	/**
+	 * @return The given field of the credentials of the first Push
+	 *         Notifications service bound to the application, an empty string
+	 *         if they have no such field, or null if there are no credentials.
+	 */
+	private static String getCredentialFromVCAP(String name) {
 		String vcapServicesAsString = getEnvironmentVariable(PushConstants.VCAP_SERVICES);
 
 		if (vcapServicesAsString != null) {
-			JSONObject vcapServices = new JSONObject(vcapServicesAsString);
+			JsonNode vcapServices;
+			try {
+				vcapServices = PushJson.MAPPER.readTree(vcapServicesAsString);
+			} catch (IOException e) {
+				throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.JSON_PARSER_EXCEPTION, e);
+			}
 
-			if (vcapServices.has(PushConstants.IMFPUSH)) {
-				JSONObject imfPushCredentials = vcapServices.getJSONArray(PushConstants.IMFPUSH).optJSONObject(0)
-						.optJSONObject(PushConstants.CREDENTIALS);
+			JsonNode imfPushCredentials = vcapServices != null
+					? vcapServices.path(PushConstants.IMFPUSH).path(0).path(PushConstants.CREDENTIALS) : null;
 
-				if (imfPushCredentials != null) {
-					return imfPushCredentials.optString(PushConstants.APIKEY);
-				}
+			if (imfPushCredentials != null && imfPushCredentials.isObject()) {
+				JsonNode value = imfPushCredentials.get(name);
+				return value == null || value.isNull() ? "" : value.asText();
 			}
 		}
 
@@ -250,268 +314,155 @@ public class PushNotifications {
 	 * @param notification
 	 *            The push notification to be sent.
 	 * @param listener
-	 *            Optional PushNotificationsResponseListener to listen to the
+	 *            Optional PushNotificationsResponseListener to listen to the
 	 *            result of this operation.
 	 */
 	public static void send(Notification notification, PushNotificationsResponseListener listener) {
-		pushListner = listener;
-		if (pushMessageEndpointURL == null || pushMessageEndpointURL.length() == 0) {
-			Throwable exception = new RuntimeException(PushConstants.PushServerSDKExceptions.NULL_NOTIFICATION_EXCEPTION);
-			logger.log(Level.SEVERE, exception.toString(), exception);
-			
-			if (listener != null) {
-				listener.onFailure(null, null, exception);
-			}
-			return;
+		PushClient client = getInitializedClient(listener);
+		if (client != null) {
+			client.send(notification, listener);
 		}
-
-		if (notification == null) {
-			Throwable exception = new IllegalArgumentException(PushConstants.PushServerSDKExceptions.NULL_NOTIFICATION_EXCEPTION);
-			logger.log(Level.SEVERE, exception.toString(), exception);
-			if (listener != null) {
-				listener.onFailure(null, null, exception);
-			}
-			return;
-		}
-
-		CloseableHttpClient httpClient = enableTLS();
-		
-		PushMessageModel model = new PushMessageModel.Builder().message(notification.getMessage())
-				.target(notification.getTarget()).settings(notification.getSettings()).build();
-
-		JSONObject notificationJson = generateJSON(model);
-		
-		HttpPost pushPost = null;
-
-		pushPost = createPushPostRequest(notificationJson);
-
-		executePushPostRequest(pushPost, httpClient, listener);
-		
 	}
 	
 	public static void sendBulk(Notification[] notifications, PushNotificationsResponseListener listener) {
-		
-		pushListner = listener;
-		if (pushMessageEndpointURL == null || pushMessageEndpointURL.length() == 0) {
-			Throwable exception = new RuntimeException(PushConstants.PushServerSDKExceptions.NOT_PROPERLY_INITIALIZED_EXCEPTION);
-			logger.log(Level.SEVERE, exception.toString(), exception);
-
-			if (listener != null) {
-				listener.onFailure(null, null, exception);
-			}
-			return;
-		}
-
-		if (notifications.length == 0) {
-			Throwable exception = new IllegalArgumentException(PushConstants.PushServerSDKExceptions.NULL_NOTIFICATION_EXCEPTION);
-			logger.log(Level.SEVERE, exception.toString(), exception);
-			if (listener != null) {
-				listener.onFailure(null, null, exception);
-			}
-			return;
+		PushClient client = getInitializedClient(listener);
+		if (client != null) {
+			client.sendBulk(notifications, listener);
 		}
+	}
 
-		CloseableHttpClient httpClient = enableTLS();
-		
-		List<JSONObject> MessageJson = new ArrayList<JSONObject>();
-		for (Notification notification: notifications){
-			
-			PushMessageModel model = new PushMessageModel.Builder().message(notification.getMessage())
-					.target(notification.getTarget()).settings(notification.getSettings()).build();
-
-			JSONObject notificationJson = generateJSON(model);
-			MessageJson.add(notificationJson);
+	/**
+	 * Send the given push notification without blocking the caller.
+	 * 
+	 * @param notification
+	 *            The push notification to be sent.
+	 * @return A future completed with the response of the service.
+	 * @see PushClient#sendAsync(Notification)
+	 */
+	public static CompletableFuture<PushResult> sendAsync(Notification notification) {
+		PushClient client = getInitializedClient(null);
+		if (client == null) {
+			return PushClient.failedFuture(new PushServerSDKException(PushConstants.PushServerSDKExceptions.NOT_PROPERLY_INITIALIZED_EXCEPTION));
 		}
-		
-		
-		HttpPost pushPost = createBulkPushPostRequest(MessageJson);
-
-		executePushPostRequest(pushPost, httpClient, listener);
+		return client.sendAsync(notification);
 	}
 
-	private static CloseableHttpClient enableTLS() {
-		CloseableHttpClient httpClient = null;
-		SSLContext sslContext = null;
-		try {
-			sslContext = SSLContext.getInstance(PushConstants.TLS_VERSION);
-			sslContext.init(null, null, null);
-			httpClient = HttpClients.custom().setSSLContext(sslContext).build();
-		} catch (NoSuchAlgorithmException e) {
-			logger.log(Level.SEVERE, e.toString(), e);
-		} catch (KeyManagementException e) {
-			logger.log(Level.SEVERE, e.toString(), e);
+	/**
+	 * Send the given push notifications in a single bulk request without
+	 * blocking the caller.
+	 * 
+	 * @param notifications
+	 *            The push notifications to be sent.
+	 * @return A future completed with the response of the service.
+	 * @see PushClient#sendBulkAsync(Notification[])
+	 */
+	public static CompletableFuture<BulkPushResult> sendBulkAsync(Notification[] notifications) {
+		PushClient client = getInitializedClient(null);
+		if (client == null) {
+			return PushClient.failedFuture(new PushServerSDKException(PushConstants.PushServerSDKExceptions.NOT_PROPERLY_INITIALIZED_EXCEPTION));
 		}
-		return httpClient;
-		
+		return client.sendBulkAsync(notifications);
 	}
 
 	/**
-	 * API converts object to json format.
-	 * 
-	 * @param obj
-	 *            The object which needs to be serialized as json string.
+	 * Send the given push notifications in parallel bulk requests of limited
+	 * size, blocking until all of them have completed.
 	 * 
-	 * @return Return a JSONOject for the passed object.
+	 * @param notifications
+	 *            The push notifications to be sent.
+	 * @return The outcome of each bulk request.
+	 * @see PushClient#dispatchBulk(Notification[])
 	 */
-	private static JSONObject generateJSON(Object obj) {
-
-		ObjectMapper mapper = new ObjectMapper();
-
-		String jsonString = null;
-		try {
-			mapper.setSerializationInclusion(Include.NON_EMPTY);
-			jsonString = mapper.writeValueAsString(obj);
-
-		} catch (JsonProcessingException exception) {
-
-			logger.log(Level.SEVERE, exception.toString(), exception);
+	public static BulkDispatchReport dispatchBulk(Notification[] notifications) {
+		PushClient client = getInitializedClient(null);
+		if (client == null) {
+			throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.NOT_PROPERLY_INITIALIZED_EXCEPTION);
 		}
+		return client.dispatchBulk(notifications);
+	}
 
-		JSONObject json = jsonString != null ? new JSONObject(jsonString) : new JSONObject();
-		
-		if (json.has("settings")) {
-			
-			JSONObject settingsJson = json.getJSONObject("settings");
-			if(settingsJson.has("fcm")) {
-				settingsJson.put("gcm", settingsJson.getJSONObject("fcm"));
-				settingsJson.remove("fcm");
-			}
+	/**
+	 * @deprecated Use {@link PushClient#send(Notification, PushNotificationsResponseListener)}.
+	 */
+	@Deprecated
+	protected static HttpPost createPushPostRequest(JSONObject notification) {
+		PushClient client = getDefaultClient();
+		if (client == null) {
+			throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.NOT_PROPERLY_INITIALIZED_EXCEPTION);
 		}
-
-		return json;
+		return client.createPushPostRequest(notification.toString().getBytes(StandardCharsets.UTF_8), null);
 	}
 
-	protected static HttpPost createPushPostRequest(JSONObject notification)  {
-		HttpPost pushPost = new HttpPost(pushMessageEndpointURL);
-
-		pushPost.addHeader(HTTP.CONTENT_TYPE, PushConstants.CONTENT_TYPE);
-		
-		setHeader(pushPost);
-		StringEntity body = new StringEntity(notification.toString(), PushConstants.UTFEIGHT);
-		pushPost.setEntity(body);
-
-		return pushPost;
-	}
-	
+	/**
+	 * @deprecated Use {@link PushClient#sendBulk(Notification[], PushNotificationsResponseListener)}.
+	 */
+	@Deprecated
 	protected static HttpPost createBulkPushPostRequest(List<JSONObject> messageJson) {
-		HttpPost pushPost = new HttpPost(pushMessageEndpointURL + "/bulk");
-
-		pushPost.addHeader(HTTP.CONTENT_TYPE, PushConstants.CONTENT_TYPE);
-		setHeader(pushPost);
-		
-		StringEntity body = new StringEntity(messageJson.toString(), PushConstants.UTFEIGHT);
-		pushPost.setEntity(body);
-
-		return pushPost;
-	}
-
-	private static void setHeader(HttpPost pushPost) {
-		if (secret != null) {
-			pushPost.addHeader(PushConstants.APPSECRET, secret);
-		} else {
-			CloseableHttpResponse auth = null;
-			try {
-				if (accessToken == null || (apiKeyExpireyTime - (System.currentTimeMillis() / 1000)) < 0) {
-					auth = getAuthToken();
-					JSONObject json = null;
-					json = new JSONObject(EntityUtils.toString(auth.getEntity()));
-					int statusCode = auth.getStatusLine().getStatusCode();
-					String resonPhrase = auth.getStatusLine().getReasonPhrase();
-
-					if (statusCode == 200) {
-						accessToken = json.getString(PushConstants.ACCESS_TOKEN);
-						apiKeyExpireyTime = json.getInt(PushConstants.EXPIRATION);
-						pushPost.addHeader(PushConstants.AUTHORIZATION_HEADER,
-								PushConstants.BEARER + PushConstants.EMPTY_SPACE + accessToken);
-					} else {
-						PushServerSDKException pushServerSDKException = new PushServerSDKException(resonPhrase);
-						if (pushListner != null) {
-							pushListner.onFailure(statusCode, pushServerSDKException.getLocalizedMessage(),
-									pushServerSDKException);
-						}
-						throw pushServerSDKException;
-
-					}
-				} else {
-					pushPost.addHeader(PushConstants.AUTHORIZATION_HEADER, "Bearer " + accessToken);
-				}
-			}  catch (ParseException e) {
-				throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.JSON_PARSER_EXCEPTION, e);
-			} catch (IOException e) {
-				throw  new PushServerSDKException(PushConstants.PushServerSDKExceptions.JSON_IO_EXCEPTION, e);
-			} finally {
-				if (auth != null) {
-					try {
-						auth.close();
-					} catch (IOException e) {
-						logger.log(Level.SEVERE, e.toString(), e);
-					}
-				}
-			}
-			
-
+		PushClient client = getDefaultClient();
+		if (client == null) {
+			throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.NOT_PROPERLY_INITIALIZED_EXCEPTION);
 		}
+		return client.createBulkPushPostRequest(messageJson.toString().getBytes(StandardCharsets.UTF_8), null);
 	}
 
-
-	protected static void executePushPostRequest(HttpPost pushPost, CloseableHttpClient httpClient,
+	/**
+	 * Sends the given request with the given client rather than the
+	 * transport of the default client.
+	 * 
+	 * @deprecated Use {@link PushClient#send(Notification, PushNotificationsResponseListener)}.
+	 */
+	@Deprecated
+	protected static void executePushPostRequest(HttpPost pushPost, final CloseableHttpClient httpClient,
 			PushNotificationsResponseListener listener) {
-		CloseableHttpResponse response = null;
-
-		try {
-			if (httpClient != null && listener != null) {
-				response = httpClient.execute(pushPost);
-				sendResponseToListener(response, listener);
-			} else {
-				throw new PushServerSDKException(PushConstants.PushServerSDKExceptions.NOT_PROPERLY_INITIALIZED_EXCEPTION);
-			}
-		} catch (ClientProtocolException e) {
-			logger.log(Level.SEVERE, e.toString(), e);
-			if (listener != null) {
-				listener.onFailure(null, null, e);
-			}
-		} catch (IOException e) {
-			logger.log(Level.SEVERE, e.toString(), e);
-			if (listener != null) {
-				listener.onFailure(null, null, e);
-			}
-		} finally {
-			if (response != null) {
-				try {
-					response.close();
-				} catch (IOException e) {
-					// Closing response is merely a best effort.
+		PushClient client = getInitializedClient(listener);
+		if (client == null) {
+			return;
+		}
+		PushTransport transport = null;
+		if (httpClient != null) {
+			transport = new PushTransport() {
+				@Override
+				public CompletableFuture<HttpResponse> execute(HttpUriRequest request) {
+					return PushHttpClient.execute(httpClient, request);
 				}
-			}
 
+				@Override
+				public boolean isNonBlocking() {
+					return false;
+				}
+
+				@Override
+				public void close() {
+					// The client belongs to the caller.
+				}
+			};
 		}
+		client.executePushPostRequest(pushPost, transport, listener);
 	}
 
+	/**
+	 * @deprecated Use {@link PushClient#sendAsync(Notification)}, which
+	 *             reads the response into a {@link PushResult}.
+	 */
+	@Deprecated
 	protected static void sendResponseToListener(CloseableHttpResponse response,
 			PushNotificationsResponseListener listener) throws IOException {
-		String responseBody = null;
-
-		if (response.getEntity() != null) {
-			ByteArrayOutputStream outputAsByteArray = new ByteArrayOutputStream();
-			response.getEntity().writeTo(outputAsByteArray);
-
-			responseBody = new String(outputAsByteArray.toByteArray());
+		PushClient client = getInitializedClient(listener);
+		if (client != null) {
+			client.sendResponseToListener(response, listener);
 		}
+	}
 
-		Integer statusCode = null;
-
-		if (response.getStatusLine() != null) {
-			statusCode = response.getStatusLine().getStatusCode();
-		}
+	private static PushClient getInitializedClient(PushNotificationsResponseListener listener) {
+		PushClient client = getDefaultClient();
+		if (client == null) {
+			Throwable exception = new RuntimeException(PushConstants.PushServerSDKExceptions.NOT_PROPERLY_INITIALIZED_EXCEPTION);
+			logger.log(Level.SEVERE, exception.toString(), exception);
 
-		if (statusCode != null && statusCode == HttpStatus.SC_ACCEPTED) {
-			listener.onSuccess(statusCode, responseBody);
-		} else {
-			if(statusCode != null && statusCode == 401) {
-				accessToken = null;
-				logger.log(Level.SEVERE, response.getStatusLine().getReasonPhrase());
+			if (listener != null) {
+				listener.onFailure(null, null, exception);
 			}
-			listener.onFailure(statusCode, responseBody, null);
 		}
+		return client;
 	}
 }
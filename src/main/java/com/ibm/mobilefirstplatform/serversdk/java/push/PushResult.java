@@ -0,0 +1,188 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+import org.apache.http.HttpStatus;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * The response of the Push Notification service to a send or a bulk send.
+ * The body is parsed once, with a streaming parser, for the fields callers
+ * usually look for; it is only decoded to a string if asked for.
+ */
+public class PushResult {
+
+	private static final Charset UTF_8 = Charset.forName(PushConstants.UTFEIGHT);
+
+	private final Integer statusCode;
+	private final byte[] body;
+	private final int offset;
+	private final int length;
+	private final String messageId;
+	private final String errorCode;
+	private final String errorMessage;
+	private volatile String responseBody;
+
+	public PushResult(Integer statusCode, String responseBody) {
+		this(statusCode, responseBody != null ? responseBody.getBytes(UTF_8) : null);
+		this.responseBody = responseBody;
+	}
+
+	PushResult(Integer statusCode, byte[] body) {
+		this(statusCode, body, 0, body != null ? body.length : 0, Fields.parse(body));
+	}
+
+	PushResult(Integer statusCode, byte[] body, int offset, int length, Fields fields) {
+		this.statusCode = statusCode;
+		this.body = body;
+		this.offset = offset;
+		this.length = length;
+		this.messageId = fields.messageId;
+		this.errorCode = fields.errorCode;
+		this.errorMessage = fields.errorMessage;
+	}
+
+	/**
+	 *
+	 * @return The status code of the response. It can be null, if the
+	 *         response had no status line.
+	 */
+	public final Integer getStatusCode() {
+		return statusCode;
+	}
+
+	/**
+	 *
+	 * @return The body of the response, decoded as UTF-8 on the first call.
+	 *         It can be null, if no body was received.
+	 */
+	public final String getResponseBody() {
+		String decoded = responseBody;
+		if (decoded == null && body != null) {
+			decoded = new String(body, offset, length, UTF_8);
+			responseBody = decoded;
+		}
+		return decoded;
+	}
+
+	/**
+	 *
+	 * @return The id given by the service to the accepted notification, or
+	 *         null if the response has none.
+	 */
+	public final String getMessageId() {
+		return messageId;
+	}
+
+	/**
+	 *
+	 * @return The error code of a rejected notification, such as
+	 *         {@code FPWSE0001E}, or null if the response has none.
+	 */
+	public final String getErrorCode() {
+		return errorCode;
+	}
+
+	/**
+	 *
+	 * @return The description of the error, or null if the response has
+	 *         none.
+	 */
+	public final String getErrorMessage() {
+		return errorMessage;
+	}
+
+	/**
+	 *
+	 * @return true if the service accepted the notification.
+	 */
+	public final boolean isSuccess() {
+		return isAccepted() && errorCode == null;
+	}
+
+	/**
+	 * The listeners are only told about the status code, as they always
+	 * were; a body with an error code is left to {@link #isSuccess()}.
+	 */
+	final boolean isAccepted() {
+		return statusCode != null && statusCode == HttpStatus.SC_ACCEPTED;
+	}
+
+	@Override
+	public String toString() {
+		return "PushResult [statusCode=" + statusCode + ", responseBody=" + getResponseBody() + "]";
+	}
+
+	/**
+	 * The fields of interest of a JSON object of a response. Other fields,
+	 * such as the echoed notification, are skipped without being parsed into
+	 * objects.
+	 */
+	static final class Fields {
+
+		static final Fields NONE = new Fields();
+
+		private String messageId;
+		private String errorCode;
+		private String errorMessage;
+
+		/**
+		 * @return The fields of the given body, or {@link #NONE} if it is not
+		 *         a JSON object.
+		 */
+		static Fields parse(byte[] body) {
+			if (body == null || body.length == 0) {
+				return NONE;
+			}
+			try {
+				JsonParser parser = PushJson.MAPPER.getFactory().createParser(body);
+				try {
+					return parser.nextToken() == JsonToken.START_OBJECT ? read(parser) : NONE;
+				} finally {
+					parser.close();
+				}
+			} catch (IOException e) {
+				// Not JSON, such as an error page of a proxy.
+				return NONE;
+			}
+		}
+
+		/**
+		 * Reads the object the given parser is at, up to its end.
+		 */
+		static Fields read(JsonParser parser) throws IOException {
+			Fields fields = new Fields();
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.getCurrentName();
+				JsonToken value = parser.nextToken();
+				if (value != JsonToken.VALUE_STRING) {
+					// The echoed message is an object; only an error message is a string.
+					parser.skipChildren();
+				} else if (PushConstants.MESSAGE_ID.equals(field)) {
+					fields.messageId = parser.getText();
+				} else if (PushConstants.ERROR_CODE.equals(field)) {
+					fields.errorCode = parser.getText();
+				} else if (PushConstants.ERROR_MESSAGE.equals(field)) {
+					fields.errorMessage = parser.getText();
+				}
+			}
+			return fields;
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import org.apache.http.HttpRequest;
+
+/**
+ * Traces the stages of the calls of a {@link PushClient}, for example with
+ * OpenTelemetry. Set an implementation with
+ * {@link PushClient.Builder#tracer(PushTracer)}; by default nothing is traced.
+ * <p>
+ * Each send method starts a {@code push.send} span, with these children:
+ * <ul>
+ * <li>{@code push.encode}: encoding the notification or rendering the
+ * template, unless it was already encoded</li>
+ * <li>{@code push.token}: waiting for an IAM access token</li>
+ * <li>{@code push.wait}: waiting for the rate limit or the adaptive
+ * concurrency limit, if they are configured</li>
+ * <li>{@code push.request}: one HTTP request, from the transport's point of
+ * view, so it includes waiting for a pooled connection, connecting and the
+ * time taken by the service; retried requests have one span per attempt</li>
+ * </ul>
+ * IAM token requests have {@code push.token.fetch} spans of their own, with
+ * {@code push.request} children. The trace context of each
+ * {@code push.request} span is sent with the request.
+ * <p>
+ * Spans are started and ended on the threads that send the requests, so
+ * implementations must be thread-safe, return quickly and not throw.
+ */
+public interface PushTracer {
+
+	String SEND = "push.send";
+	String ENCODE = "push.encode";
+	String TOKEN = "push.token";
+	String WAIT = "push.wait";
+	String REQUEST = "push.request";
+	String TOKEN_FETCH = "push.token.fetch";
+
+	/**
+	 * The attribute of the status code of the response, set on
+	 * {@link #SEND} and {@link #REQUEST} spans.
+	 */
+	String STATUS_CODE_ATTRIBUTE = "http.response.status_code";
+
+	/**
+	 * Starts a span, as a child of the span current on the calling thread, if
+	 * any.
+	 *
+	 * @param name
+	 *            The name of the span.
+	 * @return The started span.
+	 */
+	Span startSpan(String name);
+
+	/**
+	 * A stage of a call.
+	 */
+	interface Span {
+
+		/**
+		 * Starts a span as a child of this one.
+		 *
+		 * @param name
+		 *            The name of the span.
+		 * @return The started span.
+		 */
+		Span startChild(String name);
+
+		void setAttribute(String key, String value);
+
+		void setAttribute(String key, long value);
+
+		/**
+		 * Adds the headers that propagate the context of this span, such as
+		 * the W3C {@code traceparent}, to the given request, replacing those
+		 * set for a previous attempt.
+		 *
+		 * @param request
+		 *            The request about to be sent.
+		 */
+		void injectHeaders(HttpRequest request);
+
+		/**
+		 * Ends this span.
+		 *
+		 * @param failure
+		 *            The error the stage failed with, or null.
+		 */
+		void end(Throwable failure);
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+
+/**
+ * Executes the HTTP requests built by {@link PushClient}. Implement this
+ * interface to plug a different HTTP stack into the SDK; the SDK provides a
+ * blocking {@link PushHttpClient} and a non-blocking
+ * {@link PushAsyncHttpClient}.
+ */
+public interface PushTransport extends Closeable {
+
+	/**
+	 * Executes the given request.
+	 *
+	 * @param request
+	 *            The request to be sent.
+	 * @return A future completed with the response, with its entity fully
+	 *         read so that no connection is held once the future completes,
+	 *         or completed exceptionally with the I/O error that prevented
+	 *         getting a response.
+	 */
+	CompletableFuture<HttpResponse> execute(HttpUriRequest request);
+
+	/**
+	 *
+	 * @return true if {@link #execute(HttpUriRequest)} returns before the
+	 *         response is received. Blocking transports complete the future
+	 *         before returning, so the asynchronous send methods run them on
+	 *         an executor instead.
+	 */
+	boolean isNonBlocking();
+
+	/**
+	 * Releases the connections and threads held by this transport.
+	 */
+	@Override
+	void close();
+}
@@ -0,0 +1,140 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+/**
+ *
+ * How fast a {@link PushClient} sends requests to the messages and bulk
+ * endpoints of its tenant. Each endpoint has its own token bucket: requests
+ * beyond the burst are delayed until enough time has passed, instead of being
+ * rejected by the service with 429. Retries count against the rate too.
+ *
+ */
+public final class RateLimitConfig {
+
+	private double messagesPerSecond;
+	private int messagesBurst;
+	private double bulkRequestsPerSecond;
+	private int bulkRequestsBurst;
+
+	/**
+	 *
+	 * @return The rate of requests to the messages endpoint, or 0 if it is not
+	 *         limited.
+	 */
+	public final double getMessagesPerSecond() {
+		return messagesPerSecond;
+	}
+
+	public final int getMessagesBurst() {
+		return messagesBurst;
+	}
+
+	/**
+	 *
+	 * @return The rate of requests to the bulk endpoint, or 0 if it is not
+	 *         limited.
+	 */
+	public final double getBulkRequestsPerSecond() {
+		return bulkRequestsPerSecond;
+	}
+
+	public final int getBulkRequestsBurst() {
+		return bulkRequestsBurst;
+	}
+
+	private RateLimitConfig(Builder builder) {
+		this.messagesPerSecond = builder.messagesPerSecond;
+		this.messagesBurst = builder.messagesBurst > 0 ? builder.messagesBurst
+				: (int) Math.max(1, Math.ceil(builder.messagesPerSecond));
+		this.bulkRequestsPerSecond = builder.bulkRequestsPerSecond;
+		this.bulkRequestsBurst = builder.bulkRequestsBurst > 0 ? builder.bulkRequestsBurst
+				: (int) Math.max(1, Math.ceil(builder.bulkRequestsPerSecond));
+	}
+
+	/**
+	 *
+	 * Builder for {@link RateLimitConfig}.
+	 *
+	 */
+	public static class Builder {
+
+		private double messagesPerSecond;
+		private int messagesBurst;
+		private double bulkRequestsPerSecond;
+		private int bulkRequestsBurst;
+
+		/**
+		 *
+		 * @param messagesPerSecond
+		 *            The sustained rate of requests to the messages endpoint.
+		 *            0 leaves it unlimited.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder messagesPerSecond(double messagesPerSecond) {
+			this.messagesPerSecond = messagesPerSecond;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param messagesBurst
+		 *            How many requests to the messages endpoint may be sent at
+		 *            once after a quiet period. Defaults to one second worth
+		 *            of requests.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder messagesBurst(int messagesBurst) {
+			this.messagesBurst = messagesBurst;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param bulkRequestsPerSecond
+		 *            The sustained rate of requests to the bulk endpoint. 0
+		 *            leaves it unlimited.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder bulkRequestsPerSecond(double bulkRequestsPerSecond) {
+			this.bulkRequestsPerSecond = bulkRequestsPerSecond;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param bulkRequestsBurst
+		 *            How many requests to the bulk endpoint may be sent at
+		 *            once after a quiet period. Defaults to one second worth
+		 *            of requests.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder bulkRequestsBurst(int bulkRequestsBurst) {
+			this.bulkRequestsBurst = bulkRequestsBurst;
+			return this;
+		}
+
+		/**
+		 *
+		 * @return the {@link RateLimitConfig} object.
+		 */
+		public final RateLimitConfig build() {
+			if (messagesPerSecond < 0 || bulkRequestsPerSecond < 0 || messagesBurst < 0 || bulkRequestsBurst < 0
+					|| Double.isNaN(messagesPerSecond) || Double.isNaN(bulkRequestsPerSecond)) {
+				throw new IllegalArgumentException(PushConstants.PushServerSDKExceptions.INVALID_RATE_LIMIT_CONFIG_EXCEPTION);
+			}
+			return new RateLimitConfig(this);
+		}
+	}
+}
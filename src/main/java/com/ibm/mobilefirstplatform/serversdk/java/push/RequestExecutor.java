@@ -0,0 +1,460 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.io.Closeable;
+import java.io.InterruptedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpUriRequest;
+
+import com.ibm.mobilefirstplatform.serversdk.java.push.exception.CircuitBreakerOpenException;
+import com.ibm.mobilefirstplatform.serversdk.java.push.exception.RequestTimeoutException;
+
+/**
+ * Sends requests through a {@link PushTransport}. Each attempt fails fast
+ * while the circuit breaker of its endpoint is open, then waits for the rate
+ * limit of its endpoint and for a slot of the adaptive concurrency limit, if
+ * they are configured; failed attempts are repeated as allowed by a
+ * {@link RetryPolicy}. No step waits beyond the {@link Deadline} of the call;
+ * once it has passed, the request in flight is aborted and the call fails
+ * with a {@link RequestTimeoutException}.
+ * <p>
+ * With a non-blocking transport, waiting never blocks a thread: delayed
+ * attempts are scheduled on a timer thread, and queued ones are started by
+ * the request that frees their slot. A blocking transport already occupies
+ * the thread that sends the request, so that thread waits instead.
+ */
+final class RequestExecutor implements Closeable {
+
+	public static final Logger logger = Logger.getLogger(RequestExecutor.class.getName());
+
+	/**
+	 * The endpoints of the Push Notifications service and IAM, which are
+	 * limited separately.
+	 */
+	enum Endpoint {
+		MESSAGES(PushMetrics.MESSAGES), BULK(PushMetrics.BULK), IAM(PushMetrics.IAM);
+
+		private final String metricName;
+
+		Endpoint(String metricName) {
+			this.metricName = metricName;
+		}
+
+		final String getMetricName() {
+			return metricName;
+		}
+	}
+
+	private static final String ATTEMPT_ATTRIBUTE = "push.attempt";
+
+	private final PushTransport transport;
+	private final RetryPolicy retryPolicy;
+	private final Map<Endpoint, TokenBucket> rateLimits = new EnumMap<Endpoint, TokenBucket>(Endpoint.class);
+	private final Map<Endpoint, CircuitBreaker> circuitBreakers = new EnumMap<Endpoint, CircuitBreaker>(Endpoint.class);
+	private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+	private final ScheduledThreadPoolExecutor scheduler;
+	private final PushMetrics metrics;
+
+	RequestExecutor(PushTransport transport, RetryPolicy retryPolicy, RateLimitConfig rateLimitConfig,
+			ConcurrencyLimitConfig concurrencyLimitConfig, CircuitBreakerConfig circuitBreakerConfig,
+			PushMetrics metrics) {
+		this.transport = transport;
+		this.retryPolicy = retryPolicy;
+		this.metrics = metrics;
+
+		if (circuitBreakerConfig.isEnabled()) {
+			for (Endpoint endpoint : Endpoint.values()) {
+				circuitBreakers.put(endpoint, new CircuitBreaker(endpoint.name(), circuitBreakerConfig));
+			}
+		}
+
+		if (rateLimitConfig != null && rateLimitConfig.getMessagesPerSecond() > 0) {
+			rateLimits.put(Endpoint.MESSAGES,
+					new TokenBucket(rateLimitConfig.getMessagesPerSecond(), rateLimitConfig.getMessagesBurst()));
+		}
+		if (rateLimitConfig != null && rateLimitConfig.getBulkRequestsPerSecond() > 0) {
+			rateLimits.put(Endpoint.BULK,
+					new TokenBucket(rateLimitConfig.getBulkRequestsPerSecond(), rateLimitConfig.getBulkRequestsBurst()));
+		}
+		this.concurrencyLimiter = concurrencyLimitConfig != null ? new AdaptiveConcurrencyLimiter(concurrencyLimitConfig)
+				: null;
+
+		// The timer thread is only started once something is scheduled.
+		this.scheduler = new ScheduledThreadPoolExecutor(1, new PushThreadFactory("push-scheduler"));
+		this.scheduler.setRemoveOnCancelPolicy(true);
+	}
+
+	final RetryPolicy getRetryPolicy() {
+		return retryPolicy;
+	}
+
+	final AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+		return concurrencyLimiter;
+	}
+
+	final CircuitBreaker getCircuitBreaker(Endpoint endpoint) {
+		return circuitBreakers.get(endpoint);
+	}
+
+	/**
+	 * Sends the request until it gets a final outcome. The entity of the
+	 * request must be repeatable.
+	 *
+	 * @param span
+	 *            The span of the call, parent of the spans of each attempt.
+	 * @return A future completed with the last response, or with the last
+	 *         failure if no response was received.
+	 */
+	CompletableFuture<HttpResponse> execute(HttpUriRequest request, Endpoint endpoint, Deadline deadline,
+			PushTracer.Span span) {
+		Exchange exchange = new Exchange(request, endpoint, deadline, span);
+		exchange.start();
+		return exchange.result;
+	}
+
+	/**
+	 * Runs the task after the given delay, on the timer thread or, for
+	 * blocking transports, on the calling thread.
+	 *
+	 * @return false if the task could not be run.
+	 */
+	private boolean runLater(long delayNanos, Runnable task) {
+		if (delayNanos <= 0) {
+			task.run();
+			return true;
+		}
+		if (!transport.isNonBlocking()) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(delayNanos);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+			task.run();
+			return true;
+		}
+		try {
+			scheduler.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+			return true;
+		} catch (RejectedExecutionException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * The attempts made to send one request.
+	 */
+	private final class Exchange {
+		private final HttpUriRequest request;
+		private final Endpoint endpoint;
+		private final Deadline deadline;
+		private final PushTracer.Span span;
+		private final CompletableFuture<HttpResponse> result = new CompletableFuture<HttpResponse>();
+		private int attempts;
+		private HttpResponse lastResponse;
+		private Throwable lastFailure;
+		private PushTracer.Span waitSpan;
+
+		Exchange(HttpUriRequest request, Endpoint endpoint, Deadline deadline, PushTracer.Span span) {
+			this.request = request;
+			this.endpoint = endpoint;
+			this.deadline = deadline;
+			this.span = span;
+		}
+
+		void start() {
+			if (deadline.isBounded()) {
+				try {
+					final ScheduledFuture<?> timeout = scheduler.schedule(new Runnable() {
+						@Override
+						public void run() {
+							expire();
+						}
+					}, deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+					result.whenComplete(new BiConsumer<HttpResponse, Throwable>() {
+						@Override
+						public void accept(HttpResponse response, Throwable failure) {
+							timeout.cancel(false);
+						}
+					});
+				} catch (RejectedExecutionException e) {
+					giveUp();
+					return;
+				}
+			}
+			attempt();
+		}
+
+		void attempt() {
+			if (result.isDone()) {
+				return;
+			}
+			final CircuitBreaker circuitBreaker = circuitBreakers.get(endpoint);
+			if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+				if (attempts == 0) {
+					result.completeExceptionally(new CircuitBreakerOpenException(
+							PushConstants.PushServerSDKExceptions.CIRCUIT_BREAKER_OPEN_EXCEPTION + " (" + endpoint + ")"));
+				} else {
+					giveUp();
+				}
+				return;
+			}
+
+			TokenBucket rateLimit = rateLimits.get(endpoint);
+			long delay = rateLimit != null ? rateLimit.reserve(deadline.remainingNanos()) : 0;
+			if (delay < 0 || delay >= deadline.remainingNanos()) {
+				releaseProbe();
+				expire();
+				return;
+			}
+
+			boolean limited = concurrencyLimiter != null && endpoint != Endpoint.IAM;
+			if (delay > 0 || limited) {
+				waitSpan = span.startChild(PushTracer.WAIT);
+			}
+			boolean started = runLater(delay, new Runnable() {
+				@Override
+				public void run() {
+					acquireAndSend();
+				}
+			});
+			if (!started) {
+				endWait(null);
+				releaseProbe();
+				giveUp();
+			}
+		}
+
+		/**
+		 * Gives back the probe of a half-open circuit taken by an attempt
+		 * that ends before its request is sent.
+		 */
+		private void releaseProbe() {
+			CircuitBreaker circuitBreaker = circuitBreakers.get(endpoint);
+			if (circuitBreaker != null) {
+				circuitBreaker.release();
+			}
+		}
+
+		private void endWait(Throwable failure) {
+			if (waitSpan != null) {
+				waitSpan.end(failure);
+				waitSpan = null;
+			}
+		}
+
+		private void acquireAndSend() {
+			if (result.isDone()) {
+				endWait(null);
+				releaseProbe();
+				return;
+			}
+			if (concurrencyLimiter == null || endpoint == Endpoint.IAM) {
+				send(false);
+				return;
+			}
+
+			if (transport.isNonBlocking()) {
+				if (concurrencyLimiter.tryAcquire(new Runnable() {
+					@Override
+					public void run() {
+						send(true);
+					}
+				})) {
+					send(true);
+				}
+				return;
+			}
+
+			try {
+				if (!concurrencyLimiter.acquire(deadline.remainingNanos())) {
+					endWait(null);
+					releaseProbe();
+					expire();
+					return;
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				endWait(e);
+				releaseProbe();
+				giveUp();
+				return;
+			}
+			send(true);
+		}
+
+		private void send(final boolean limited) {
+			endWait(null);
+			if (result.isDone()) {
+				// Expired while waiting for the slot.
+				if (limited) {
+					concurrencyLimiter.release();
+				}
+				releaseProbe();
+				return;
+			}
+			final long start = System.nanoTime();
+			attempts++;
+			final PushTracer.Span requestSpan = span.startChild(PushTracer.REQUEST);
+			requestSpan.setAttribute(ATTEMPT_ATTRIBUTE, attempts);
+			requestSpan.injectHeaders(request);
+
+			CompletableFuture<HttpResponse> response;
+			try {
+				response = transport.execute(request);
+			} catch (RuntimeException e) {
+				response = PushClient.failedFuture(e);
+			}
+
+			response.whenComplete(new BiConsumer<HttpResponse, Throwable>() {
+				@Override
+				public void accept(HttpResponse response, Throwable failure) {
+					if (failure instanceof CompletionException && failure.getCause() != null) {
+						failure = failure.getCause();
+					}
+					long latency = System.nanoTime() - start;
+					if (response != null) {
+						int statusCode = response.getStatusLine() != null ? response.getStatusLine().getStatusCode() : 0;
+						metrics.requestCompleted(endpoint.getMetricName(), statusCode, getContentLength(request),
+								getContentLength(response), latency);
+						requestSpan.setAttribute(PushTracer.STATUS_CODE_ATTRIBUTE, statusCode);
+					} else {
+						metrics.requestFailed(endpoint.getMetricName(), failure, latency);
+					}
+					requestSpan.end(failure);
+					CircuitBreaker circuitBreaker = circuitBreakers.get(endpoint);
+					if (circuitBreaker != null) {
+						if (response == null || isServerError(response)) {
+							circuitBreaker.onFailure();
+						} else {
+							circuitBreaker.onSuccess();
+						}
+					}
+					if (limited) {
+						boolean overloaded = response != null ? RetryPolicy.isRetryable(response)
+								: RetryPolicy.isRetryable(failure);
+						concurrencyLimiter.release(latency, overloaded);
+					}
+					completed(response, failure);
+				}
+			});
+		}
+
+		private void completed(HttpResponse response, Throwable failure) {
+			if (result.isDone()) {
+				return;
+			}
+			lastResponse = response;
+			lastFailure = failure;
+
+			long delay = retryPolicy.getRetryDelayMillis(attempts, response, failure);
+			if (delay < 0 || TimeUnit.MILLISECONDS.toNanos(delay) >= deadline.remainingNanos()) {
+				giveUp();
+				return;
+			}
+
+			metrics.retryScheduled(endpoint.getMetricName(), delay);
+			logger.log(Level.WARNING, "Retrying " + request.getMethod() + " " + request.getURI() + " in " + delay
+					+ " ms after "
+					+ (response != null ? "status " + response.getStatusLine().getStatusCode() : failure.toString()));
+			boolean scheduled = runLater(TimeUnit.MILLISECONDS.toNanos(delay), new Runnable() {
+				@Override
+				public void run() {
+					attempt();
+				}
+			});
+			if (!scheduled) {
+				giveUp();
+			}
+		}
+
+		/**
+		 * Fails the call with a timeout and aborts the request in flight, if
+		 * any.
+		 */
+		private void expire() {
+			if (result.completeExceptionally(
+					new RequestTimeoutException(PushConstants.PushServerSDKExceptions.REQUEST_TIMEOUT_EXCEPTION))) {
+				request.abort();
+			}
+		}
+
+		/**
+		 * Completes the result with the outcome of the last attempt.
+		 */
+		private void giveUp() {
+			if (lastResponse != null) {
+				result.complete(lastResponse);
+			} else if (lastFailure != null) {
+				result.completeExceptionally(lastFailure);
+			} else {
+				// Interrupted or closed before the first attempt.
+				result.completeExceptionally(new InterruptedIOException("The request was not sent."));
+			}
+		}
+	}
+
+	/**
+	 * @return The size of the body of the request, or -1 if it is not known.
+	 */
+	private static long getContentLength(HttpRequest request) {
+		if (!(request instanceof HttpEntityEnclosingRequest)) {
+			return -1;
+		}
+		HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+		if (entity instanceof BulkNotificationEntity) {
+			return ((BulkNotificationEntity) entity).getBytesWritten();
+		}
+		return entity != null ? entity.getContentLength() : -1;
+	}
+
+	/**
+	 * @return The size of the body of the response, which the transports
+	 *         buffer, or -1 if it is not known.
+	 */
+	private static long getContentLength(HttpResponse response) {
+		return response.getEntity() != null ? response.getEntity().getContentLength() : 0;
+	}
+
+	private static boolean isServerError(HttpResponse response) {
+		return response.getStatusLine() != null
+				&& response.getStatusLine().getStatusCode() >= HttpStatus.SC_INTERNAL_SERVER_ERROR;
+	}
+
+	/**
+	 * Stops the timer thread once the attempts already scheduled have run, so
+	 * their futures are still completed.
+	 */
+	@Override
+	public void close() {
+		scheduler.shutdown();
+	}
+}
@@ -0,0 +1,243 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.util.Date;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.conn.ConnectTimeoutException;
+
+/**
+ *
+ * When and how long {@link PushClient} waits before sending a request again.
+ * Only failures that are safe to repeat are retried: the connection could not
+ * be established, or the service answered with 429 (Too Many Requests) or a
+ * 5xx status. The delay before each retry is drawn at random between zero and
+ * an exponentially growing bound ("full jitter"), unless the service asked for
+ * a specific delay with a {@code Retry-After} header.
+ *
+ */
+public final class RetryPolicy {
+
+	public static final int DEFAULT_MAX_ATTEMPTS = 3;
+	public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 200L;
+	public static final long DEFAULT_MAX_BACKOFF_MILLIS = 10000L;
+	public static final long DEFAULT_MAX_RETRY_AFTER_MILLIS = 60000L;
+
+	static final String RETRY_AFTER = "Retry-After";
+
+	private int maxAttempts;
+	private long initialBackoffMillis;
+	private long maxBackoffMillis;
+	private long maxRetryAfterMillis;
+
+	public final int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	public final long getInitialBackoffMillis() {
+		return initialBackoffMillis;
+	}
+
+	public final long getMaxBackoffMillis() {
+		return maxBackoffMillis;
+	}
+
+	public final long getMaxRetryAfterMillis() {
+		return maxRetryAfterMillis;
+	}
+
+	private RetryPolicy(Builder builder) {
+		this.maxAttempts = builder.maxAttempts;
+		this.initialBackoffMillis = builder.initialBackoffMillis;
+		this.maxBackoffMillis = builder.maxBackoffMillis;
+		this.maxRetryAfterMillis = builder.maxRetryAfterMillis;
+	}
+
+	/**
+	 *
+	 * @return a {@link RetryPolicy} with all the default values.
+	 */
+	public static RetryPolicy defaultPolicy() {
+		return new Builder().build();
+	}
+
+	/**
+	 *
+	 * @return a {@link RetryPolicy} that makes a single attempt.
+	 */
+	public static RetryPolicy noRetries() {
+		return new Builder().maxAttempts(1).build();
+	}
+
+	/**
+	 * Decides whether a request is sent again after the given outcome.
+	 *
+	 * @param attempts
+	 *            How many attempts were made so far, starting at 1.
+	 * @param response
+	 *            The response of the last attempt, or null if it failed.
+	 * @param failure
+	 *            Why the last attempt failed, or null if a response was
+	 *            received.
+	 * @return How many milliseconds to wait before the next attempt, or -1 if
+	 *         the outcome is final.
+	 */
+	final long getRetryDelayMillis(int attempts, HttpResponse response, Throwable failure) {
+		if (attempts >= maxAttempts) {
+			return -1;
+		}
+		if (response != null) {
+			if (!isRetryable(response)) {
+				return -1;
+			}
+			Long retryAfter = getRetryAfterMillis(response);
+			if (retryAfter != null) {
+				return retryAfter <= maxRetryAfterMillis ? retryAfter : -1;
+			}
+		} else if (!isRetryable(failure)) {
+			return -1;
+		}
+
+		long bound = initialBackoffMillis << Math.min(attempts - 1, 30);
+		bound = bound <= 0 || bound > maxBackoffMillis ? maxBackoffMillis : bound;
+		return ThreadLocalRandom.current().nextLong(bound + 1);
+	}
+
+	static boolean isRetryable(HttpResponse response) {
+		if (response.getStatusLine() == null) {
+			return false;
+		}
+		int statusCode = response.getStatusLine().getStatusCode();
+		return statusCode == 429 || statusCode >= HttpStatus.SC_INTERNAL_SERVER_ERROR;
+	}
+
+	/**
+	 * Only failures to connect are retried; the request may already have been
+	 * processed after any other I/O error.
+	 */
+	static boolean isRetryable(Throwable failure) {
+		while ((failure instanceof CompletionException || failure instanceof ExecutionException)
+				&& failure.getCause() != null) {
+			failure = failure.getCause();
+		}
+		return failure instanceof ConnectException || failure instanceof ConnectTimeoutException
+				|| failure instanceof NoRouteToHostException;
+	}
+
+	/**
+	 * @return The delay asked for by the Retry-After header, either in seconds
+	 *         or as an HTTP date, or null if there is no valid header.
+	 */
+	static Long getRetryAfterMillis(HttpResponse response) {
+		Header header = response.getFirstHeader(RETRY_AFTER);
+		if (header == null || header.getValue() == null) {
+			return null;
+		}
+		String value = header.getValue().trim();
+		try {
+			return Math.max(Long.parseLong(value), 0) * 1000;
+		} catch (NumberFormatException e) {
+			Date date = DateUtils.parseDate(value);
+			return date != null ? Math.max(date.getTime() - System.currentTimeMillis(), 0) : null;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "RetryPolicy [maxAttempts=" + maxAttempts + ", initialBackoffMillis=" + initialBackoffMillis
+				+ ", maxBackoffMillis=" + maxBackoffMillis + ", maxRetryAfterMillis=" + maxRetryAfterMillis + "]";
+	}
+
+	/**
+	 *
+	 * Builder for {@link RetryPolicy}.
+	 *
+	 */
+	public static class Builder {
+
+		private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+		private long initialBackoffMillis = DEFAULT_INITIAL_BACKOFF_MILLIS;
+		private long maxBackoffMillis = DEFAULT_MAX_BACKOFF_MILLIS;
+		private long maxRetryAfterMillis = DEFAULT_MAX_RETRY_AFTER_MILLIS;
+
+		/**
+		 *
+		 * @param maxAttempts
+		 *            The maximum number of times a request is sent, including
+		 *            the first one. 1 disables retries.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder maxAttempts(int maxAttempts) {
+			this.maxAttempts = maxAttempts;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param initialBackoffMillis
+		 *            The upper bound of the random delay before the first
+		 *            retry. It doubles for every further retry.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder initialBackoffMillis(long initialBackoffMillis) {
+			this.initialBackoffMillis = initialBackoffMillis;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param maxBackoffMillis
+		 *            The largest upper bound of the random delay before a
+		 *            retry.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder maxBackoffMillis(long maxBackoffMillis) {
+			this.maxBackoffMillis = maxBackoffMillis;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param maxRetryAfterMillis
+		 *            The longest Retry-After delay that is honoured. When the
+		 *            service asks to wait longer, the request is not retried.
+		 * @return The Builder object for calls to be linked.
+		 */
+		public final Builder maxRetryAfterMillis(long maxRetryAfterMillis) {
+			this.maxRetryAfterMillis = maxRetryAfterMillis;
+			return this;
+		}
+
+		/**
+		 *
+		 * @return the {@link RetryPolicy} object.
+		 */
+		public final RetryPolicy build() {
+			if (maxAttempts <= 0 || initialBackoffMillis <= 0 || maxBackoffMillis < initialBackoffMillis
+					|| maxRetryAfterMillis < 0) {
+				throw new IllegalArgumentException(PushConstants.PushServerSDKExceptions.INVALID_RETRY_POLICY_EXCEPTION);
+			}
+			return new RetryPolicy(this);
+		}
+	}
+}
@@ -84,6 +84,9 @@ public final class Target {
 		 * 
 		 * @param deviceIds
 		 *            Send notification to the list of specified devices.
+		 *            The array is not copied, and changes made to it after
+		 *            a notification with this target was first sent are not
+		 *            seen by later sends of that notification.
 		 * @return The Builder object for calls to be linked.
 		 */
 		public final Builder deviceIds(final String[] deviceIds) {
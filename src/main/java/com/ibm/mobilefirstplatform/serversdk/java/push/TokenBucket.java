@@ -0,0 +1,70 @@
+/*
+ *     Copyright 2026 IBM Corp.
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+/**
+ * A token bucket refilled at a constant rate. Callers reserve a token and are
+ * told how long to wait for it, so they can sleep or schedule the request
+ * themselves; tokens not yet refilled are borrowed from the future, which
+ * makes the next callers wait longer. A caller that cannot wait that long
+ * borrows nothing, so callers giving up do not slow down the others.
+ */
+final class TokenBucket {
+
+	private static final long NANOS_PER_SECOND = 1000000000L;
+
+	private final double tokensPerNano;
+	private final double capacity;
+	private double tokens;
+	private long lastRefillNanos;
+
+	TokenBucket(double tokensPerSecond, int capacity) {
+		this.tokensPerNano = tokensPerSecond / NANOS_PER_SECOND;
+		this.capacity = capacity;
+		this.tokens = capacity;
+		this.lastRefillNanos = System.nanoTime();
+	}
+
+	/**
+	 * Takes one token.
+	 *
+	 * @return How many nanoseconds to wait before using it.
+	 */
+	long reserve() {
+		return reserve(Long.MAX_VALUE);
+	}
+
+	/**
+	 * Takes one token, unless it would only be available too late.
+	 *
+	 * @param maxWaitNanos
+	 *            How long the caller can wait at most.
+	 * @return How many nanoseconds to wait before using the token, or -1 if
+	 *         it would take {@code maxWaitNanos} or longer, in which case no
+	 *         token was taken.
+	 */
+	synchronized long reserve(long maxWaitNanos) {
+		long now = System.nanoTime();
+		tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+		lastRefillNanos = now;
+
+		double left = tokens - 1;
+		long wait = left >= 0 ? 0 : (long) Math.ceil(-left / tokensPerNano);
+		if (wait >= maxWaitNanos) {
+			return -1;
+		}
+		tokens = left;
+		return wait;
+	}
+}
@@ -0,0 +1,15 @@
+package com.ibm.mobilefirstplatform.serversdk.java.push.exception;
+
+/**
+ * A request was not sent because its endpoint failed too often recently, and
+ * its circuit breaker is open.
+ */
+public class CircuitBreakerOpenException extends PushServerSDKException {
+
+	private static final long serialVersionUID = 1L;
+
+	public CircuitBreakerOpenException(final String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,15 @@
+package com.ibm.mobilefirstplatform.serversdk.java.push.exception;
+
+/**
+ * A call did not complete within its timeout. The request may still have
+ * reached the service.
+ */
+public class RequestTimeoutException extends PushServerSDKException {
+
+	private static final long serialVersionUID = 1L;
+
+	public RequestTimeoutException(final String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,133 @@
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.Test;
+
+import com.ibm.mobilefirstplatform.serversdk.java.push.exception.RequestTimeoutException;
+
+public class CircuitBreakerTest {
+
+	private static CircuitBreakerConfig config(long openDurationMillis) {
+		return new CircuitBreakerConfig.Builder().slidingWindowSize(10).minimumRequests(4).failureRateThreshold(0.5)
+				.openDurationMillis(openDurationMillis).halfOpenProbes(2).build();
+	}
+
+	@Test
+	public void shouldOpenOnceTheFailureRateIsReached() {
+		CircuitBreaker breaker = new CircuitBreaker("test", config(60000));
+
+		// Too few requests to judge the failure rate.
+		breaker.onFailure();
+		breaker.onFailure();
+		breaker.onFailure();
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+		breaker.onSuccess();
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		assertTrue(breaker.tryAcquire());
+
+		breaker.onFailure();
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		assertFalse(breaker.tryAcquire());
+	}
+
+	@Test
+	public void shouldForgetOutcomesOutsideTheWindow() {
+		CircuitBreaker breaker = new CircuitBreaker("test", config(60000));
+
+		for (int i = 0; i < 4; i++) {
+			breaker.onFailure();
+			breaker.onSuccess();
+			breaker.onSuccess();
+			breaker.onSuccess();
+		}
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+	}
+
+	@Test
+	public void shouldCloseAfterSuccessfulProbes() throws InterruptedException {
+		CircuitBreaker breaker = new CircuitBreaker("test", config(20));
+		for (int i = 0; i < 4; i++) {
+			breaker.onFailure();
+		}
+		assertFalse(breaker.tryAcquire());
+
+		Thread.sleep(50);
+		assertTrue(breaker.tryAcquire());
+		assertTrue(breaker.tryAcquire());
+		assertFalse(breaker.tryAcquire());
+		assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+		breaker.onSuccess();
+		breaker.onSuccess();
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		assertTrue(breaker.tryAcquire());
+	}
+
+	@Test
+	public void shouldReopenWhenAProbeFails() throws InterruptedException {
+		CircuitBreaker breaker = new CircuitBreaker("test", config(20));
+		for (int i = 0; i < 4; i++) {
+			breaker.onFailure();
+		}
+
+		Thread.sleep(50);
+		assertTrue(breaker.tryAcquire());
+		breaker.onFailure();
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		assertFalse(breaker.tryAcquire());
+	}
+
+	@Test
+	public void shouldGiveBackProbesOfRequestsNeverSent() throws Exception {
+		CompletableFuture<HttpResponse> firstProbe = new CompletableFuture<HttpResponse>();
+		PushTransport transportMock = mock(PushTransport.class);
+		when(transportMock.execute(any(HttpUriRequest.class))).thenReturn(firstProbe,
+				CompletableFuture.<HttpResponse> completedFuture(
+						new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_ACCEPTED, null)));
+		RequestExecutor executor = new RequestExecutor(transportMock, RetryPolicy.noRetries(), null,
+				new ConcurrencyLimitConfig.Builder().initialLimit(1).minLimit(1).maxLimit(1).build(), config(20),
+				NoopPushMetrics.INSTANCE);
+		CircuitBreaker breaker = executor.getCircuitBreaker(RequestExecutor.Endpoint.MESSAGES);
+		for (int i = 0; i < 4; i++) {
+			breaker.onFailure();
+		}
+		Thread.sleep(50);
+
+		// The first probe holds the only slot, so the second one times out in the limiter.
+		executor.execute(new HttpPost("http://localhost/messages"), RequestExecutor.Endpoint.MESSAGES, Deadline.NONE,
+				NoopPushTracer.SPAN);
+		try {
+			executor.execute(new HttpPost("http://localhost/messages"), RequestExecutor.Endpoint.MESSAGES,
+					Deadline.after(50), NoopPushTracer.SPAN).get(5, TimeUnit.SECONDS);
+			fail();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof RequestTimeoutException);
+		}
+		firstProbe.complete(new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_ACCEPTED, null));
+		assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+		HttpResponse response = executor.execute(new HttpPost("http://localhost/messages"),
+				RequestExecutor.Endpoint.MESSAGES, Deadline.NONE, NoopPushTracer.SPAN).get(5, TimeUnit.SECONDS);
+		assertEquals(HttpStatus.SC_ACCEPTED, response.getStatusLine().getStatusCode());
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		executor.close();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectMinimumAboveWindow() {
+		new CircuitBreakerConfig.Builder().slidingWindowSize(10).minimumRequests(11).build();
+	}
+}
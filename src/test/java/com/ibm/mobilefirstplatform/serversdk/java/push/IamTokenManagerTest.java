@@ -0,0 +1,157 @@
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.ibm.mobilefirstplatform.serversdk.java.push.exception.PushServerSDKException;
+
+public class IamTokenManagerTest {
+
+	private static final class CountingFetcher implements IamTokenManager.TokenFetcher {
+		private final AtomicInteger fetches = new AtomicInteger();
+		private final long lifetimeSeconds;
+		private final CountDownLatch release;
+
+		CountingFetcher(long lifetimeSeconds, CountDownLatch release) {
+			this.lifetimeSeconds = lifetimeSeconds;
+			this.release = release;
+		}
+
+		@Override
+		public IamToken fetch() {
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			int fetch = fetches.incrementAndGet();
+			return new IamToken("token" + fetch, "Bearer",
+					System.currentTimeMillis() / 1000 + lifetimeSeconds);
+		}
+	}
+
+	@Test
+	public void shouldFetchOnceForConcurrentCallers() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountingFetcher fetcher = new CountingFetcher(3600, release);
+		final IamTokenManager tokenManager = new IamTokenManager(fetcher, 300);
+		ExecutorService callers = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<String>> tokens = new ArrayList<Future<String>>();
+			for (int i = 0; i < 8; i++) {
+				tokens.add(callers.submit(new Callable<String>() {
+					@Override
+					public String call() {
+						return tokenManager.getToken();
+					}
+				}));
+			}
+			Thread.sleep(100);
+			release.countDown();
+
+			for (Future<String> token : tokens) {
+				assertEquals("token1", token.get(5, TimeUnit.SECONDS));
+			}
+			assertEquals(1, fetcher.fetches.get());
+			assertEquals("token1", tokenManager.getToken());
+		} finally {
+			callers.shutdownNow();
+			tokenManager.close();
+		}
+	}
+
+	@Test
+	public void shouldRefreshBeforeExpiration() throws Exception {
+		CountDownLatch release = new CountDownLatch(0);
+		CountingFetcher fetcher = new CountingFetcher(2, release);
+		IamTokenManager tokenManager = new IamTokenManager(fetcher, 300);
+		try {
+			assertEquals("token1", tokenManager.getToken());
+
+			// Short-lived tokens are refreshed half way, without any caller waiting.
+			long deadline = System.currentTimeMillis() + 5000;
+			while (fetcher.fetches.get() < 2 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(20);
+			}
+			assertEquals(2, fetcher.fetches.get());
+			assertEquals("token2", tokenManager.getToken());
+		} finally {
+			tokenManager.close();
+		}
+	}
+
+	@Test
+	public void shouldReplaceRejectedTokenOnce() throws Exception {
+		CountDownLatch release = new CountDownLatch(0);
+		CountingFetcher fetcher = new CountingFetcher(3600, release);
+		IamTokenManager tokenManager = new IamTokenManager(fetcher, 300);
+		try {
+			assertEquals("token1", tokenManager.getToken());
+
+			tokenManager.invalidate("token1");
+			tokenManager.invalidate("token1");
+			tokenManager.invalidate("unknown");
+
+			assertEquals("token2", tokenManager.getToken());
+			Thread.sleep(100);
+			assertEquals(2, fetcher.fetches.get());
+		} finally {
+			tokenManager.close();
+		}
+	}
+
+	@Test
+	public void shouldPropagateFetchFailures() {
+		IamTokenManager tokenManager = new IamTokenManager(new IamTokenManager.TokenFetcher() {
+			@Override
+			public IamToken fetch() {
+				throw new PushServerSDKException("Unauthorized");
+			}
+		}, 300);
+		try {
+			tokenManager.getToken();
+			fail("Expected the fetch failure.");
+		} catch (PushServerSDKException e) {
+			assertEquals("Unauthorized", e.getMessage());
+		} finally {
+			tokenManager.close();
+		}
+	}
+
+	@Test
+	public void shouldRecoverFromErrorsThrownByTheFetch() {
+		final AtomicInteger fetches = new AtomicInteger();
+		IamTokenManager tokenManager = new IamTokenManager(new IamTokenManager.TokenFetcher() {
+			@Override
+			public IamToken fetch() {
+				if (fetches.incrementAndGet() == 1) {
+					throw new NoClassDefFoundError("Missing");
+				}
+				return new IamToken("token", "Bearer", System.currentTimeMillis() / 1000 + 3600);
+			}
+		}, 300);
+		try {
+			tokenManager.getToken(Deadline.after(5000));
+			fail("Expected the fetch failure.");
+		} catch (NoClassDefFoundError e) {
+			assertEquals("Missing", e.getMessage());
+		}
+		try {
+			// Not left waiting for the failed refresh.
+			assertEquals("token", tokenManager.getToken(Deadline.after(5000)));
+		} finally {
+			tokenManager.close();
+		}
+	}
+}
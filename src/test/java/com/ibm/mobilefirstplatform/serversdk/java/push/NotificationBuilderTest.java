@@ -5,6 +5,11 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.junit.Test;
@@ -12,6 +17,7 @@ import org.junit.Test;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
 import com.ibm.mobilefirstplatform.serversdk.java.push.APNs.Builder.APNSNotificationType;
 import com.ibm.mobilefirstplatform.serversdk.java.push.FCM.Builder.FCMPriority;
 import com.ibm.mobilefirstplatform.serversdk.java.push.FCM.Builder.Visibility;
@@ -42,6 +48,49 @@ private static JSONObject generateJSON(Object obj) {
 		return json;
 	}
 
+	@Test
+	public void shouldEncodeEveryKindOfPayloadAlike() throws IOException {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		map.put("key", "value");
+		map.put("count", 2);
+		JSONObject expected = new JSONObject(map);
+
+		FCM[] settings = new FCM[] { new FCM.Builder().payload(expected).build(),
+				new FCM.Builder().payloadNode(PushJson.MAPPER.readTree(expected.toString())).build(),
+				new FCM.Builder().payloadMap(map).build(),
+				new FCM.Builder().rawPayload(new RawValue("{\"key\":\"value\",\"count\":2}")).build() };
+		for (FCM fcm : settings) {
+			Notification notification = new Notification.Builder().message(new Message.Builder().alert("alert").build())
+					.settings(new Settings.Builder().fcm(fcm).build()).build();
+			JSONObject json = new JSONObject(new String(notification.getEncoded(), StandardCharsets.UTF_8));
+			assertTrue(expected.similar(json.getJSONObject("settings").getJSONObject("gcm").getJSONObject("payload")));
+		}
+	}
+
+	@Test
+	public void shouldCopyNestedJSONObjectPayload() {
+		JSONObject payload = new JSONObject().put("text", "a\"b").put("flag", true).put("count", 3)
+				.put("big", 12345678901L).put("ratio", 0.5).put("nothing", JSONObject.NULL)
+				.put("list", new JSONArray().put(1).put("two").put(new JSONObject().put("three", 3)))
+				.put("nested", new JSONObject().put("key", "value"));
+
+		APNs apns = new APNs.Builder().payload(payload).build();
+		assertEquals(payload.length(), apns.getPayload().size());
+
+		Notification notification = new Notification.Builder().message(new Message.Builder().alert("alert").build())
+				.settings(new Settings.Builder().apns(apns).build()).build();
+		JSONObject json = new JSONObject(new String(notification.getEncoded(), StandardCharsets.UTF_8));
+		assertTrue(payload.similar(json.getJSONObject("settings").getJSONObject("apns").getJSONObject("payload")));
+	}
+
+	@Test
+	public void shouldWriteFloatsAsTheyArePrinted() {
+		APNs apns = new APNs.Builder().payload(new JSONObject().put("ratio", Float.valueOf(0.1f))).build();
+		Notification notification = new Notification.Builder().message(new Message.Builder().alert("alert").build())
+				.settings(new Settings.Builder().apns(apns).build()).build();
+		assertTrue(new String(notification.getEncoded(), StandardCharsets.UTF_8).contains("\"ratio\":0.1}"));
+	}
+
 	@Test
 	public void shouldBuildWithJustAlert() {
 		String testAlert = "testMessage";
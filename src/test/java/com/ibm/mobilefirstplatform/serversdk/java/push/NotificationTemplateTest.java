@@ -0,0 +1,60 @@
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+public class NotificationTemplateTest {
+
+	private static Notification notification(String alert, String[] deviceIds) {
+		return new Notification.Builder().message(new Message.Builder().alert(alert).url("https://example.com").build())
+				.target(new Target.Builder().deviceIds(deviceIds).build()).build();
+	}
+
+	@Test
+	public void shouldRenderLikeTheEquivalentNotification() {
+		NotificationTemplate template = NotificationTemplate
+				.compile(notification("Hello ${name}, ${count} new messages", new String[] { "${deviceIds}" }));
+		assertEquals(new LinkedHashSet<String>(Arrays.asList("name", "count", "deviceIds")), template.getPlaceholders());
+
+		Map<String, Object> values = new HashMap<String, Object>();
+		values.put("name", "Zoë");
+		values.put("count", 3);
+		values.put("deviceIds", Arrays.asList("device1", "device2"));
+
+		byte[] expected = PushJson
+				.toBytes(PushClient.toModel(notification("Hello Zoë, 3 new messages", new String[] { "device1", "device2" })));
+		assertArrayEquals(expected, template.render(values));
+	}
+
+	@Test
+	public void shouldEscapeValues() {
+		NotificationTemplate template = NotificationTemplate.compile(notification("${alert}", new String[] { "${id}" }));
+
+		Map<String, Object> values = new HashMap<String, Object>();
+		values.put("alert", "say \"hi\"\\\n\t\u0001");
+		values.put("id", new String[] { "a\"b" });
+
+		JSONObject rendered = new JSONObject(new String(template.render(values), StandardCharsets.UTF_8));
+		assertEquals("say \"hi\"\\\n\t\u0001", rendered.getJSONObject("message").getString("alert"));
+		assertEquals("a\"b", rendered.getJSONObject("target").getJSONArray("deviceIds").getString(0));
+	}
+
+	@Test
+	public void shouldRejectMissingValue() {
+		NotificationTemplate template = NotificationTemplate.compile(notification("Hello ${name}", null));
+		try {
+			template.render(new HashMap<String, Object>());
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage().startsWith("FPSDK0021A"));
+		}
+	}
+}
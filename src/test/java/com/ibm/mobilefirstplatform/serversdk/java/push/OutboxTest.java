@@ -0,0 +1,92 @@
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+import org.apache.http.Consts;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class OutboxTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private OutboxConfig config(int segmentSizeBytes) {
+		return new OutboxConfig.Builder().directory(folder.getRoot()).segmentSizeBytes(segmentSizeBytes).build();
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(Consts.UTF_8);
+	}
+
+	@Test
+	public void shouldRecoverPendingEntriesOnly() {
+		Outbox outbox = Outbox.open(config(4096));
+		long first = outbox.append(bytes("{\"first\":1}"));
+		long second = outbox.append(bytes("{\"second\":2}"));
+		long third = outbox.append(bytes("{\"third\":3}"));
+		outbox.acknowledge(second);
+		outbox.close();
+
+		Outbox reopened = Outbox.open(config(4096));
+		assertEquals(Arrays.asList(first, third), reopened.pendingIds());
+		assertArrayEquals(bytes("{\"third\":3}"), reopened.read(third));
+		assertNull(reopened.read(second));
+		assertTrue(reopened.append(bytes("{}")) > third);
+		reopened.close();
+	}
+
+	@Test
+	public void shouldIgnoreTornWrite() throws IOException {
+		Outbox outbox = Outbox.open(config(4096));
+		long first = outbox.append(bytes("{\"first\":1}"));
+		outbox.append(bytes("{\"second\":2}"));
+		outbox.close();
+
+		// Corrupt the payload of the second entry, as a crash would.
+		File segment = folder.getRoot().listFiles()[0];
+		RandomAccessFile raf = new RandomAccessFile(segment, "rw");
+		try {
+			raf.seek(2 * 17 + "{\"first\":1}".length() + 2);
+			raf.write('X');
+		} finally {
+			raf.close();
+		}
+
+		Outbox reopened = Outbox.open(config(4096));
+		assertEquals(Arrays.asList(first), reopened.pendingIds());
+		long third = reopened.append(bytes("{\"third\":3}"));
+		reopened.close();
+
+		Outbox recovered = Outbox.open(config(4096));
+		assertEquals(Arrays.asList(first, third), recovered.pendingIds());
+		recovered.close();
+	}
+
+	@Test
+	public void shouldCompactSegmentsThatAreMostlyDone() {
+		Outbox outbox = Outbox.open(config(256));
+		byte[] notification = bytes("{\"message\":{\"alert\":\"testMessage\"}}");
+		long kept = outbox.append(notification);
+		for (int i = 0; i < 20; i++) {
+			outbox.acknowledge(outbox.append(notification));
+		}
+
+		// The entry still pending is carried over instead of keeping old
+		// segments alive.
+		assertTrue(outbox.segmentCount() <= 2);
+		assertEquals(outbox.segmentCount(), folder.getRoot().listFiles().length);
+		assertArrayEquals(notification, outbox.read(kept));
+		outbox.close();
+
+		Outbox reopened = Outbox.open(config(256));
+		assertEquals(Arrays.asList(kept), reopened.pendingIds());
+		reopened.close();
+	}
+}
@@ -0,0 +1,1127 @@
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.Consts;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.StatusLine;
+import org.apache.http.client.ClientProtocolException;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.util.EntityUtils;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.ibm.mobilefirstplatform.serversdk.java.push.exception.CircuitBreakerOpenException;
+import com.ibm.mobilefirstplatform.serversdk.java.push.exception.PushServerSDKException;
+import com.ibm.mobilefirstplatform.serversdk.java.push.exception.RequestTimeoutException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class PushClientTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private static PushClient createClient() {
+		return new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).build();
+	}
+
+	@Test
+	public void shouldKeepSeparateConfigurationPerClient() {
+		PushClient usClient = new PushClient.Builder().tenantId("tenantA").pushSecret("secretA")
+				.region(PushNotifications.US_SOUTH_REGION).build();
+		PushClient ukClient = new PushClient.Builder().tenantId("tenantB").pushSecret("secretB")
+				.region(PushNotifications.UK_REGION).transport(usClient.getTransport()).build();
+
+		assertEquals("https://us-south.imfpush.cloud.ibm.com/imfpush/v1/apps/tenantA/messages",
+				usClient.getPushMessageEndpointURL());
+		assertEquals("https://eu-gb.imfpush.cloud.ibm.com/imfpush/v1/apps/tenantB/messages",
+				ukClient.getPushMessageEndpointURL());
+		assertEquals("secretA", usClient.getPushSecret());
+		assertEquals("secretB", ukClient.getPushSecret());
+		assertSame(usClient.getTransport(), ukClient.getTransport());
+
+		ukClient.close();
+		usClient.close();
+	}
+
+	@Test
+	public void shouldCompleteAsyncSendExceptionallyWhenNotificationIsNull() throws InterruptedException {
+		PushClient client = createClient();
+		CompletableFuture<PushResult> future = client.sendAsync(null);
+
+		assertTrue(future.isCompletedExceptionally());
+		try {
+			future.get();
+			fail("Sending did not fail when the notification was null.");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof IllegalArgumentException);
+		} finally {
+			client.close();
+		}
+	}
+
+	@Test
+	public void shouldCompleteAsyncSendThroughNonBlockingTransport() throws Exception {
+		PushTransport transportMock = mock(PushTransport.class);
+		CompletableFuture<HttpResponse> pending = new CompletableFuture<HttpResponse>();
+		when(transportMock.isNonBlocking()).thenReturn(true);
+		when(transportMock.execute(any(HttpUriRequest.class))).thenReturn(pending);
+
+		PushClient client = new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).transport(transportMock).build();
+		Notification notification = new Notification.Builder()
+				.message(new Message.Builder().alert("testMessage").build()).build();
+
+		CompletableFuture<PushResult> future = client.sendAsync(notification);
+		assertFalse(future.isDone());
+
+		CloseableHttpResponse responseMock = mock(CloseableHttpResponse.class);
+		when(responseMock.getStatusLine()).thenReturn(new BasicStatusLine(HttpVersion.HTTP_1_1, HttpStatus.SC_ACCEPTED, null));
+		pending.complete(responseMock);
+
+		assertTrue(future.get().isSuccess());
+		client.close();
+	}
+
+	@Test
+	public void shouldDispatchBulkInChunks() throws Exception {
+		final List<Integer> chunkSizes = Collections.synchronizedList(new ArrayList<Integer>());
+		PushTransport transportMock = mock(PushTransport.class);
+		when(transportMock.isNonBlocking()).thenReturn(true);
+		when(transportMock.execute(any(HttpUriRequest.class))).thenAnswer(new Answer<CompletableFuture<HttpResponse>>() {
+			@Override
+			public CompletableFuture<HttpResponse> answer(InvocationOnMock invocation) throws Throwable {
+				HttpPost post = (HttpPost) invocation.getArguments()[0];
+				assertTrue(post.getURI().toString().endsWith("/messages/bulk"));
+				String body = EntityUtils.toString(post.getEntity());
+				chunkSizes.add(new JSONArray(body).length());
+
+				int status = body.contains("reject") ? HttpStatus.SC_BAD_REQUEST : HttpStatus.SC_ACCEPTED;
+				CloseableHttpResponse responseMock = mock(CloseableHttpResponse.class);
+				when(responseMock.getStatusLine()).thenReturn(new BasicStatusLine(HttpVersion.HTTP_1_1, status, null));
+				return CompletableFuture.<HttpResponse> completedFuture(responseMock);
+			}
+		});
+
+		PushClient client = new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).transport(transportMock)
+				.bulkDispatchConfig(new BulkDispatchConfig.Builder().maxNotificationsPerChunk(3).maxConcurrentChunks(2).build())
+				.build();
+		Notification[] notifications = new Notification[10];
+		for (int i = 0; i < notifications.length; i++) {
+			notifications[i] = new Notification.Builder()
+					.message(new Message.Builder().alert(i == 4 ? "reject" : "alert" + i).build()).build();
+		}
+
+		BulkDispatchReport report = client.dispatchBulk(notifications);
+
+		assertEquals(Arrays.asList(3, 3, 3, 1), chunkSizes);
+		assertEquals(10, report.getTotalNotifications());
+		assertEquals(4, report.getChunkResults().size());
+		assertEquals(7, report.getAcceptedNotifications());
+		assertFalse(report.isSuccess());
+		assertEquals(1, report.getFailedChunks().size());
+		assertEquals(3, report.getFailedChunks().get(0).getOffset());
+		assertEquals(Integer.valueOf(HttpStatus.SC_BAD_REQUEST), report.getFailedChunks().get(0).getResult().getStatusCode());
+
+		chunkSizes.clear();
+		int notificationBytes = PushJson.toBytes(PushClient.toModel(notifications[0])).length;
+		client = new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).transport(transportMock)
+				.bulkDispatchConfig(new BulkDispatchConfig.Builder().maxBytesPerChunk(2 * notificationBytes + 3).build())
+				.build();
+		client.dispatchBulk(Arrays.copyOf(notifications, 4));
+		assertEquals(Arrays.asList(2, 2), chunkSizes);
+	}
+
+	@Test
+	public void shouldSendWithTokenFetchedThroughTransport() throws Exception {
+		final List<HttpUriRequest> requests = Collections.synchronizedList(new ArrayList<HttpUriRequest>());
+		PushTransport transportMock = mock(PushTransport.class);
+		when(transportMock.execute(any(HttpUriRequest.class))).thenAnswer(new Answer<CompletableFuture<HttpResponse>>() {
+			@Override
+			public CompletableFuture<HttpResponse> answer(InvocationOnMock invocation) throws Throwable {
+				HttpUriRequest request = (HttpUriRequest) invocation.getArguments()[0];
+				requests.add(request);
+
+				BasicHttpResponse response;
+				if (request.getURI().toString().endsWith("/identity/token")) {
+					response = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK");
+					long expiration = System.currentTimeMillis() / 1000 + 3600;
+					response.setEntity(new StringEntity("{\"access_token\":\"testToken\",\"token_type\":\"Bearer\","
+							+ "\"expires_in\":3600,\"expiration\":" + expiration + "}", ContentType.APPLICATION_JSON));
+				} else {
+					response = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_ACCEPTED, "Accepted");
+				}
+				return CompletableFuture.<HttpResponse> completedFuture(response);
+			}
+		});
+
+		PushClient client = new PushClient.Builder().tenantId("testTenantId").apiKey("testApiKey")
+				.region(PushNotifications.US_SOUTH_REGION).transport(transportMock).build();
+		Notification notification = new Notification.Builder()
+				.message(new Message.Builder().alert("testMessage").build()).build();
+
+		IamToken token = client.fetchIamToken();
+		assertEquals("testToken", token.getAccessToken());
+		assertEquals("Bearer", token.getTokenType());
+		assertTrue(token.isValid());
+		assertFalse(token.toString().contains("testToken"));
+
+		assertTrue(client.sendAsync(notification).get().isSuccess());
+		assertTrue(client.sendAsync(notification).get().isSuccess());
+
+		assertEquals(4, requests.size());
+		assertEquals("Bearer testToken", requests.get(3).getFirstHeader("Authorization").getValue());
+		client.close();
+	}
+
+	@Test
+	public void shouldRetryUnavailableServiceWithoutBlocking() throws Exception {
+		final AtomicInteger attempts = new AtomicInteger();
+		PushTransport transportMock = mock(PushTransport.class);
+		when(transportMock.isNonBlocking()).thenReturn(true);
+		when(transportMock.execute(any(HttpUriRequest.class))).thenAnswer(new Answer<CompletableFuture<HttpResponse>>() {
+			@Override
+			public CompletableFuture<HttpResponse> answer(InvocationOnMock invocation) throws Throwable {
+				int status = attempts.incrementAndGet() < 3 ? HttpStatus.SC_SERVICE_UNAVAILABLE : HttpStatus.SC_ACCEPTED;
+				return CompletableFuture.<HttpResponse> completedFuture(
+						new BasicHttpResponse(HttpVersion.HTTP_1_1, status, null));
+			}
+		});
+
+		PushClient client = new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).transport(transportMock)
+				.retryPolicy(new RetryPolicy.Builder().maxAttempts(3).initialBackoffMillis(10).maxBackoffMillis(20).build())
+				.build();
+		Notification notification = new Notification.Builder()
+				.message(new Message.Builder().alert("testMessage").build()).build();
+
+		assertTrue(client.sendAsync(notification).get(5, TimeUnit.SECONDS).isSuccess());
+		assertEquals(3, attempts.get());
+
+		attempts.set(-10);
+		PushResult result = client.sendAsync(notification).get(5, TimeUnit.SECONDS);
+		assertEquals(Integer.valueOf(HttpStatus.SC_SERVICE_UNAVAILABLE), result.getStatusCode());
+		assertEquals(-7, attempts.get());
+		client.close();
+	}
+
+	@Test
+	public void shouldReplaceTokenRejectedOnSyncSendsOnce() throws Exception {
+		final AtomicInteger tokenFetches = new AtomicInteger();
+		final CountDownLatch bothSent = new CountDownLatch(2);
+		final AtomicInteger rejections = new AtomicInteger();
+		PushTransport transportMock = mock(PushTransport.class);
+		when(transportMock.execute(any(HttpUriRequest.class))).thenAnswer(new Answer<CompletableFuture<HttpResponse>>() {
+			@Override
+			public CompletableFuture<HttpResponse> answer(InvocationOnMock invocation) throws Throwable {
+				HttpUriRequest request = (HttpUriRequest) invocation.getArguments()[0];
+				BasicHttpResponse response;
+				if (request.getURI().toString().endsWith("/identity/token")) {
+					response = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK");
+					long expiration = System.currentTimeMillis() / 1000 + 3600;
+					response.setEntity(new StringEntity("{\"access_token\":\"token" + tokenFetches.incrementAndGet()
+							+ "\",\"expiration\":" + expiration + "}", ContentType.APPLICATION_JSON));
+				} else if ("Bearer token1".equals(request.getFirstHeader("Authorization").getValue())) {
+					bothSent.countDown();
+					bothSent.await(5, TimeUnit.SECONDS);
+					if (rejections.incrementAndGet() == 2) {
+						// The second rejection arrives once the token was replaced.
+						while (tokenFetches.get() < 2) {
+							Thread.sleep(10);
+						}
+						Thread.sleep(100);
+					}
+					response = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_UNAUTHORIZED, "Unauthorized");
+				} else {
+					response = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_ACCEPTED, "Accepted");
+				}
+				return CompletableFuture.<HttpResponse> completedFuture(response);
+			}
+		});
+
+		final PushClient client = new PushClient.Builder().tenantId("testTenantId").apiKey("testApiKey")
+				.region(PushNotifications.US_SOUTH_REGION).transport(transportMock).build();
+		final Notification notification = new Notification.Builder()
+				.message(new Message.Builder().alert("testMessage").build()).build();
+		final PushNotificationsResponseListener listener = mock(PushNotificationsResponseListener.class);
+
+		Thread other = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				client.send(notification, listener);
+			}
+		});
+		other.start();
+		client.send(notification, listener);
+		other.join(5000);
+		verify(listener, times(2)).onFailure(eq(HttpStatus.SC_UNAUTHORIZED), anyString(), isNull(Throwable.class));
+
+		client.send(notification, listener);
+		verify(listener).onSuccess(eq(HttpStatus.SC_ACCEPTED), anyString());
+		assertEquals(2, tokenFetches.get());
+		client.close();
+	}
+
+	@Test
+	public void shouldRecordMetrics() throws Exception {
+		final AtomicInteger attempts = new AtomicInteger();
+		PushTransport transportMock = mock(PushTransport.class);
+		when(transportMock.isNonBlocking()).thenReturn(true);
+		when(transportMock.execute(any(HttpUriRequest.class))).thenAnswer(new Answer<CompletableFuture<HttpResponse>>() {
+			@Override
+			public CompletableFuture<HttpResponse> answer(InvocationOnMock invocation) throws Throwable {
+				int status = attempts.incrementAndGet() == 1 ? HttpStatus.SC_SERVICE_UNAVAILABLE : HttpStatus.SC_ACCEPTED;
+				return CompletableFuture.<HttpResponse> completedFuture(
+						new BasicHttpResponse(HttpVersion.HTTP_1_1, status, null));
+			}
+		});
+		PushMetrics metrics = mock(PushMetrics.class);
+
+		PushClient client = new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).transport(transportMock)
+				.retryPolicy(new RetryPolicy.Builder().initialBackoffMillis(10).maxBackoffMillis(20).build())
+				.metrics(metrics).build();
+		ArgumentCaptor<PushMetrics.Gauges> gauges = ArgumentCaptor.forClass(PushMetrics.Gauges.class);
+		verify(metrics).bindGauges(gauges.capture());
+
+		Notification notification = new Notification.Builder()
+				.message(new Message.Builder().alert("testMessage").build()).build();
+		assertTrue(client.sendAsync(notification).get(5, TimeUnit.SECONDS).isSuccess());
+		assertTrue(client.sendBulkAsync(new Notification[] { notification, notification }).get(5, TimeUnit.SECONDS)
+				.isSuccess());
+
+		verify(metrics).notificationEncoded(eq(notification.getEncoded().length), anyLong());
+		verify(metrics).requestCompleted(eq(PushMetrics.MESSAGES), eq(HttpStatus.SC_SERVICE_UNAVAILABLE),
+				eq((long) notification.getEncoded().length), eq(0L), anyLong());
+		verify(metrics).retryScheduled(eq(PushMetrics.MESSAGES), anyLong());
+		verify(metrics, timeout(5000)).callCompleted(eq(PushMetrics.MESSAGES), eq(1),
+				eq(Integer.valueOf(HttpStatus.SC_ACCEPTED)), isNull(Throwable.class), anyLong());
+		verify(metrics, timeout(5000)).callCompleted(eq(PushMetrics.BULK), eq(2),
+				eq(Integer.valueOf(HttpStatus.SC_ACCEPTED)), isNull(Throwable.class), anyLong());
+		assertEquals(0, gauges.getValue().getInFlightRequests());
+		assertEquals(0, gauges.getValue().getLeasedConnections());
+		client.close();
+	}
+
+	@Test
+	public void shouldTraceStagesAndPropagateContext() throws Exception {
+		final List<HttpUriRequest> requests = Collections.synchronizedList(new ArrayList<HttpUriRequest>());
+		final List<String> traceparents = Collections.synchronizedList(new ArrayList<String>());
+		PushTransport transportMock = mock(PushTransport.class);
+		when(transportMock.isNonBlocking()).thenReturn(true);
+		when(transportMock.execute(any(HttpUriRequest.class))).thenAnswer(new Answer<CompletableFuture<HttpResponse>>() {
+			@Override
+			public CompletableFuture<HttpResponse> answer(InvocationOnMock invocation) throws Throwable {
+				HttpUriRequest request = (HttpUriRequest) invocation.getArguments()[0];
+				requests.add(request);
+				traceparents.add(request.getFirstHeader("traceparent").getValue());
+				int status = requests.size() == 1 ? HttpStatus.SC_SERVICE_UNAVAILABLE : HttpStatus.SC_ACCEPTED;
+				return CompletableFuture.<HttpResponse> completedFuture(
+						new BasicHttpResponse(HttpVersion.HTTP_1_1, status, null));
+			}
+		});
+		RecordingTracer tracer = new RecordingTracer();
+
+		PushClient client = new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).transport(transportMock)
+				.retryPolicy(new RetryPolicy.Builder().initialBackoffMillis(10).maxBackoffMillis(20).build())
+				.tracer(tracer).build();
+		Notification notification = new Notification.Builder()
+				.message(new Message.Builder().alert("testMessage").build()).build();
+		assertTrue(client.sendAsync(notification).get(5, TimeUnit.SECONDS).isSuccess());
+		client.close();
+
+		// The call span may end just after the future is completed.
+		long timeout = System.currentTimeMillis() + 5000;
+		while (tracer.events.size() < 8 && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		assertEquals(Arrays.asList("start push.send", "start push.send/push.encode", "end push.send/push.encode",
+				"start push.send/push.request", "end push.send/push.request 503",
+				"start push.send/push.request", "end push.send/push.request 202", "end push.send 202"),
+				tracer.events);
+		assertEquals(Arrays.asList("push.send/push.request", "push.send/push.request"), traceparents);
+		assertEquals(1, requests.get(1).getHeaders("traceparent").length);
+	}
+
+	/**
+	 * Records the spans as they start and end, and sends the path of the span
+	 * as the trace context.
+	 */
+	private static final class RecordingTracer implements PushTracer {
+		final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+
+		@Override
+		public Span startSpan(String name) {
+			return new RecordingSpan(name);
+		}
+
+		private final class RecordingSpan implements PushTracer.Span {
+			private final String path;
+			private String status = "";
+
+			RecordingSpan(String path) {
+				this.path = path;
+				events.add("start " + path);
+			}
+
+			@Override
+			public Span startChild(String name) {
+				return new RecordingSpan(path + "/" + name);
+			}
+
+			@Override
+			public void setAttribute(String key, String value) {
+			}
+
+			@Override
+			public void setAttribute(String key, long value) {
+				if (key.equals("http.response.status_code")) {
+					status = " " + value;
+				}
+			}
+
+			@Override
+			public void injectHeaders(HttpRequest request) {
+				request.setHeader("traceparent", path);
+			}
+
+			@Override
+			public void end(Throwable failure) {
+				events.add("end " + path + status);
+			}
+		}
+	}
+
+	@Test
+	public void shouldFailFastWhileCircuitIsOpen() throws Exception {
+		final AtomicInteger attempts = new AtomicInteger();
+		PushTransport transportMock = mock(PushTransport.class);
+		when(transportMock.isNonBlocking()).thenReturn(true);
+		when(transportMock.execute(any(HttpUriRequest.class))).thenAnswer(new Answer<CompletableFuture<HttpResponse>>() {
+			@Override
+			public CompletableFuture<HttpResponse> answer(InvocationOnMock invocation) throws Throwable {
+				attempts.incrementAndGet();
+				return CompletableFuture.<HttpResponse> completedFuture(
+						new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_BAD_GATEWAY, null));
+			}
+		});
+
+		PushClient client = new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).transport(transportMock)
+				.retryPolicy(RetryPolicy.noRetries())
+				.circuitBreakerConfig(new CircuitBreakerConfig.Builder().slidingWindowSize(4).minimumRequests(2)
+						.openDurationMillis(60000).build())
+				.build();
+		Notification notification = new Notification.Builder()
+				.message(new Message.Builder().alert("testMessage").build()).build();
+
+		client.sendAsync(notification).get(5, TimeUnit.SECONDS);
+		client.sendAsync(notification).get(5, TimeUnit.SECONDS);
+		assertEquals(2, attempts.get());
+
+		try {
+			client.sendAsync(notification).get(5, TimeUnit.SECONDS);
+			fail();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof CircuitBreakerOpenException);
+		}
+
+		PushNotificationsResponseListener listener = mock(PushNotificationsResponseListener.class);
+		client.send(notification, listener);
+		verify(listener).onFailure(isNull(Integer.class), anyString(), any(CircuitBreakerOpenException.class));
+		assertEquals(2, attempts.get());
+		client.close();
+	}
+
+	@Test
+	public void shouldTimeOutAndAbortUnansweredRequest() throws Exception {
+		final List<HttpUriRequest> requests = Collections.synchronizedList(new ArrayList<HttpUriRequest>());
+		PushTransport transportMock = mock(PushTransport.class);
+		when(transportMock.isNonBlocking()).thenReturn(true);
+		when(transportMock.execute(any(HttpUriRequest.class))).thenAnswer(new Answer<CompletableFuture<HttpResponse>>() {
+			@Override
+			public CompletableFuture<HttpResponse> answer(InvocationOnMock invocation) throws Throwable {
+				requests.add((HttpUriRequest) invocation.getArguments()[0]);
+				return new CompletableFuture<HttpResponse>();
+			}
+		});
+
+		PushClient client = new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).transport(transportMock).requestTimeoutMillis(5000).build();
+		Notification notification = new Notification.Builder()
+				.message(new Message.Builder().alert("testMessage").build()).build();
+
+		long start = System.nanoTime();
+		try {
+			client.sendAsync(notification, 100).get(5, TimeUnit.SECONDS);
+			fail();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof RequestTimeoutException);
+		}
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+		assertEquals(1, requests.size());
+		// The request is aborted right after the future fails.
+		for (int i = 0; i < 100 && !requests.get(0).isAborted(); i++) {
+			Thread.sleep(10);
+		}
+		assertTrue(requests.get(0).isAborted());
+
+		PushNotificationsResponseListener listener = mock(PushNotificationsResponseListener.class);
+		client.send(notification, listener, 100);
+		verify(listener).onFailure(isNull(Integer.class), anyString(), any(RequestTimeoutException.class));
+		client.close();
+	}
+
+	@Test
+	public void shouldTimeOutBulkAndTemplateCalls() throws Exception {
+		PushTransport transportMock = mock(PushTransport.class);
+		when(transportMock.isNonBlocking()).thenReturn(true);
+		when(transportMock.execute(any(HttpUriRequest.class))).thenAnswer(new Answer<CompletableFuture<HttpResponse>>() {
+			@Override
+			public CompletableFuture<HttpResponse> answer(InvocationOnMock invocation) throws Throwable {
+				return new CompletableFuture<HttpResponse>();
+			}
+		});
+
+		PushClient client = new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).transport(transportMock).requestTimeoutMillis(5000).build();
+		Notification notification = new Notification.Builder()
+				.message(new Message.Builder().alert("${alert}").build()).build();
+		Notification[] notifications = new Notification[] { notification, notification };
+
+		long start = System.nanoTime();
+		try {
+			client.sendBulkAsync(notifications, 100).get(5, TimeUnit.SECONDS);
+			fail();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof RequestTimeoutException);
+		}
+
+		try {
+			client.sendAsync(NotificationTemplate.compile(notification), Collections.singletonMap("alert", "testMessage"),
+					100).get(5, TimeUnit.SECONDS);
+			fail();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof RequestTimeoutException);
+		}
+
+		BulkDispatchReport report = client.dispatchBulk(notifications, 100);
+		assertEquals(0, report.getAcceptedNotifications());
+		assertTrue(report.getFailedChunks().get(0).getException() instanceof RequestTimeoutException);
+
+		PushNotificationsResponseListener listener = mock(PushNotificationsResponseListener.class);
+		client.sendBulk(notifications, listener, 100);
+		verify(listener).onFailure(isNull(Integer.class), anyString(), any(RequestTimeoutException.class));
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(4));
+		client.close();
+	}
+
+	@Test
+	public void shouldNotRetryBeyondTheTimeout() throws Exception {
+		final AtomicInteger attempts = new AtomicInteger();
+		PushTransport transportMock = mock(PushTransport.class);
+		when(transportMock.isNonBlocking()).thenReturn(true);
+		when(transportMock.execute(any(HttpUriRequest.class))).thenAnswer(new Answer<CompletableFuture<HttpResponse>>() {
+			@Override
+			public CompletableFuture<HttpResponse> answer(InvocationOnMock invocation) throws Throwable {
+				attempts.incrementAndGet();
+				return CompletableFuture.<HttpResponse> completedFuture(
+						new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_SERVICE_UNAVAILABLE, null));
+			}
+		});
+
+		PushClient client = new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).transport(transportMock)
+				.retryPolicy(new RetryPolicy.Builder().maxAttempts(3).initialBackoffMillis(10000).maxBackoffMillis(10000)
+						.build())
+				.build();
+		Notification notification = new Notification.Builder()
+				.message(new Message.Builder().alert("testMessage").build()).build();
+
+		// Full jitter may pick a short delay, but never one past the deadline.
+		PushResult result = client.sendAsync(notification, 50).get(5, TimeUnit.SECONDS);
+		assertEquals(Integer.valueOf(HttpStatus.SC_SERVICE_UNAVAILABLE), result.getStatusCode());
+		client.close();
+	}
+
+	@Test
+	public void shouldRedeliverOutboxEntriesAfterRestart() throws Exception {
+		File directory = temporaryFolder.newFolder();
+		final AtomicInteger status = new AtomicInteger(HttpStatus.SC_SERVICE_UNAVAILABLE);
+		final AtomicInteger attempts = new AtomicInteger();
+		PushTransport transportMock = mock(PushTransport.class);
+		when(transportMock.isNonBlocking()).thenReturn(true);
+		when(transportMock.execute(any(HttpUriRequest.class))).thenAnswer(new Answer<CompletableFuture<HttpResponse>>() {
+			@Override
+			public CompletableFuture<HttpResponse> answer(InvocationOnMock invocation) throws Throwable {
+				attempts.incrementAndGet();
+				return CompletableFuture.<HttpResponse> completedFuture(
+						new BasicHttpResponse(HttpVersion.HTTP_1_1, status.get(), null));
+			}
+		});
+		OutboxConfig outboxConfig = new OutboxConfig.Builder().directory(directory).redeliveryIntervalMillis(60000)
+				.build();
+		Notification notification = new Notification.Builder()
+				.message(new Message.Builder().alert("testMessage").build()).build();
+
+		PushClient client = new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).transport(transportMock).retryPolicy(RetryPolicy.noRetries())
+				.outboxConfig(outboxConfig).build();
+		assertFalse(client.enqueue(notification).get(5, TimeUnit.SECONDS).isSuccess());
+		client.close();
+
+		status.set(HttpStatus.SC_ACCEPTED);
+		PushClient restarted = new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).transport(transportMock).retryPolicy(RetryPolicy.noRetries())
+				.outboxConfig(outboxConfig).build();
+		long deadline = System.currentTimeMillis() + 5000;
+		while (restarted.getOutbox().size() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(0, restarted.getOutbox().size());
+		assertEquals(2, attempts.get());
+		restarted.close();
+	}
+
+	@Test
+	public void shouldNotRedeliverEntriesJustSentByEnqueue() throws Exception {
+		final AtomicInteger attempts = new AtomicInteger();
+		PushTransport transportMock = mock(PushTransport.class);
+		when(transportMock.isNonBlocking()).thenReturn(true);
+		when(transportMock.execute(any(HttpUriRequest.class))).thenAnswer(new Answer<CompletableFuture<HttpResponse>>() {
+			@Override
+			public CompletableFuture<HttpResponse> answer(InvocationOnMock invocation) throws Throwable {
+				attempts.incrementAndGet();
+				return CompletableFuture.<HttpResponse> completedFuture(
+						new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_SERVICE_UNAVAILABLE, null));
+			}
+		});
+		OutboxConfig outboxConfig = new OutboxConfig.Builder().directory(temporaryFolder.newFolder())
+				.redeliveryIntervalMillis(500).build();
+		Notification notification = new Notification.Builder()
+				.message(new Message.Builder().alert("testMessage").build()).build();
+
+		PushClient client = new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).transport(transportMock).retryPolicy(RetryPolicy.noRetries())
+				.outboxConfig(outboxConfig).build();
+		long start = System.currentTimeMillis();
+		// Let the pass run on start find the outbox empty.
+		Thread.sleep(100);
+		assertFalse(client.enqueue(notification).get(5, TimeUnit.SECONDS).isSuccess());
+
+		// The pass after 500 ms skips the entry appended since the previous one.
+		Thread.sleep(Math.max(0, start + 750 - System.currentTimeMillis()));
+		assertEquals(1, attempts.get());
+
+		// The next pass sends it again.
+		long deadline = System.currentTimeMillis() + 5000;
+		while (attempts.get() < 2 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(2, attempts.get());
+		client.close();
+	}
+
+	@Test(expected = PushServerSDKException.class)
+	public void shouldRequireOutboxToEnqueue() {
+		PushClient client = new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).build();
+		try {
+			client.enqueue(new Notification.Builder().message(new Message.Builder().alert("testMessage").build()).build());
+		} finally {
+			client.close();
+		}
+	}
+
+	@Test
+	public void shouldCoalesceSingleSendsIntoBulkRequests() throws Exception {
+		final List<String> requests = Collections.synchronizedList(new ArrayList<String>());
+		PushTransport transportMock = mock(PushTransport.class);
+		when(transportMock.isNonBlocking()).thenReturn(true);
+		when(transportMock.execute(any(HttpUriRequest.class))).thenAnswer(new Answer<CompletableFuture<HttpResponse>>() {
+			@Override
+			public CompletableFuture<HttpResponse> answer(InvocationOnMock invocation) throws Throwable {
+				HttpPost request = (HttpPost) invocation.getArguments()[0];
+				requests.add(request.getURI().getPath());
+				JSONArray notifications = new JSONArray(EntityUtils.toString(request.getEntity()));
+				JSONArray results = new JSONArray();
+				for (int i = 0; i < notifications.length(); i++) {
+					results.put(new JSONObject().put("alert",
+							notifications.getJSONObject(i).getJSONObject("message").getString("alert")));
+				}
+				BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_ACCEPTED, null);
+				response.setEntity(new StringEntity(results.toString(), ContentType.APPLICATION_JSON));
+				return CompletableFuture.<HttpResponse> completedFuture(response);
+			}
+		});
+
+		PushClient client = new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).transport(transportMock)
+				.batchingConfig(new BatchingConfig.Builder().maxBatchSize(4).maxDelayMillis(50).build()).build();
+
+		List<CompletableFuture<PushResult>> results = new ArrayList<CompletableFuture<PushResult>>();
+		for (int i = 0; i < 6; i++) {
+			results.add(client.sendAsync(new Notification.Builder()
+					.message(new Message.Builder().alert("testMessage" + i).build()).build()));
+		}
+		PushNotificationsResponseListener listener = mock(PushNotificationsResponseListener.class);
+		client.send(new Notification.Builder().message(new Message.Builder().alert("testMessage6").build()).build(),
+				listener);
+
+		for (int i = 0; i < 6; i++) {
+			PushResult result = results.get(i).get(5, TimeUnit.SECONDS);
+			assertTrue(result.isSuccess());
+			assertEquals("testMessage" + i, new JSONObject(result.getResponseBody()).getString("alert"));
+		}
+		verify(listener, timeout(5000)).onSuccess(HttpStatus.SC_ACCEPTED, "{\"alert\":\"testMessage6\"}");
+
+		// A full batch of four, then the last three once they waited long enough.
+		assertEquals(2, requests.size());
+		assertTrue(requests.get(0).endsWith(PushConstants.BULK_PATH));
+		assertTrue(requests.get(1).endsWith(PushConstants.BULK_PATH));
+		client.close();
+	}
+
+	@Test
+	public void shouldSendTheLastBatchBeforeClosing() throws Exception {
+		final AtomicInteger received = new AtomicInteger();
+		HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/", new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				JSONArray notifications = new JSONArray(new String(readAll(exchange.getRequestBody()), Consts.UTF_8));
+				try {
+					// Still in flight when the client is closed.
+					Thread.sleep(200);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				received.addAndGet(notifications.length());
+				exchange.sendResponseHeaders(HttpStatus.SC_ACCEPTED, -1);
+				exchange.close();
+			}
+		});
+		server.start();
+
+		try {
+			PushClient client = new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+					.serverHost("http://localhost:" + server.getAddress().getPort())
+					.batchingConfig(new BatchingConfig.Builder().maxBatchSize(10).maxDelayMillis(60000).build())
+					.build();
+			List<CompletableFuture<PushResult>> results = new ArrayList<CompletableFuture<PushResult>>();
+			for (int i = 0; i < 3; i++) {
+				results.add(client.sendAsync(new Notification.Builder()
+						.message(new Message.Builder().alert("testMessage" + i).build()).build()));
+			}
+			client.close();
+
+			assertEquals(3, received.get());
+			for (CompletableFuture<PushResult> result : results) {
+				assertTrue(result.isDone());
+				assertTrue(result.get().isSuccess());
+			}
+		} finally {
+			server.stop(0);
+		}
+	}
+
+	private static byte[] readAll(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		int read;
+		while ((read = in.read(buffer)) != -1) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectNonPositiveInFlightLimit() {
+		new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).maxInFlightRequests(0).build();
+	}
+
+	@Test(expected = PushServerSDKException.class)
+	public void shouldFailBuildingWithoutCredentials() {
+		new PushClient.Builder().tenantId("testTenantId").region(PushNotifications.US_SOUTH_REGION).build();
+	}
+
+	@Test
+	public void shouldCreateCorrectPostRequest() {
+		PushClient client = new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.serverHost("http://www.testendpoint.com").build();
+
+		byte[] notification = "{}".getBytes(Consts.UTF_8);
+
+		HttpPost post = client.createPushPostRequest(notification, null);
+
+		assertNotNull(post.getFirstHeader(HTTP.CONTENT_TYPE));
+		assertEquals("application/json", post.getFirstHeader(HTTP.CONTENT_TYPE).getValue());
+
+		assertNotNull(post.getFirstHeader("appSecret"));
+		assertEquals("testAppSecret", post.getFirstHeader("appSecret").getValue());
+
+		HttpEntity bodyEntity = post.getEntity();
+		StringEntity expectedBodyEntity = new StringEntity("{}", ContentType.APPLICATION_JSON);
+
+		assertEquals(expectedBodyEntity.getContentLength(), bodyEntity.getContentLength());
+		assertEquals(expectedBodyEntity.getContentType().getValue(), bodyEntity.getContentType().getValue());
+
+		try {
+			ByteArrayOutputStream expectedBody = new ByteArrayOutputStream();
+			expectedBodyEntity.writeTo(expectedBody);
+
+			ByteArrayOutputStream body = new ByteArrayOutputStream();
+			bodyEntity.writeTo(body);
+
+			assertTrue(Arrays.equals(expectedBody.toByteArray(), body.toByteArray()));
+		} catch (IOException e) {
+			fail("Failed to convert entities to byte arrays.");
+		}
+	}
+
+	@Test
+	public void shouldSerializeFcmSettingsAsGcm() {
+		Notification notification = new Notification.Builder().message(new Message.Builder().alert("alert").build())
+				.settings(new Settings.Builder().fcm(new FCM.Builder().sound("sound.wav").build()).build()).build();
+
+		JSONObject json = new JSONObject(new String(PushJson.toBytes(PushClient.toModel(notification)), Consts.UTF_8));
+
+		assertEquals("alert", json.getJSONObject("message").getString("alert"));
+		assertFalse(json.getJSONObject("settings").has("fcm"));
+		assertEquals("sound.wav", json.getJSONObject("settings").getJSONObject("gcm").getString("sound"));
+	}
+
+	@Test
+	public void shouldStreamBulkRequestBody() throws IOException {
+		PushClient client = createClient();
+		List<PushMessageModel> models = new ArrayList<PushMessageModel>();
+		for (int i = 0; i < 3; i++) {
+			models.add(PushClient.toModel(new Notification.Builder()
+					.message(new Message.Builder().alert("alert" + i).build()).build()));
+		}
+
+		HttpPost post = client.createBulkPushPostRequest(models, null);
+		assertTrue(post.getURI().toString().endsWith("/messages/bulk"));
+
+		HttpEntity bodyEntity = post.getEntity();
+		assertTrue(bodyEntity.isChunked());
+		assertTrue(bodyEntity.isRepeatable());
+		assertEquals(-1, bodyEntity.getContentLength());
+
+		byte[] expectedBody = PushJson.toBytes(models);
+
+		ByteArrayOutputStream written = new ByteArrayOutputStream();
+		bodyEntity.writeTo(written);
+		assertTrue(Arrays.equals(expectedBody, written.toByteArray()));
+
+		assertTrue(Arrays.equals(expectedBody, EntityUtils.toByteArray(bodyEntity)));
+		assertEquals("[]", EntityUtils.toString(
+				client.createBulkPushPostRequest(new ArrayList<PushMessageModel>(), null).getEntity()));
+	}
+
+	@Test
+	public void shouldEncodeNotificationOnce() throws Exception {
+		final List<String> bodies = Collections.synchronizedList(new ArrayList<String>());
+		PushTransport transportMock = mock(PushTransport.class);
+		when(transportMock.isNonBlocking()).thenReturn(true);
+		when(transportMock.execute(any(HttpUriRequest.class))).thenAnswer(new Answer<CompletableFuture<HttpResponse>>() {
+			@Override
+			public CompletableFuture<HttpResponse> answer(InvocationOnMock invocation) throws Throwable {
+				bodies.add(EntityUtils.toString(((HttpPost) invocation.getArguments()[0]).getEntity()));
+				return CompletableFuture.<HttpResponse> completedFuture(
+						new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_ACCEPTED, null));
+			}
+		});
+		PushClient client = new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).transport(transportMock).build();
+
+		Notification notification = new Notification.Builder().message(new Message.Builder().alert("alert").build())
+				.build();
+		byte[] encoded = notification.getEncoded();
+		assertSame(encoded, notification.getEncoded());
+		assertTrue(Arrays.equals(PushJson.toBytes(PushClient.toModel(notification)), encoded));
+
+		client.sendAsync(notification).get(5, TimeUnit.SECONDS);
+		client.sendBulkAsync(new Notification[] { notification, notification }).get(5, TimeUnit.SECONDS);
+
+		String json = new String(encoded, Consts.UTF_8);
+		assertEquals(Arrays.asList(json, "[" + json + "," + json + "]"), bodies);
+		client.close();
+	}
+
+	@Test
+	public void shouldNotKeepTheJsonOfBulkNotifications() throws Exception {
+		PushTransport transportMock = mock(PushTransport.class);
+		when(transportMock.isNonBlocking()).thenReturn(true);
+		when(transportMock.execute(any(HttpUriRequest.class))).thenAnswer(new Answer<CompletableFuture<HttpResponse>>() {
+			@Override
+			public CompletableFuture<HttpResponse> answer(InvocationOnMock invocation) throws Throwable {
+				EntityUtils.consume(((HttpPost) invocation.getArguments()[0]).getEntity());
+				return CompletableFuture.<HttpResponse> completedFuture(
+						new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_ACCEPTED, null));
+			}
+		});
+		PushClient client = new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).transport(transportMock).build();
+
+		Notification notification = new Notification.Builder().message(new Message.Builder().alert("alert").build())
+				.build();
+
+		client.sendBulkAsync(new Notification[] { notification }).get(5, TimeUnit.SECONDS);
+		client.dispatchBulk(new Notification[] { notification });
+		assertFalse(notification.isEncoded());
+
+		client.sendAsync(notification).get(5, TimeUnit.SECONDS);
+		assertTrue(notification.isEncoded());
+		client.close();
+	}
+
+	@Test
+	public void shouldSendResponseToListener() {
+		PushClient client = createClient();
+		CloseableHttpResponse responseMock = mock(CloseableHttpResponse.class);
+
+		when(responseMock.getEntity()).thenReturn(null);
+		when(responseMock.getStatusLine()).thenReturn(new StatusLine() {
+			@Override
+			public ProtocolVersion getProtocolVersion() {
+				return null;
+			}
+
+			@Override
+			public int getStatusCode() {
+				return HttpStatus.SC_ACCEPTED;
+			}
+
+			@Override
+			public String getReasonPhrase() {
+				return null;
+			}
+		});
+
+		PushNotificationsResponseListener successListener = new PushNotificationsResponseListener() {
+
+			@Override
+			public void onSuccess(int statusCode, String responseBody) {
+				assertEquals(HttpStatus.SC_ACCEPTED, statusCode);
+				assertTrue(responseBody == null || responseBody.length() == 0);
+			}
+
+			@Override
+			public void onFailure(Integer statusCode, String responseBody, Throwable t) {
+				fail("Should not have called failure callback when the Status Code is the correct one.");
+			}
+		};
+
+		try {
+			client.sendResponseToListener(responseMock, successListener);
+		} catch (IOException e) {
+			fail("Should not fail because the response is null.");
+		}
+
+		PushNotificationsResponseListener failureListener = new PushNotificationsResponseListener() {
+
+			@Override
+			public void onSuccess(int statusCode, String responseBody) {
+				fail("Should not have called success callback when the Status Code is not the valid one.");
+			}
+
+			@Override
+			public void onFailure(Integer statusCode, String responseBody, Throwable t) {
+				assertNull(statusCode);
+
+				// The response body is empty if mocked:
+				assertTrue(responseBody == null || responseBody.length() == 0);
+			}
+		};
+
+		// Return null status code
+		when(responseMock.getStatusLine()).thenReturn(null);
+		when(responseMock.getEntity()).thenReturn(mock(HttpEntity.class));
+
+		try {
+			client.sendResponseToListener(responseMock, failureListener);
+		} catch (IOException e) {
+			fail("Should not fail because the response is null.");
+		}
+	}
+
+	@Test
+	public void shouldCallSuccessCallbackWhenTheResponseIsCorrect() throws Throwable {
+		PushClient client = createClient();
+		PushTransport transportMock = mock(PushTransport.class);
+		CloseableHttpResponse responseMock = mock(CloseableHttpResponse.class);
+
+		when(responseMock.getStatusLine()).thenReturn(new StatusLine() {
+
+			@Override
+			public int getStatusCode() {
+				return HttpStatus.SC_ACCEPTED;
+			}
+
+			@Override
+			public String getReasonPhrase() {
+				return null;
+			}
+
+			@Override
+			public ProtocolVersion getProtocolVersion() {
+				return null;
+			}
+		});
+		when(transportMock.execute(null)).thenReturn(CompletableFuture.<HttpResponse> completedFuture(responseMock));
+
+		client.executePushPostRequest(null, transportMock, new PushNotificationsResponseListener() {
+
+			@Override
+			public void onSuccess(int statusCode, String responseBody) {
+				assertEquals(HttpStatus.SC_ACCEPTED, statusCode);
+				assertTrue(responseBody == null || responseBody.length() == 0);
+			}
+
+			@Override
+			public void onFailure(Integer statusCode, String responseBody, Throwable t) {
+				fail("The status code should have been correct, and there should not have been any exceptions");
+			}
+		});
+	}
+
+	@Test
+	public void shouldCallFailureCallbackIfExceptionOccursWhenExecutingRequest()
+			throws ClientProtocolException, IOException {
+		PushClient client = createClient();
+		PushTransport transportMock = mock(PushTransport.class);
+
+		when(transportMock.execute(any(HttpUriRequest.class)))
+				.thenReturn(PushClient.<HttpResponse> failedFuture(new ClientProtocolException()));
+
+		client.executePushPostRequest(null, transportMock, new PushNotificationsResponseListener() {
+
+			@Override
+			public void onSuccess(int statusCode, String responseBody) {
+				fail("Should not have succeeded.");
+			}
+
+			@Override
+			public void onFailure(Integer statusCode, String responseBody, Throwable t) {
+				assertNull(statusCode);
+				assertNull(responseBody);
+				assertTrue(t instanceof ClientProtocolException);
+			}
+		});
+	}
+
+	@Test
+	public void shouldBreakDownBulkResponsesPerNotification() throws Exception {
+		PushTransport transportMock = mock(PushTransport.class);
+		when(transportMock.isNonBlocking()).thenReturn(true);
+		when(transportMock.execute(any(HttpUriRequest.class))).thenAnswer(new Answer<CompletableFuture<HttpResponse>>() {
+			@Override
+			public CompletableFuture<HttpResponse> answer(InvocationOnMock invocation) throws Throwable {
+				HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_ACCEPTED, null);
+				response.setEntity(new StringEntity("[{\"message\":{\"alert\":\"caf\u00e9\"},\"messageId\":\"id1\"},"
+						+ " {\"code\":\"FPWSE0001E\",\"message\":\"Bad request\",\"moreInfo\":[1,{\"a\":2}]}]",
+						ContentType.APPLICATION_JSON));
+				return CompletableFuture.<HttpResponse> completedFuture(response);
+			}
+		});
+
+		PushClient client = new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).transport(transportMock).build();
+		Notification notification = new Notification.Builder()
+				.message(new Message.Builder().alert("testMessage").build()).build();
+
+		BulkPushResult result = client.sendBulkAsync(new Notification[] { notification, notification }).get(5,
+				TimeUnit.SECONDS);
+		assertEquals(2, result.getItems().size());
+		assertEquals(1, result.getAcceptedCount());
+
+		PushResult accepted = result.getItems().get(0);
+		assertTrue(accepted.isSuccess());
+		assertEquals("id1", accepted.getMessageId());
+		assertNull(accepted.getErrorMessage());
+		assertEquals("{\"message\":{\"alert\":\"caf\u00e9\"},\"messageId\":\"id1\"}", accepted.getResponseBody());
+
+		PushResult rejected = result.getItems().get(1);
+		assertFalse(rejected.isSuccess());
+		assertEquals("FPWSE0001E", rejected.getErrorCode());
+		assertEquals("Bad request", rejected.getErrorMessage());
+		assertEquals("{\"code\":\"FPWSE0001E\",\"message\":\"Bad request\",\"moreInfo\":[1,{\"a\":2}]}",
+				rejected.getResponseBody());
+
+		PushResult notJson = new PushResult(HttpStatus.SC_BAD_GATEWAY, "<html>Bad gateway</html>");
+		assertNull(notJson.getErrorCode());
+		assertEquals("<html>Bad gateway</html>", notJson.getResponseBody());
+		client.close();
+	}
+
+	@Test
+	public void shouldLeaveErrorCodesOfAcceptedResponsesToResults() throws Exception {
+		final String body = "{\"code\":\"FPWSE0001E\",\"message\":\"Bad request\"}";
+		PushTransport transportMock = mock(PushTransport.class);
+		when(transportMock.isNonBlocking()).thenReturn(true);
+		when(transportMock.execute(any(HttpUriRequest.class))).thenAnswer(new Answer<CompletableFuture<HttpResponse>>() {
+			@Override
+			public CompletableFuture<HttpResponse> answer(InvocationOnMock invocation) throws Throwable {
+				HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_ACCEPTED, null);
+				response.setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
+				return CompletableFuture.<HttpResponse> completedFuture(response);
+			}
+		});
+
+		PushClient client = new PushClient.Builder().tenantId("testTenantId").pushSecret("testAppSecret")
+				.region(PushNotifications.US_SOUTH_REGION).transport(transportMock).build();
+		Notification notification = new Notification.Builder()
+				.message(new Message.Builder().alert("testMessage").build()).build();
+
+		PushNotificationsResponseListener listener = mock(PushNotificationsResponseListener.class);
+		client.send(notification, listener);
+		verify(listener).onSuccess(HttpStatus.SC_ACCEPTED, body);
+
+		PushResult result = client.sendAsync(notification).get(5, TimeUnit.SECONDS);
+		assertFalse(result.isSuccess());
+		assertEquals("FPWSE0001E", result.getErrorCode());
+		client.close();
+	}
+}
@@ -0,0 +1,199 @@
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.Message;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.impl.bootstrap.HttpAsyncServer;
+import org.apache.hc.core5.http.nio.AsyncRequestConsumer;
+import org.apache.hc.core5.http.nio.AsyncServerRequestHandler;
+import org.apache.hc.core5.http.nio.entity.StringAsyncEntityConsumer;
+import org.apache.hc.core5.http.nio.support.BasicRequestConsumer;
+import org.apache.hc.core5.http.nio.support.BasicResponseProducer;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.http2.impl.nio.bootstrap.H2ServerBootstrap;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.reactor.ListenerEndpoint;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PushHttp2ClientTest {
+
+	private final AtomicInteger activeStreams = new AtomicInteger();
+	private final AtomicInteger maxActiveStreams = new AtomicInteger();
+	private ScheduledExecutorService responder;
+	private HttpAsyncServer server;
+	private String serverHost;
+
+	@Before
+	public void startServer() throws Exception {
+		responder = Executors.newSingleThreadScheduledExecutor();
+		server = H2ServerBootstrap.bootstrap().setVersionPolicy(HttpVersionPolicy.FORCE_HTTP_2)
+				.register("*", new AsyncServerRequestHandler<Message<HttpRequest, String>>() {
+					@Override
+					public AsyncRequestConsumer<Message<HttpRequest, String>> prepare(HttpRequest request,
+							EntityDetails entityDetails, HttpContext context) throws HttpException {
+						return new BasicRequestConsumer<String>(
+								entityDetails != null ? new StringAsyncEntityConsumer() : null);
+					}
+
+					@Override
+					public void handle(final Message<HttpRequest, String> message, final ResponseTrigger trigger,
+							final HttpContext context) throws HttpException, IOException {
+						int active = activeStreams.incrementAndGet();
+						maxActiveStreams.accumulateAndGet(active, Math::max);
+
+						// Hold the stream open for a while so requests overlap.
+						responder.schedule(() -> {
+							activeStreams.decrementAndGet();
+							try {
+								trigger.submitResponse(new BasicResponseProducer(202, message.getBody(),
+										ContentType.APPLICATION_JSON), context);
+							} catch (Exception e) {
+								fail(e.toString());
+							}
+						}, 50, TimeUnit.MILLISECONDS);
+					}
+				}).create();
+		server.start();
+		ListenerEndpoint endpoint = server.listen(new InetSocketAddress("localhost", 0), URIScheme.HTTP).get();
+		serverHost = "http://localhost:" + ((InetSocketAddress) endpoint.getAddress()).getPort();
+	}
+
+	@After
+	public void stopServer() {
+		server.close(CloseMode.IMMEDIATE);
+		responder.shutdownNow();
+	}
+
+	@Test
+	public void shouldMultiplexRequestsWithinTheStreamLimit() throws Exception {
+		PushHttp2Client client = new PushHttp2Client(new PushHttpClientConfig.Builder().maxConcurrentStreams(2).build());
+		try {
+			List<CompletableFuture<HttpResponse>> responses = new ArrayList<CompletableFuture<HttpResponse>>();
+			for (int i = 0; i < 6; i++) {
+				HttpPost post = new HttpPost(serverHost + "/imfpush/v1/apps/testTenantId/messages");
+				post.addHeader("Content-Type", "application/json");
+				post.setEntity(new StringEntity("{\"id\":" + i + "}", "UTF-8"));
+				responses.add(client.execute(post));
+			}
+
+			for (int i = 0; i < responses.size(); i++) {
+				HttpResponse response = responses.get(i).get(5, TimeUnit.SECONDS);
+				assertEquals(202, response.getStatusLine().getStatusCode());
+				assertEquals("{\"id\":" + i + "}", EntityUtils.toString(response.getEntity()));
+			}
+			assertTrue(maxActiveStreams.get() <= 2);
+		} finally {
+			client.close();
+		}
+	}
+
+	@Test
+	public void shouldFreeStreamsOfAbortedRequests() throws Exception {
+		PushHttp2Client client = new PushHttp2Client(new PushHttpClientConfig.Builder().maxConcurrentStreams(1).build());
+		try {
+			HttpPost started = new HttpPost(serverHost + "/imfpush/v1/apps/testTenantId/messages");
+			HttpPost queued = new HttpPost(serverHost + "/imfpush/v1/apps/testTenantId/messages");
+			CompletableFuture<HttpResponse> startedResponse = client.execute(started);
+			CompletableFuture<HttpResponse> queuedResponse = client.execute(queued);
+			assertEquals(1, client.getPoolStats().getPending());
+
+			queued.abort();
+			assertTrue(queuedResponse.isCompletedExceptionally());
+			assertEquals(0, client.getPoolStats().getPending());
+
+			started.abort();
+			assertTrue(startedResponse.isCompletedExceptionally());
+			assertEquals(0, client.getPoolStats().getLeased());
+
+			HttpPost next = new HttpPost(serverHost + "/imfpush/v1/apps/testTenantId/messages");
+			next.setEntity(new StringEntity("{}", "UTF-8"));
+			assertEquals(202, client.execute(next).get(5, TimeUnit.SECONDS).getStatusLine().getStatusCode());
+		} finally {
+			client.close();
+		}
+	}
+
+	@Test
+	public void shouldStreamRequestBodiesFromTheirContent() throws Exception {
+		final BulkNotificationEntity bulk = new BulkNotificationEntity(new BulkDispatcher.Elements() {
+			@Override
+			public int size() {
+				return 20000;
+			}
+
+			@Override
+			public byte[] encode(int index) {
+				return ("{\"id\":" + index + "}").getBytes(StandardCharsets.UTF_8);
+			}
+		});
+		StringBuilder expected = new StringBuilder("[");
+		for (int i = 0; i < bulk.size(); i++) {
+			expected.append(i > 0 ? "," : "").append("{\"id\":").append(i).append("}");
+		}
+		expected.append("]");
+
+		PushHttp2Client client = new PushHttp2Client();
+		try {
+			HttpPost post = new HttpPost(serverHost + "/imfpush/v1/apps/testTenantId/messages/bulk");
+			// Larger than the initial stream window, and never copied whole.
+			post.setEntity(new AbstractHttpEntity() {
+				@Override
+				public boolean isRepeatable() {
+					return true;
+				}
+
+				@Override
+				public long getContentLength() {
+					return -1;
+				}
+
+				@Override
+				public InputStream getContent() {
+					return bulk.getContent();
+				}
+
+				@Override
+				public void writeTo(OutputStream outstream) {
+					throw new UnsupportedOperationException();
+				}
+
+				@Override
+				public boolean isStreaming() {
+					return false;
+				}
+			});
+
+			HttpResponse response = client.execute(post).get(5, TimeUnit.SECONDS);
+			assertEquals(202, response.getStatusLine().getStatusCode());
+			assertEquals(expected.toString(), EntityUtils.toString(response.getEntity()));
+		} finally {
+			client.close();
+		}
+	}
+}
@@ -5,6 +5,7 @@ import static org.mockito.Mockito.*;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 import org.apache.http.HttpEntity;
@@ -15,7 +16,6 @@ import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpUriRequest;
-import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.protocol.HTTP;
 import org.json.JSONObject;
@@ -25,8 +25,7 @@ import org.junit.Test;
 public class PushNotificationsTest {
 	@Before
 	public void cleanup() {
-		PushNotifications.pushMessageEndpointURL = null;
-		PushNotifications.secret = null;
+		PushNotifications.reset();
 	}
 
 	@Test
@@ -35,19 +34,23 @@ public class PushNotificationsTest {
 
 		assertEquals(
 				"https://" + PushNotifications.US_SOUTH_REGION + ".imfpush.cloud.ibm.com/imfpush/v1/apps/testTenantId/messages",
+				PushNotifications.getDefaultClient().getPushMessageEndpointURL());
+		assertEquals("testPushSecret", PushNotifications.getDefaultClient().getPushSecret());
+		assertEquals(PushNotifications.getDefaultClient().getPushMessageEndpointURL(),
 				PushNotifications.pushMessageEndpointURL);
 		assertEquals("testPushSecret", PushNotifications.secret);
 	}
 
 	@Test
 	public void shouldCreateCorrectPostRequest() {
-		PushNotifications.pushMessageEndpointURL = "http://www.testendpoint.com";
-		PushNotifications.secret = "testAppSecret";
+		PushNotifications.init("testTenantId", "testAppSecret", PushNotifications.US_SOUTH_REGION);
 
 		JSONObject notification = new JSONObject();
 
 		HttpPost post = PushNotifications.createPushPostRequest(notification);
 
+		assertEquals(PushNotifications.pushMessageEndpointURL, post.getURI().toString());
+
 		assertNotNull(post.getFirstHeader(HTTP.CONTENT_TYPE));
 		assertEquals("application/json", post.getFirstHeader(HTTP.CONTENT_TYPE).getValue());
 
@@ -55,19 +58,15 @@ public class PushNotificationsTest {
 		assertEquals("testAppSecret", post.getFirstHeader("appSecret").getValue());
 
 		HttpEntity bodyEntity = post.getEntity();
-		StringEntity expectedBodyEntity = new StringEntity(notification.toString(), "UTF-8");
+		byte[] expectedBody = notification.toString().getBytes(StandardCharsets.UTF_8);
 
-		assertEquals(expectedBodyEntity.getContentLength(), bodyEntity.getContentLength());
-		assertEquals(expectedBodyEntity.getContentType().getValue(), bodyEntity.getContentType().getValue());
+		assertEquals(expectedBody.length, bodyEntity.getContentLength());
 
 		try {
-			ByteArrayOutputStream expectedBody = new ByteArrayOutputStream();
-			expectedBodyEntity.writeTo(expectedBody);
-
 			ByteArrayOutputStream body = new ByteArrayOutputStream();
 			bodyEntity.writeTo(body);
 
-			assertTrue(Arrays.equals(expectedBody.toByteArray(), body.toByteArray()));
+			assertTrue(Arrays.equals(expectedBody, body.toByteArray()));
 		} catch (IOException e) {
 			fail("Failed to convert entities to byte arrays.");
 		}
@@ -117,8 +116,27 @@ public class PushNotificationsTest {
 		});
 	}
 
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectHttpClientConfigWithoutConnections() {
+		new PushHttpClientConfig.Builder().maxConnectionsPerRoute(0).build();
+	}
+
+	@Test
+	public void shouldCreatePooledHttpClientWithConfiguredLimits() {
+		PushHttpClient client = new PushHttpClient(
+				new PushHttpClientConfig.Builder().maxTotalConnections(7).maxConnectionsPerRoute(3).build());
+		try {
+			assertEquals(7, client.getConnectionManager().getMaxTotal());
+			assertEquals(3, client.getConnectionManager().getDefaultMaxPerRoute());
+		} finally {
+			client.close();
+		}
+	}
+
 	@Test
 	public void shouldSendResponseToListener() {
+		PushNotifications.init("testTenantId", "testAppSecret", PushNotifications.US_SOUTH_REGION);
+
 		CloseableHttpResponse responseMock = mock(CloseableHttpResponse.class);
 
 		when(responseMock.getEntity()).thenReturn(null);
@@ -188,6 +206,8 @@ public class PushNotificationsTest {
 
 	@Test
 	public void shouldCallSuccessCallbackWhenTheResponseIsCorrect() throws Throwable {
+		PushNotifications.init("testTenantId", "testAppSecret", PushNotifications.US_SOUTH_REGION);
+
 		CloseableHttpClient clientMock = mock(CloseableHttpClient.class);
 		CloseableHttpResponse responseMock = mock(CloseableHttpResponse.class);
 
@@ -228,6 +248,8 @@ public class PushNotificationsTest {
 	@Test
 	public void shouldCallFailureCallbackIfExceptionOccursWhenExecutingRequest()
 			throws ClientProtocolException, IOException {
+		PushNotifications.init("testTenantId", "testAppSecret", PushNotifications.US_SOUTH_REGION);
+
 		CloseableHttpClient clientMock = mock(CloseableHttpClient.class);
 
 		when(clientMock.execute(any(HttpUriRequest.class))).thenThrow(new ClientProtocolException());
@@ -0,0 +1,81 @@
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class RateLimitTest {
+
+	@Test
+	public void shouldDelayRequestsBeyondTheBurst() {
+		TokenBucket bucket = new TokenBucket(10, 2);
+
+		assertEquals(0, bucket.reserve());
+		assertEquals(0, bucket.reserve());
+
+		long third = bucket.reserve();
+		long fourth = bucket.reserve();
+		assertTrue(third > TimeUnit.MILLISECONDS.toNanos(50) && third <= TimeUnit.MILLISECONDS.toNanos(100));
+		assertTrue(fourth > TimeUnit.MILLISECONDS.toNanos(150) && fourth <= TimeUnit.MILLISECONDS.toNanos(200));
+	}
+
+	@Test
+	public void shouldNotBorrowForCallersThatCannotWait() throws InterruptedException {
+		TokenBucket bucket = new TokenBucket(10, 1);
+		assertEquals(0, bucket.reserve(TimeUnit.MILLISECONDS.toNanos(50)));
+
+		// Each would wait about 100 ms, past its 50 ms deadline.
+		for (int i = 0; i < 100; i++) {
+			assertEquals(-1, bucket.reserve(TimeUnit.MILLISECONDS.toNanos(50)));
+		}
+
+		// The rate recovers as if the expired callers had never come.
+		Thread.sleep(110);
+		assertEquals(0, bucket.reserve(TimeUnit.MILLISECONDS.toNanos(50)));
+	}
+
+	@Test
+	public void shouldAdaptConcurrencyToOverload() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new ConcurrencyLimitConfig.Builder()
+				.initialLimit(4).minLimit(1).maxLimit(8).backoffRatio(0.5).latencyThresholdMillis(1000).build());
+		final AtomicInteger started = new AtomicInteger();
+		Runnable onAcquired = new Runnable() {
+			@Override
+			public void run() {
+				started.incrementAndGet();
+			}
+		};
+
+		for (int i = 0; i < 4; i++) {
+			assertTrue(limiter.tryAcquire(onAcquired));
+		}
+		assertFalse(limiter.tryAcquire(onAcquired));
+		assertFalse(limiter.tryAcquire(onAcquired));
+
+		// A throttled response halves the limit, so the slot is not handed over.
+		limiter.release(0, true);
+		assertEquals(2, limiter.getLimit());
+		assertEquals(0, started.get());
+
+		limiter.release(0, false);
+		limiter.release(0, false);
+		assertEquals(1, started.get());
+		assertEquals(2, limiter.getInFlight());
+
+		// Successes while the limit is reached grow it again.
+		for (int i = 0; i < 10; i++) {
+			limiter.release(0, false);
+			assertTrue(limiter.tryAcquire(onAcquired));
+		}
+		assertTrue(limiter.getLimit() > 2);
+		assertEquals(2, started.get());
+
+		// Slow responses count as overload too.
+		int limit = limiter.getLimit();
+		limiter.release(TimeUnit.SECONDS.toNanos(2), false);
+		assertTrue(limiter.getLimit() < limit);
+	}
+}
@@ -0,0 +1,64 @@
+package com.ibm.mobilefirstplatform.serversdk.java.push;
+
+import static org.junit.Assert.*;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.Date;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.Test;
+
+public class RetryPolicyTest {
+
+	private static HttpResponse response(int statusCode) {
+		return new BasicHttpResponse(HttpVersion.HTTP_1_1, statusCode, null);
+	}
+
+	@Test
+	public void shouldRetryOnlyTransientFailures() {
+		RetryPolicy policy = new RetryPolicy.Builder().maxAttempts(3).initialBackoffMillis(100).maxBackoffMillis(150)
+				.build();
+
+		assertTrue(policy.getRetryDelayMillis(1, response(HttpStatus.SC_SERVICE_UNAVAILABLE), null) >= 0);
+		assertTrue(policy.getRetryDelayMillis(1, response(429), null) >= 0);
+		assertTrue(policy.getRetryDelayMillis(1, null, new ConnectException()) >= 0);
+
+		assertEquals(-1, policy.getRetryDelayMillis(1, response(HttpStatus.SC_ACCEPTED), null));
+		assertEquals(-1, policy.getRetryDelayMillis(1, response(HttpStatus.SC_BAD_REQUEST), null));
+		assertEquals(-1, policy.getRetryDelayMillis(1, null, new SocketTimeoutException()));
+		assertEquals(-1, policy.getRetryDelayMillis(3, response(HttpStatus.SC_SERVICE_UNAVAILABLE), null));
+
+		for (int i = 0; i < 100; i++) {
+			long delay = policy.getRetryDelayMillis(2, response(HttpStatus.SC_BAD_GATEWAY), null);
+			assertTrue(delay >= 0 && delay <= 150);
+		}
+	}
+
+	@Test
+	public void shouldHonourRetryAfter() {
+		RetryPolicy policy = new RetryPolicy.Builder().maxRetryAfterMillis(5000).build();
+
+		HttpResponse seconds = response(HttpStatus.SC_SERVICE_UNAVAILABLE);
+		seconds.addHeader("Retry-After", "3");
+		assertEquals(3000, policy.getRetryDelayMillis(1, seconds, null));
+
+		HttpResponse date = response(429);
+		date.addHeader("Retry-After", DateUtils.formatDate(new Date(System.currentTimeMillis() + 2000)));
+		long delay = policy.getRetryDelayMillis(1, date, null);
+		assertTrue(delay > 0 && delay <= 2000);
+
+		HttpResponse tooLong = response(HttpStatus.SC_SERVICE_UNAVAILABLE);
+		tooLong.addHeader("Retry-After", "60");
+		assertEquals(-1, policy.getRetryDelayMillis(1, tooLong, null));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectInvalidPolicy() {
+		new RetryPolicy.Builder().initialBackoffMillis(1000).maxBackoffMillis(10).build();
+	}
+}